@@ -29,7 +29,8 @@ if ([string]::IsNullOrWhiteSpace($gitStatus)) {
 Write-Host "📦 Changes detected. Committing to Git..." -ForegroundColor Cyan
 
 $date = Get-Date -Format "yyyy-MM-dd"
-git add src/main/resources/static/opendata/holiday/*.json
+# 一併暫存二進位快照 (*.bin)、抓取紀錄與刪除的檔案，避免 JSON 與快照版本不一致
+git add -A -- src/main/resources/static/opendata/holiday/
 
 # Conventional Commits 格式: chore(data): 自動更新假日資料
 git commit -m "chore(data): auto-update holiday data on $date"
@@ -0,0 +1,138 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.util.unit.DataSize;
+
+import com.example.toc.config.OpendataProperties;
+import com.example.toc.controller.HolidayController;
+import com.example.toc.service.BusinessDayService;
+import com.example.toc.service.CalendarIndexService;
+import com.example.toc.service.HolidayDataService;
+import com.example.toc.service.HolidayLookupService;
+import com.example.toc.service.HolidayRangeService;
+import com.example.toc.service.HolidayStatsService;
+import com.example.toc.service.IcsFeedService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 基準測試共用工具：建立設定屬性、Controller 與清理暫存目錄。
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 建立關閉監看、逐一處理的設定屬性。
+     *
+     * @param url       資料來源 URL (可為 null)
+     * @param outputDir 輸出目錄
+     * @return 設定屬性
+     */
+    static OpendataProperties properties(String url, Path outputDir) {
+        return holiday(outputDir).url(url).parallelism(1).build();
+    }
+
+    /**
+     * 以指定的輸出目錄開始建立假日資料設定。
+     *
+     * <p>
+     * 基準測試無法使用測試程式碼中的 {@code TestProperties}，因此另行提供相同用法的建構器。
+     * </p>
+     *
+     * @param outputDir 輸出目錄
+     * @return 建構器
+     */
+    static PropertiesBuilder holiday(Path outputDir) {
+        return new PropertiesBuilder(outputDir);
+    }
+
+    /**
+     * 基準測試用的 {@link OpendataProperties} 建構器：不監看目錄、輸出二進位快照、不啟用定期抓取，
+     * 快取設定與 application.yml 相同。
+     */
+    static final class PropertiesBuilder {
+
+        private final Path outputDir;
+        private String url;
+        private int parallelism;
+
+        private PropertiesBuilder(Path outputDir) {
+            this.outputDir = outputDir;
+        }
+
+        PropertiesBuilder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        PropertiesBuilder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        OpendataProperties build() {
+            return new OpendataProperties(new OpendataProperties.Holiday(url, List.of(), outputDir.toString(),
+                    new OpendataProperties.Watch(false, Duration.ZERO), new OpendataProperties.Process(parallelism),
+                    new OpendataProperties.Snapshot(true),
+                    new OpendataProperties.Schedule(false, "0 0 3 * * *", ZoneId.of("Asia/Taipei"),
+                            Duration.ofMinutes(10)),
+                    new OpendataProperties.Cache(DataSize.ofMegabytes(64), Duration.ofHours(24),
+                            Duration.ofMinutes(5), Duration.ofMinutes(1))));
+        }
+    }
+
+    /**
+     * 以指定的年度假日資料服務建立 Controller。
+     *
+     * <p>
+     * 年度資料相關的服務皆以同一個 {@link HolidayDataService} 建立；即時停班停課相關服務需連線 NCDR 與排程器，
+     * 基準測試不使用，因此不建立。Controller 新增依賴時只需調整此處。
+     * </p>
+     *
+     * @param objectMapper  JSON 序列化器
+     * @param dataService   年度假日資料服務
+     * @param meterRegistry 指標登錄器
+     * @return Controller
+     */
+    static HolidayController controller(ObjectMapper objectMapper, HolidayDataService dataService,
+            MeterRegistry meterRegistry) {
+        CalendarIndexService calendarIndexService = new CalendarIndexService(dataService);
+        return new HolidayController(dataService, calendarIndexService,
+                new BusinessDayService(calendarIndexService),
+                new HolidayLookupService(objectMapper, calendarIndexService),
+                new HolidayRangeService(objectMapper, calendarIndexService),
+                new IcsFeedService(dataService),
+                new HolidayStatsService(objectMapper, dataService),
+                null, null, meterRegistry);
+    }
+
+    /**
+     * 遞迴刪除目錄 (不存在時略過)。
+     *
+     * @param dir 目錄
+     * @throws IOException 當刪除失敗時
+     */
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.toc.service.FetchDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link FetchDataService#fetchAndProcess()} 對合成 CSV 的端對端基準測試 (file:// 來源)。
+ *
+ * <ul>
+ * <li>fresh: 輸出目錄為空，包含解析、關聯節日處理與全部檔案寫入</li>
+ * <li>unchanged: 輸出已是最新內容，量測解析與雜湊比對後略過寫入的成本</li>
+ * </ul>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvIngestionBenchmark {
+
+    /** 共用的合成 CSV 來源 */
+    @State(Scope.Benchmark)
+    public static class Source {
+
+        /** 資料量倍數 (1 約為目前開放資料的大小) */
+        @Param({ "1", "10", "100" })
+        public int scale;
+
+        Path workDir;
+        String url;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            workDir = Files.createTempDirectory("csv-ingestion-bench");
+            Path csv = workDir.resolve("holiday.csv");
+            SyntheticHolidayData.writeCsv(csv, SyntheticHolidayData.years(scale, 8, 42L));
+            url = csv.toUri().toString();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            BenchmarkSupport.deleteRecursively(workDir);
+        }
+
+        FetchDataService service(Path outputDir) {
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            return new FetchDataService(objectMapper, BenchmarkSupport.properties(url, outputDir),
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    /** 每次呼叫前清空的輸出目錄 */
+    @State(Scope.Benchmark)
+    public static class FreshOutput {
+
+        Path outputDir;
+        FetchDataService service;
+
+        @Setup(Level.Trial)
+        public void setUp(Source source) {
+            outputDir = source.workDir.resolve("fresh");
+            service = source.service(outputDir);
+        }
+
+        @Setup(Level.Invocation)
+        public void clean() throws IOException {
+            BenchmarkSupport.deleteRecursively(outputDir);
+        }
+    }
+
+    /** 已有最新內容的輸出目錄 */
+    @State(Scope.Benchmark)
+    public static class PopulatedOutput {
+
+        FetchDataService service;
+
+        @Setup(Level.Trial)
+        public void setUp(Source source) {
+            service = source.service(source.workDir.resolve("populated"));
+            service.fetchAndProcess();
+        }
+    }
+
+    @Benchmark
+    public void fetchFresh(FreshOutput output) {
+        output.service.fetchAndProcess();
+    }
+
+    @Benchmark
+    public void fetchUnchanged(PopulatedOutput output) {
+        output.service.fetchAndProcess();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.toc.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.toc.model.WorkdayStatus;
+import com.example.toc.service.BusinessDayService;
+import com.example.toc.service.CalendarIndexService;
+import com.example.toc.service.HolidayDataService;
+import com.example.toc.service.HolidayLookupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 日期查詢路徑的基準測試：單日上班日判斷、區間上班日數、上班日推算與批次查詢。
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateLookupBenchmark {
+
+    /** 隨機查詢日期數 (2 的次方，以遮罩循環) */
+    private static final int DATE_COUNT = 1024;
+
+    /** 批次查詢的日期數 */
+    private static final int BATCH_SIZE = 10_000;
+
+    private Path dataDir;
+    private CalendarIndexService calendarIndexService;
+    private BusinessDayService businessDayService;
+    private HolidayLookupService holidayLookupService;
+    private LocalDate[] dates;
+    private String[] dateStrings;
+    private byte[] batchBody;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("date-lookup-bench");
+        ObjectMapper objectMapper = new ObjectMapper();
+        SyntheticHolidayData.writeYearFiles(dataDir, SyntheticHolidayData.years(1, 8, 42L), objectMapper);
+
+        HolidayDataService dataService = new HolidayDataService(objectMapper,
+                BenchmarkSupport.properties(null, dataDir), new SimpleMeterRegistry());
+        calendarIndexService = new CalendarIndexService(dataService);
+        businessDayService = new BusinessDayService(calendarIndexService);
+        holidayLookupService = new HolidayLookupService(objectMapper, calendarIndexService);
+
+        // 日期範圍留出前後各一年，讓上班日推算不會跨出資料範圍
+        Random random = new Random(42L);
+        LocalDate first = LocalDate.of(SyntheticHolidayData.FIRST_YEAR + 1, 1, 1);
+        int span = (SyntheticHolidayData.BASE_YEARS - 2) * 365;
+        dates = new LocalDate[DATE_COUNT];
+        dateStrings = new String[DATE_COUNT];
+        for (int i = 0; i < DATE_COUNT; i++) {
+            dates[i] = first.plusDays(random.nextInt(span));
+            dateStrings[i] = dates[i].format(DateTimeFormatter.BASIC_ISO_DATE);
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            body.append(dateStrings[i & (DATE_COUNT - 1)]).append('\n');
+        }
+        batchBody = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        // 預先載入所有年度，僅量測查詢本身
+        for (LocalDate date : dates) {
+            calendarIndexService.isWorkday(date);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkSupport.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public boolean isWorkday() {
+        return calendarIndexService.isWorkday(dates[next()]);
+    }
+
+    @Benchmark
+    public WorkdayStatus getWorkdayStatus() {
+        return calendarIndexService.getWorkdayStatus(dateStrings[next()]);
+    }
+
+    @Benchmark
+    public int countWorkdaysOneYear() {
+        LocalDate from = dates[next()];
+        return businessDayService.countWorkdays(from, from.plusYears(1));
+    }
+
+    @Benchmark
+    public LocalDate addWorkdaysForward() {
+        return businessDayService.addWorkdays(dates[next()], 250);
+    }
+
+    @Benchmark
+    public LocalDate addWorkdaysBackward() {
+        return businessDayService.addWorkdays(dates[next()], -250);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void lookupBatch() throws IOException {
+        holidayLookupService.lookup(null, new ByteArrayInputStream(batchBody), true,
+                OutputStream.nullOutputStream(), true);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (DATE_COUNT - 1);
+        return cursor;
+    }
+}
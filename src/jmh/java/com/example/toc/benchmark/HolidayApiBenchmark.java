@@ -0,0 +1,105 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.example.toc.config.OpendataProperties;
+import com.example.toc.controller.HolidayController;
+import com.example.toc.service.HolidayDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code GET /api/holidays/{year}} 的基準測試。
+ *
+ * <ul>
+ * <li>cold: 每次呼叫都使用新的 {@link HolidayDataService}，包含讀檔、驗證、建立索引與預先序列化</li>
+ * <li>warm: 所有年度已載入，僅取得快照並組成回應</li>
+ * </ul>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayApiBenchmark {
+
+    private Path dataDir;
+    private ObjectMapper objectMapper;
+    private OpendataProperties properties;
+    private MeterRegistry meterRegistry;
+    private HolidayController warmController;
+    private String[] years;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("holiday-api-bench");
+        objectMapper = new ObjectMapper();
+        SyntheticHolidayData.writeYearFiles(dataDir, SyntheticHolidayData.years(1, 8, 42L), objectMapper);
+        properties = BenchmarkSupport.properties(null, dataDir);
+        meterRegistry = new SimpleMeterRegistry();
+
+        years = new String[SyntheticHolidayData.BASE_YEARS];
+        for (int i = 0; i < years.length; i++) {
+            years[i] = String.valueOf(SyntheticHolidayData.FIRST_YEAR + i);
+        }
+
+        warmController = controller(new HolidayDataService(objectMapper, properties, meterRegistry));
+        for (String year : years) {
+            warmController.getHolidaysByYear(year, null, null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkSupport.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getHolidaysByYearCold() {
+        return controller(new HolidayDataService(objectMapper, properties, meterRegistry))
+                .getHolidaysByYear(nextYear(), null, "gzip");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getHolidaysByYearWarm() {
+        return warmController.getHolidaysByYear(nextYear(), null, "gzip");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getHolidaysByYearWarmIdentity() {
+        return warmController.getHolidaysByYear(nextYear(), null, null);
+    }
+
+    private String nextYear() {
+        cursor = (cursor + 1) % years.length;
+        return years[cursor];
+    }
+
+    private HolidayController controller(HolidayDataService dataService) {
+        return BenchmarkSupport.controller(objectMapper, dataService, meterRegistry);
+    }
+}
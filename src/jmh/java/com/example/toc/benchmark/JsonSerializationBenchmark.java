@@ -0,0 +1,76 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.toc.model.Holiday;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 單一年度 {@code List<Holiday>} 的 Jackson 序列化與反序列化基準測試。
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    /** 每年「補假 / 補行上班日」組數，影響說明長度與筆數 */
+    @Param({ "8", "64" })
+    public int makeupPairs;
+
+    private List<Holiday> holidays;
+    private byte[] json;
+    private ObjectWriter prettyWriter;
+    private ObjectWriter compactWriter;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        holidays = SyntheticHolidayData.year(2025, makeupPairs, new Random(42L));
+        prettyWriter = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT);
+        compactWriter = objectMapper.writer();
+        reader = objectMapper.readerFor(new TypeReference<List<Holiday>>() {
+        });
+        json = prettyWriter.writeValueAsBytes(holidays);
+    }
+
+    @Benchmark
+    public byte[] serializePretty() throws IOException {
+        return prettyWriter.writeValueAsBytes(holidays);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() throws IOException {
+        return compactWriter.writeValueAsBytes(holidays);
+    }
+
+    @Benchmark
+    public List<Holiday> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
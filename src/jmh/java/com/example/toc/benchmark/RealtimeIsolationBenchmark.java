@@ -0,0 +1,159 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.example.toc.TaiwanOfficeCalendarApplication;
+import com.example.toc.config.NcdrProperties;
+import com.example.toc.model.ncdr.NcdrSnapshot;
+import com.example.toc.service.RealTimeHolidayService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 即時停班停課 API 與年度日曆 API 的隔離負載測試。
+ *
+ * <p>
+ * 啟動完整的伺服器 (Tomcat 工作執行緒上限 {@value #TOMCAT_THREADS})，並將即時停班停課 API 換成每次請求阻塞
+ * {@value #SLOW_REALTIME_MS} ms 的版本，模擬上游緩慢時的情境。同一組內 {@value #REALTIME_CLIENTS}
+ * 個執行緒持續呼叫即時 API，另 {@value #YEAR_CLIENTS} 個執行緒量測 {@code GET /api/holidays/{year}} 的延遲：
+ * </p>
+ *
+ * <ul>
+ * <li>platform + 無隔離艙：即時 API 佔滿工作執行緒，年度 API 需排隊等待</li>
+ * <li>platform + 隔離艙：即時 API 最多佔用 {@value #BULKHEAD_PERMITS} 個執行緒，超出的請求立即回應 503</li>
+ * <li>virtual：請求以虛擬執行緒處理，阻塞不佔用平台執行緒</li>
+ * </ul>
+ *
+ * <p>
+ * 比較各組合 {@code year} 的延遲分佈即可看出隔離效果；{@code realtime} 的分數包含 503 回應。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class RealtimeIsolationBenchmark {
+
+    static final int TOMCAT_THREADS = 16;
+    static final int SLOW_REALTIME_MS = 200;
+    static final int BULKHEAD_PERMITS = 4;
+    static final int REALTIME_CLIENTS = 32;
+    static final int YEAR_CLIENTS = 2;
+
+    /** 請求處理模式：platform (Tomcat 執行緒池) 或 virtual (虛擬執行緒) */
+    @Param({ "platform", "virtual" })
+    public String threading;
+
+    /** 是否啟用即時 API 隔離艙 */
+    @Param({ "false", "true" })
+    public boolean bulkhead;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest realtimeRequest;
+    private HttpRequest yearRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("realtime-isolation-bench");
+        SyntheticHolidayData.writeYearFiles(dataDir, SyntheticHolidayData.years(1, 4, 42L), new ObjectMapper());
+
+        context = new SpringApplicationBuilder(TaiwanOfficeCalendarApplication.class, SlowRealtimeConfiguration.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threading),
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--ncdr.poll.enabled=false",
+                        "--ncdr.bulkhead.enabled=" + bulkhead,
+                        "--ncdr.bulkhead.max-concurrent=" + BULKHEAD_PERMITS,
+                        "--opendata.holiday.output-dir=" + dataDir,
+                        "--opendata.holiday.watch.enabled=false",
+                        "--logging.level.root=WARN");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        realtimeRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/holidays/realtime")).build();
+        yearRequest = HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/holidays/" + (SyntheticHolidayData.FIRST_YEAR + 1))).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        client.close();
+        BenchmarkSupport.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    @Group("isolation")
+    @GroupThreads(REALTIME_CLIENTS)
+    public int realtime() throws IOException, InterruptedException {
+        return client.send(realtimeRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("isolation")
+    @GroupThreads(YEAR_CLIENTS)
+    public int year() throws IOException, InterruptedException {
+        return client.send(yearRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * 以阻塞版本取代即時假日服務 (不加上 {@code @Configuration}，避免被元件掃描載入)。
+     */
+    static class SlowRealtimeConfiguration {
+
+        @Bean
+        @Primary
+        RealTimeHolidayService slowRealTimeHolidayService(ObjectMapper objectMapper, NcdrProperties ncdrProperties,
+                MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher) {
+            return new RealTimeHolidayService(objectMapper, ncdrProperties, meterRegistry, eventPublisher) {
+                @Override
+                public NcdrSnapshot getSnapshot() {
+                    try {
+                        Thread.sleep(SLOW_REALTIME_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.getSnapshot();
+                }
+            };
+        }
+    }
+}
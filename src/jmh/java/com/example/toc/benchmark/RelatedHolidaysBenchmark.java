@@ -0,0 +1,68 @@
+package com.example.toc.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.toc.model.Holiday;
+import com.example.toc.service.FetchDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code FetchDataService.processRelatedHolidays} (關聯節日連結) 的基準測試。
+ *
+ * <p>
+ * 以大量「補假 / 補行上班日」的年度量測索引建立與連結的成本；該方法為 private，與單元測試相同以反射取得。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelatedHolidaysBenchmark {
+
+    /** 每年「補假 / 補行上班日」組數 (真實資料約 2 ~ 8 組) */
+    @Param({ "4", "32", "100" })
+    public int makeupPairs;
+
+    private FetchDataService service;
+    private MethodHandle processRelatedHolidays;
+    private List<Holiday> holidays;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        service = new FetchDataService(new ObjectMapper(), null, new SimpleMeterRegistry());
+        Method method = FetchDataService.class.getDeclaredMethod("processRelatedHolidays", List.class);
+        method.setAccessible(true);
+        processRelatedHolidays = MethodHandles.lookup().unreflect(method);
+        holidays = SyntheticHolidayData.year(2025, makeupPairs, new Random(42L));
+    }
+
+    @Benchmark
+    public List<Holiday> processRelatedHolidays() throws Throwable {
+        processRelatedHolidays.invoke(service, holidays);
+        return holidays;
+    }
+}
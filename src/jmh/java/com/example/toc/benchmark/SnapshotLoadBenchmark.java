@@ -0,0 +1,99 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.toc.model.Holiday;
+import com.example.toc.model.calendar.BinarySnapshotCodec;
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 年度資料載入基準測試：比較解析 {@code {year}.json} 與讀取二進位快照 {@code {year}.bin}
+ * 建立 {@link HolidayTable} 的耗時 (皆包含讀檔與來源雜湊計算)。
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+
+    /** 每年「補假 / 補行上班日」組數，影響說明長度與筆數 */
+    @Param({ "8", "64" })
+    public int makeupPairs;
+
+    private Path dir;
+    private Path jsonFile;
+    private Path binFile;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Holiday> holidays = SyntheticHolidayData.year(2025, makeupPairs, new Random(42L));
+        reader = objectMapper.readerFor(new TypeReference<List<Holiday>>() {
+        });
+        dir = Files.createTempDirectory("toc-snapshot-bench");
+        jsonFile = dir.resolve("2025.json");
+        binFile = BinarySnapshotCodec.resolve(jsonFile);
+        byte[] json = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(holidays);
+        Files.write(jsonFile, json);
+        try (OutputStream out = Files.newOutputStream(binFile)) {
+            BinarySnapshotCodec.write(HolidayTable.of(2025, holidays), sha256(json), out);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binFile);
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public HolidayTable loadJson() throws IOException {
+        List<Holiday> holidays = reader.readValue(Files.readAllBytes(jsonFile));
+        return HolidayTable.of(2025, holidays);
+    }
+
+    @Benchmark
+    public HolidayTable loadBinary() throws IOException {
+        return BinarySnapshotCodec.read(binFile, 2025, sha256(Files.readAllBytes(jsonFile)));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.toc.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import com.example.toc.model.Holiday;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 基準測試用的合成辦公日曆資料產生器。
+ *
+ * <p>
+ * 每個年度的結構與開放資料一致：所有週末、固定的放假節日，以及成對的「補假 / 補行上班日」，
+ * 並在來源節日的說明中以阿拉伯數字或中文數字提及這些日期，讓關聯節日處理有實際的工作量。
+ * 目前資料約 16 個年度，{@code scale} 為 100 時即產生 1600 個年度 (約 100 倍資料量)。
+ * 相同的種子會產生相同的資料，確保每次量測的輸入一致。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class SyntheticHolidayData {
+
+    /** 目前開放資料涵蓋的年度數 (scale = 1 時的年度數) */
+    public static final int BASE_YEARS = 16;
+
+    /** 合成資料的起始年度 */
+    public static final int FIRST_YEAR = 2000;
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String CHINESE_DIGITS = "〇一二三四五六七八九";
+
+    /** 固定放假節日 (MMdd → 名稱) */
+    private static final Map<String, String> FIXED_HOLIDAYS = new LinkedHashMap<>();
+
+    static {
+        FIXED_HOLIDAYS.put("0101", "開國紀念日");
+        FIXED_HOLIDAYS.put("0228", "和平紀念日");
+        FIXED_HOLIDAYS.put("0404", "兒童節");
+        FIXED_HOLIDAYS.put("0405", "民族掃墓節");
+        FIXED_HOLIDAYS.put("0501", "勞動節");
+        FIXED_HOLIDAYS.put("0929", "教師節");
+        FIXED_HOLIDAYS.put("1010", "國慶日");
+        FIXED_HOLIDAYS.put("1025", "臺灣光復暨金門古寧頭大捷紀念日");
+        FIXED_HOLIDAYS.put("1225", "行憲紀念日");
+    }
+
+    private SyntheticHolidayData() {
+    }
+
+    /**
+     * 產生多個連續年度的資料。
+     *
+     * @param scale       資料量倍數 (年度數 = {@value #BASE_YEARS} × scale)
+     * @param makeupPairs 每年「補假 / 補行上班日」的組數
+     * @param seed        亂數種子
+     * @return 年度 → 依日期排序的 Holiday 列表
+     */
+    public static Map<Integer, List<Holiday>> years(int scale, int makeupPairs, long seed) {
+        Random random = new Random(seed);
+        Map<Integer, List<Holiday>> years = new LinkedHashMap<>();
+        for (int i = 0; i < BASE_YEARS * scale; i++) {
+            int year = FIRST_YEAR + i;
+            years.put(year, year(year, makeupPairs, random));
+        }
+        return years;
+    }
+
+    /**
+     * 產生單一年度的資料。
+     *
+     * @param year        西元年份
+     * @param makeupPairs 「補假 / 補行上班日」的組數
+     * @param random      亂數產生器
+     * @return 依日期排序的 Holiday 列表
+     */
+    public static List<Holiday> year(int year, int makeupPairs, Random random) {
+        TreeMap<LocalDate, Holiday> rows = new TreeMap<>();
+        String yearStr = String.valueOf(year);
+
+        List<LocalDate> weekdays = new ArrayList<>();
+        List<LocalDate> saturdays = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                rows.put(date, row(date, "", true, "星期六、星期日", ""));
+                if (dayOfWeek == DayOfWeek.SATURDAY) {
+                    saturdays.add(date);
+                }
+            } else {
+                weekdays.add(date);
+            }
+        }
+
+        List<Holiday> sources = new ArrayList<>();
+        FIXED_HOLIDAYS.forEach((monthDay, name) -> {
+            LocalDate date = LocalDate.parse(yearStr + monthDay, BASIC_DATE);
+            Holiday holiday = row(date, name, true, "放假之紀念日及節日", "全國各機關學校放假一日。");
+            rows.put(date, holiday);
+            sources.add(holiday);
+        });
+        weekdays.removeIf(rows::containsKey);
+
+        // 成對的補假與補行上班日，由隨機的來源節日在說明中提及
+        for (int i = 0; i < makeupPairs && !weekdays.isEmpty() && !saturdays.isEmpty(); i++) {
+            LocalDate dayOff = weekdays.remove(random.nextInt(weekdays.size()));
+            LocalDate workday = saturdays.remove(random.nextInt(saturdays.size()));
+            rows.put(dayOff, row(dayOff, "", true, "補假", ""));
+            rows.put(workday, row(workday, "", false, "補行上班日", ""));
+
+            Holiday source = sources.get(random.nextInt(sources.size()));
+            boolean chinese = random.nextBoolean();
+            source.setDescription(source.getDescription()
+                    + "於" + mention(dayOff, chinese) + "補假一日，並於" + mention(workday, !chinese) + "補行上班。");
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * 將多個年度輸出為開放資料格式的 CSV (含 BOM)。
+     *
+     * @param file  輸出檔案
+     * @param years 年度資料
+     * @throws IOException 當寫入失敗時
+     */
+    public static void writeCsv(Path file, Map<Integer, List<Holiday>> years) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader("Date", "name", "isHoliday", "holidayCategory", "description")
+                .get();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            // BOM 需在 CSVPrinter 輸出標題列之前寫入
+            writer.write('\uFEFF');
+            CSVPrinter printer = new CSVPrinter(writer, format);
+            for (List<Holiday> holidays : years.values()) {
+                for (Holiday holiday : holidays) {
+                    printer.printRecord(holiday.getDate(), holiday.getName(), holiday.isHoliday() ? "是" : "否",
+                            holiday.getHolidayCategory(), holiday.getDescription());
+                }
+            }
+            printer.flush();
+        }
+    }
+
+    /**
+     * 將多個年度輸出為 {year}.json 與 years.json。
+     *
+     * @param dir          輸出目錄
+     * @param years        年度資料
+     * @param objectMapper JSON 序列化器
+     * @throws IOException 當寫入失敗時
+     */
+    public static void writeYearFiles(Path dir, Map<Integer, List<Holiday>> years, ObjectMapper objectMapper)
+            throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<Integer, List<Holiday>> entry : years.entrySet()) {
+            objectMapper.writeValue(dir.resolve(entry.getKey() + ".json").toFile(), entry.getValue());
+        }
+        List<String> index = years.keySet().stream()
+                .sorted((a, b) -> b - a)
+                .map(String::valueOf)
+                .toList();
+        objectMapper.writeValue(dir.resolve("years.json").toFile(), index);
+    }
+
+    private static Holiday row(LocalDate date, String name, boolean isHoliday, String category,
+            String description) {
+        return Holiday.builder()
+                .date(date.format(BASIC_DATE))
+                .year(String.valueOf(date.getYear()))
+                .name(name)
+                .isHoliday(isHoliday)
+                .holidayCategory(category)
+                .description(description)
+                .build();
+    }
+
+    /**
+     * 以「M月D日」提及日期，可選擇阿拉伯數字或中文數字。
+     */
+    private static String mention(LocalDate date, boolean chinese) {
+        if (!chinese) {
+            return date.getMonthValue() + "月" + date.getDayOfMonth() + "日";
+        }
+        return toChinese(date.getMonthValue()) + "月" + toChinese(date.getDayOfMonth()) + "日";
+    }
+
+    private static String toChinese(int value) {
+        if (value <= 10) {
+            return value == 10 ? "十" : String.valueOf(CHINESE_DIGITS.charAt(value));
+        }
+        int tens = value / 10;
+        int ones = value % 10;
+        return (tens == 1 ? "" : String.valueOf(CHINESE_DIGITS.charAt(tens))) + "十"
+                + (ones == 0 ? "" : String.valueOf(CHINESE_DIGITS.charAt(ones)));
+    }
+}
@@ -9,11 +9,12 @@ import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.lang.NonNull;
 
+import com.example.toc.config.OpendataProperties;
 import com.example.toc.service.FetchDataService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,12 +35,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @SpringBootApplication
 @ConfigurationPropertiesScan
-@EnableCaching
+@EnableScheduling
 public class TaiwanOfficeCalendarApplication implements ApplicationRunner {
 
     /** 資料抓取服務（建構子注入） */
     private final FetchDataService fetchDataService;
 
+    /** 開放資料設定屬性（建構子注入） */
+    private final OpendataProperties opendataProperties;
+
     /** 判斷 job 參數的常數 */
     private static final String JOB_FETCH = "fetch";
     private static final String JOB_PROCESS = "process";
@@ -92,7 +96,7 @@ public class TaiwanOfficeCalendarApplication implements ApplicationRunner {
      * 根據命令列參數決定執行模式：
      * <ul>
      * <li>Task Mode: 僅執行資料抓取任務，完成後結束程式</li>
-     * <li>Server Mode: 執行初始資料抓取，然後保持伺服器運行</li>
+     * <li>Server Mode: 保持伺服器運行，啟用定期抓取時由 {@link com.example.toc.service.HolidayFetchScheduler} 於背景更新資料</li>
      * </ul>
      * </p>
      *
@@ -121,10 +125,17 @@ public class TaiwanOfficeCalendarApplication implements ApplicationRunner {
             fetchDataService.processExistingFiles();
             log.info("任務完成，程式即將結束。");
         } else {
-            // 預設: Server Mode (不自動抓取資料，需透過 Task Mode 手動更新)
+            // 預設: Server Mode (啟用 opendata.holiday.schedule 時於背景定期抓取，否則需透過 Task Mode 手動更新)
             log.info("執行模式: SERVER MODE");
             log.info("伺服器啟動完成，等待請求中。");
-            log.info("如需更新資料，請使用 Task Mode: --job=fetch 或 --job=process");
+            OpendataProperties.Schedule schedule = opendataProperties.holiday().schedule();
+            if (schedule.enabled()) {
+                log.info("已啟用定期抓取 (排程 {}，時區 {})，亦可使用 Task Mode: --job=fetch 或 --job=process",
+                        schedule.cron(), schedule.zone());
+            } else {
+                log.info("如需更新資料，請使用 Task Mode: --job=fetch 或 --job=process，"
+                        + "或設定 opendata.holiday.schedule.enabled=true 於背景定期抓取");
+            }
         }
     }
 }
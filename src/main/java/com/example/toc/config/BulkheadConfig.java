@@ -0,0 +1,51 @@
+package com.example.toc.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * API 隔離艙設定。
+ *
+ * <p>
+ * 即時停班停課 API 在颱風期間會有大量儀表板輪詢，以獨立的隔離艙限制其同時處理數，
+ * 讓年度日曆等靜態資料 API 不受影響。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication
+public class BulkheadConfig {
+
+    /** 即時停班停課 API 路徑 (含 /realtime 本身與其下所有路徑) */
+    static final String REALTIME_URL_PATTERN = "/api/holidays/realtime/*";
+
+    /**
+     * 註冊即時停班停課 API 的隔離艙。
+     *
+     * @param ncdrProperties NCDR 設定屬性
+     * @param objectMapper   錯誤回應序列化器
+     * @param meterRegistry  指標註冊中心
+     * @return 過濾器註冊
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ncdr.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<BulkheadFilter> realtimeBulkheadFilter(NcdrProperties ncdrProperties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        NcdrProperties.Bulkhead bulkhead = ncdrProperties.bulkhead();
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter("realtime", bulkhead.maxConcurrent(), bulkhead.maxWait(), objectMapper,
+                        meterRegistry));
+        registration.addUrlPatterns(REALTIME_URL_PATTERN);
+        registration.setName("realtimeBulkheadFilter");
+        return registration;
+    }
+}
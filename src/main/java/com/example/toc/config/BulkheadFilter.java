@@ -0,0 +1,125 @@
+package com.example.toc.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 隔離艙 (bulkhead) 過濾器。
+ *
+ * <p>
+ * 以號誌限制同一組 API 同時處理中的請求數，超過上限時等待至多 {@code maxWait}，
+ * 仍無空位則直接回應 503 (含 {@code Retry-After})，不排隊佔用工作執行緒。
+ * SSE 與 long-poll 等非同步請求只在初次處理期間佔用名額，保持連線期間不計入。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final String name;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final long maxWaitNanos;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter rejected;
+
+    /**
+     * @param name          隔離艙名稱 (指標標籤)
+     * @param maxConcurrent 同時處理中的請求數上限
+     * @param maxWait       無空位時的最長等待時間
+     * @param objectMapper  錯誤回應序列化器
+     * @param meterRegistry 指標註冊中心
+     */
+    BulkheadFilter(String name, int maxConcurrent, Duration maxWait, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = Math.max(maxConcurrent, 1);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("holiday.bulkhead.rejected")
+                .description("隔離艙已滿而被拒絕的請求數")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("holiday.bulkhead.active", this, filter -> filter.maxConcurrent - filter.permits.availablePermits())
+                .description("隔離艙中處理中的請求數")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!tryAcquire()) {
+            rejected.increment();
+            log.warn("隔離艙 {} 已滿 (上限 {})，拒絕請求: {}", name, maxConcurrent, request.getRequestURI());
+            writeRejection(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean tryAcquire() {
+        if (maxWaitNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 回應 503，格式與 {@code GlobalExceptionHandler} 的錯誤回應一致。
+     */
+    private void writeRejection(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "服務忙碌中，請稍後再試");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
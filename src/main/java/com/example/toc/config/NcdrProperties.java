@@ -0,0 +1,71 @@
+package com.example.toc.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * NCDR 即時停班停課資訊相關配置屬性
+ *
+ * @param url      NCDR 停班停課 Atom Feed (JSON) 網址
+ * @param poll     背景輪詢配置
+ * @param push     變更推播 (SSE / long-poll) 配置
+ * @param bulkhead 即時停班停課 API 的隔離艙配置
+ */
+@ConfigurationProperties(prefix = "ncdr")
+public record NcdrProperties(
+        @DefaultValue("https://alerts.ncdr.nat.gov.tw/JSONAtomFeed.ashx?AlertType=33") String url,
+        @DefaultValue Poll poll,
+        @DefaultValue Push push,
+        @DefaultValue Bulkhead bulkhead) {
+
+    /**
+     * 背景輪詢配置 (僅於 Server Mode 生效)
+     *
+     * @param enabled          是否於背景定期更新 NCDR 資料
+     * @param interval         正常情況下的更新間隔
+     * @param connectTimeout   連線逾時
+     * @param readTimeout      讀取回應逾時
+     * @param failureThreshold 連續失敗達此次數後斷路，改以指數退避重試
+     * @param maxBackoff       斷路後重試間隔的上限
+     */
+    public record Poll(@DefaultValue("true") boolean enabled,
+            @DefaultValue("60s") Duration interval,
+            @DefaultValue("3s") Duration connectTimeout,
+            @DefaultValue("5s") Duration readTimeout,
+            @DefaultValue("3") int failureThreshold,
+            @DefaultValue("10m") Duration maxBackoff) {
+    }
+
+    /**
+     * 變更推播配置
+     *
+     * @param sseTimeout      SSE 連線的最長保持時間，逾時後用戶端應帶 Last-Event-ID 重新連線
+     * @param longPollTimeout long-poll 等待變更的最長時間，逾時回傳無變更
+     * @param heartbeat       SSE 心跳間隔，用於維持閒置連線並偵測已中斷的用戶端
+     * @param history         保留的變更版本數，重新連線時的版本在保留範圍內即可補送增量
+     */
+    public record Push(@DefaultValue("30m") Duration sseTimeout,
+            @DefaultValue("30s") Duration longPollTimeout,
+            @DefaultValue("25s") Duration heartbeat,
+            @DefaultValue("256") int history) {
+    }
+
+    /**
+     * 即時停班停課 API ({@code /api/holidays/realtime/**}) 的隔離艙配置
+     *
+     * <p>
+     * 限制同時處理中的即時停班停課請求數，超過時等待至多 {@code maxWait}，仍無空位則回應 503，
+     * 避免即時 API 的尖峰流量佔滿工作執行緒而拖慢年度日曆等其他 API。
+     * </p>
+     *
+     * @param enabled       是否啟用
+     * @param maxConcurrent 同時處理中的請求數上限
+     * @param maxWait       無空位時的最長等待時間
+     */
+    public record Bulkhead(@DefaultValue("true") boolean enabled,
+            @DefaultValue("32") int maxConcurrent,
+            @DefaultValue("0ms") Duration maxWait) {
+    }
+}
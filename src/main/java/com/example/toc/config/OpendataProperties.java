@@ -1,6 +1,16 @@
 package com.example.toc.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.util.unit.DataSize;
 
 /**
  * 開放資料相關配置屬性
@@ -13,9 +23,143 @@ public record OpendataProperties(Holiday holiday) {
     /**
      * 假日資料配置
      *
-     * @param url       資料來源 URL
+     * @param url       資料來源 URL (未設定 {@code sources} 時使用的單一來源)
+     * @param sources   具名資料來源 (依優先順序排列)，設定時改為同時抓取並合併所有來源，忽略 {@code url}
      * @param outputDir 輸出目錄路徑
+     * @param watch     輸出目錄監看配置
+     * @param process   現有檔案處理 (job=process) 配置
+     * @param snapshot  二進位快照配置
+     * @param schedule  Server Mode 定期抓取配置
+     * @param cache     年度快照快取配置
+     */
+    public record Holiday(String url, List<Source> sources, String outputDir, @DefaultValue Watch watch,
+            @DefaultValue Process process, @DefaultValue Snapshot snapshot, @DefaultValue Schedule schedule,
+            @DefaultValue Cache cache) {
+
+        public Holiday {
+            sources = sources == null ? List.of() : List.copyOf(sources);
+            Set<String> names = new HashSet<>();
+            for (Source source : sources) {
+                if (!names.add(source.name())) {
+                    throw new IllegalArgumentException("資料來源名稱重複: " + source.name());
+                }
+            }
+        }
+
+        /**
+         * 判斷是否設定了多個具名資料來源 (聯合抓取模式)。
+         *
+         * @return true 若設定了 {@code sources}
+         */
+        public boolean federated() {
+            return !sources.isEmpty();
+        }
+    }
+
+    /**
+     * 具名資料來源配置
+     *
+     * <p>
+     * 各來源的資料輸出至 {@code {outputDir}/sources/{name}/}，合併結果輸出至 {@code {outputDir}/}。
+     * 同一天在多個來源都有資料時，採用列表中順序較前的來源。
+     * </p>
+     *
+     * @param name           來源名稱 (小寫英數字與連字號，同時作為目錄名稱與 API 的 {@code source} 參數)
+     * @param url            資料來源 URL
+     * @param connectTimeout 連線逾時
+     * @param readTimeout    讀取逾時 (單次讀取)
+     * @param timeout        整體逾時 (下載、解析與寫入)，逾時的來源不影響其他來源
+     */
+    public record Source(String name, String url, @DefaultValue("10s") Duration connectTimeout,
+            @DefaultValue("30s") Duration readTimeout, @DefaultValue("2m") Duration timeout) {
+
+        /** 各來源輸出目錄的上層目錄名稱 */
+        public static final String DIRECTORY = "sources";
+
+        public Source {
+            if (name == null || !name.matches("^[a-z0-9][a-z0-9-]*$")) {
+                throw new IllegalArgumentException("資料來源名稱僅允許小寫英數字與連字號: " + name);
+            }
+            if (url == null || url.isBlank()) {
+                throw new IllegalArgumentException("資料來源未設定 URL: " + name);
+            }
+        }
+
+        /**
+         * 取得此來源的輸出目錄。
+         *
+         * @param outputDir 輸出目錄
+         * @return {@code {outputDir}/sources/{name}}
+         */
+        public Path directory(Path outputDir) {
+            return outputDir.resolve(DIRECTORY).resolve(name);
+        }
+    }
+
+    /**
+     * 輸出目錄監看配置 (僅於 Server Mode 生效)
+     *
+     * @param enabled  是否監看輸出目錄並自動重新載入變更的年度檔案
+     * @param debounce 檔案變更後等待的靜止時間，避免檔案寫入途中重複載入
      */
-    public record Holiday(String url, String outputDir) {
+    public record Watch(@DefaultValue("true") boolean enabled, @DefaultValue("500ms") Duration debounce) {
+    }
+
+    /**
+     * 現有檔案處理配置 (job=process)
+     *
+     * @param parallelism 同時處理的檔案數，小於等於 0 時使用 CPU 核心數，1 為逐一處理
+     */
+    public record Process(@DefaultValue("0") int parallelism) {
+    }
+
+    /**
+     * 二進位快照配置
+     *
+     * @param enabled 是否於抓取與處理時一併輸出 {@code {year}.bin}，並於載入年度資料時優先讀取
+     */
+    public record Snapshot(@DefaultValue("true") boolean enabled) {
+    }
+
+    /**
+     * 年度快照快取配置 (合併資料與各資料來源分別套用)
+     *
+     * @param maxWeight         各快取的內容總大小上限 (預先產生的 JSON、gzip、iCalendar 內容與年度資料)，超過時移除最少使用的年度
+     * @param expireAfterAccess 年度快照超過此時間未被查詢時移除，之後查詢時再自檔案載入
+     * @param refreshAfterWrite 年度快照載入超過此時間後，下一次查詢時於背景比對檔案修改時間並視需要重新載入 (查詢不等待)
+     * @param negativeTtl       不存在的年度的快取時間，期間內查詢直接回應 404 而不檢查檔案
+     */
+    public record Cache(@DefaultValue("64MB") DataSize maxWeight,
+            @DefaultValue("24h") Duration expireAfterAccess,
+            @DefaultValue("5m") Duration refreshAfterWrite,
+            @DefaultValue("1m") Duration negativeTtl) {
+    }
+
+    /**
+     * Server Mode 定期抓取配置
+     *
+     * <p>
+     * 共用同一輸出目錄的多個執行個體會以輸出目錄中的檔案鎖輪流執行，同一輪只會有一個執行個體實際抓取，
+     * 另以隨機延遲錯開各執行個體的觸發時間。
+     * </p>
+     *
+     * @param enabled 是否於 Server Mode 依排程抓取並處理資料 (等同 {@code --job=fetch})
+     * @param cron    排程 (Spring cron 格式：秒 分 時 日 月 週)
+     * @param zone    排程時區
+     * @param jitter  觸發後的最大隨機延遲
+     */
+    public record Schedule(@DefaultValue("false") boolean enabled,
+            @DefaultValue("0 0 3 * * *") String cron,
+            @DefaultValue("Asia/Taipei") ZoneId zone,
+            @DefaultValue("10m") Duration jitter) {
+
+        public Schedule {
+            if (!CronExpression.isValidExpression(cron)) {
+                throw new IllegalArgumentException("排程格式錯誤: " + cron);
+            }
+            if (jitter.isNegative()) {
+                throw new IllegalArgumentException("隨機延遲不可為負值: " + jitter);
+            }
+        }
     }
 }
@@ -1,25 +1,57 @@
 package com.example.toc.controller;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.toc.config.OpendataProperties;
+import com.example.toc.exception.IncompleteDataException;
+import com.example.toc.exception.InvalidRequestException;
 import com.example.toc.exception.ResourceNotFoundException;
-import com.example.toc.model.Holiday;
+import com.example.toc.model.PrecomputedRepresentation;
+import com.example.toc.model.WorkdayAddRequest;
+import com.example.toc.model.WorkdayAddResult;
+import com.example.toc.model.WorkdayCountResult;
+import com.example.toc.model.WorkdayStatus;
+import com.example.toc.model.calendar.IcsCalendar;
+import com.example.toc.model.calendar.IcsFeed;
+import com.example.toc.model.ncdr.AreaSuspension;
+import com.example.toc.model.ncdr.CitySuspension;
 import com.example.toc.model.ncdr.NcdrEntry;
+import com.example.toc.model.ncdr.NcdrSnapshot;
+import com.example.toc.model.ncdr.RealtimeDelta;
+import com.example.toc.service.BusinessDayService;
+import com.example.toc.service.CalendarIndexService;
+import com.example.toc.service.HolidayDataService;
+import com.example.toc.service.HolidayLookupService;
+import com.example.toc.service.HolidayMetrics;
+import com.example.toc.service.HolidayRangeService;
+import com.example.toc.service.HolidayStatsService;
+import com.example.toc.service.IcsFeedService;
 import com.example.toc.service.RealTimeHolidayService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.toc.service.RealtimePushService;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,57 +71,409 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/holidays")
 public class HolidayController {
 
-    /** JSON 反序列化器（由 Spring 注入） */
-    private final ObjectMapper objectMapper;
+    /** 即時停班停課快照狀態標頭 */
+    private static final String HEADER_NCDR_STATUS = "X-Ncdr-Status";
+
+    /** iCalendar 內容類型 */
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType(IcsCalendar.CONTENT_TYPE);
+
+    /** 年度假日資料服務 */
+    private final HolidayDataService holidayDataService;
+
+    /** 上班日索引服務 */
+    private final CalendarIndexService calendarIndexService;
+
+    /** 上班日推算服務 */
+    private final BusinessDayService businessDayService;
+
+    /** 批次日期查詢服務 */
+    private final HolidayLookupService holidayLookupService;
+
+    /** 日期區間查詢服務 */
+    private final HolidayRangeService holidayRangeService;
+
+    /** iCalendar 訂閱服務 */
+    private final IcsFeedService icsFeedService;
+
+    /** 年度與每月統計服務 */
+    private final HolidayStatsService holidayStatsService;
 
-    /** 開放資料設定屬性（由 Spring 注入） */
-    private final OpendataProperties opendataProperties;
-    
     /** 即時假日服務 */
     private final RealTimeHolidayService realTimeHolidayService;
 
-    /** 假日資料快取 (Key: Year, Value: Holiday List) */
-    private final Map<String, List<Holiday>> holidayCache = new ConcurrentHashMap<>();
+    /** 即時停班停課變更推播服務 */
+    private final RealtimePushService realtimePushService;
+
+    /** 指標註冊中心 */
+    private final MeterRegistry meterRegistry;
 
     /**
      * 依年份取得假日資料。
      *
-     * @param year 西元年份 (例如: 2024)
-     * @return 該年份的假日資料列表
-     * @throws ResourceNotFoundException 當指定年份的資料不存在時
+     * <p>
+     * 回傳預先序列化的精簡 JSON，用戶端接受 gzip 時直接回傳預先壓縮的內容；
+     * 附帶強式 ETag 與 Last-Modified，符合 If-None-Match / If-Modified-Since 時回應 304。
+     * </p>
+     *
+     * @param year           西元年份 (例如: 2024)
+     * @param source         資料來源名稱 ({@code opendata.holiday.sources})，未指定時為合併資料
+     * @param acceptEncoding Accept-Encoding 標頭
+     * @return 該年份的假日資料列表 (JSON)
+     * @throws ResourceNotFoundException 當資料來源或指定年份的資料不存在時
      */
     @GetMapping("/{year}")
-    public List<Holiday> getHolidaysByYear(@PathVariable String year) {
-        // Validate input format to prevent path traversal
-        if (!year.matches("^\\d{4}$")) {
-            throw new ResourceNotFoundException("年份格式錯誤，僅允許 4 位數字");
+    public ResponseEntity<byte[]> getHolidaysByYear(@PathVariable String year,
+            @RequestParam(required = false) String source,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable error = null;
+        try {
+            PrecomputedRepresentation representation = holidayDataService.getYearSnapshot(source, year)
+                    .representation();
+            return toResponse(representation, MediaType.APPLICATION_JSON, acceptEncoding);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("holiday.api.year")
+                    .description("年度假日資料 API 的處理耗時 (不含回應寫出)")
+                    .tag(HolidayMetrics.TAG_YEAR, HolidayMetrics.yearBucket(year))
+                    .tag("encoding", PrecomputedRepresentation.acceptsGzip(acceptEncoding) ? "gzip" : "identity")
+                    .tag(HolidayMetrics.TAG_OUTCOME, HolidayMetrics.outcome(error))
+                    .register(meterRegistry));
         }
+    }
+
+    /**
+     * 以 iCalendar (ICS) 格式取得指定年份的辦公日曆，供 Outlook / Google 日曆訂閱。
+     *
+     * <p>
+     * 回傳載入年度資料時預先產生的內容，與年度 API 相同支援 gzip、強式 ETag 與 Last-Modified 條件式請求。
+     * </p>
+     *
+     * @param year           西元年份 (例如: 2024)
+     * @param source         資料來源名稱，未指定時為合併資料
+     * @param acceptEncoding Accept-Encoding 標頭
+     * @return 該年份的日曆 (text/calendar)
+     * @throws ResourceNotFoundException 當資料來源不存在、年份格式錯誤或指定年份的資料不存在時
+     */
+    @GetMapping("/{year}.ics")
+    public ResponseEntity<byte[]> getYearCalendar(@PathVariable String year,
+            @RequestParam(required = false) String source,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return toResponse(icsFeedService.getYearCalendar(source, year), TEXT_CALENDAR, acceptEncoding);
+    }
+
+    /**
+     * 以 iCalendar (ICS) 格式取得年份區間 (含起訖年) 的合併辦公日曆，區間內沒有資料的年度會被略過。
+     *
+     * <p>
+     * 以同一份檔頭依序寫出各年度預先產生的事件區段；ETag 由各年度內容組成，
+     * 符合 If-None-Match / If-Modified-Since 時回應 304。
+     * </p>
+     *
+     * @param from       起始年份 (例如: 2024)
+     * @param to         結束年份 (例如: 2026)
+     * @param source     資料來源名稱，未指定時為合併資料
+     * @param webRequest 目前的請求 (用於條件式請求判斷)
+     * @param response   HTTP 回應
+     * @throws InvalidRequestException   當起始年份晚於結束年份或區間過長時
+     * @throws ResourceNotFoundException 當資料來源不存在或年份格式錯誤時
+     * @throws IOException               當寫出失敗時
+     */
+    @GetMapping("/calendar.ics")
+    public void getCalendar(@RequestParam String from, @RequestParam String to,
+            @RequestParam(required = false) String source, WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+        IcsFeed feed = icsFeedService.getCalendar(source, from, to);
+        if (webRequest.checkNotModified(feed.etag(), feed.lastModified())) {
+            return;
+        }
+        response.setContentType(IcsCalendar.CONTENT_TYPE);
+        response.setContentLengthLong(feed.contentLength());
+        feed.writeTo(response.getOutputStream());
+    }
 
-        return holidayCache.computeIfAbsent(year, key -> {
-            File file = Paths.get(opendataProperties.holiday().outputDir(), key + ".json").toFile();
+    /**
+     * 查詢日期區間 (含起訖日) 內的假日資料，可跨越多個年度。
+     *
+     * <p>
+     * 以年度資料的已排序索引二分搜尋區間起訖，結果依日期排序逐筆串流寫出，欄位與年度 API 相同；
+     * 區間內沒有資料的年度會被略過。
+     * </p>
+     *
+     * @param from         起始日期 (格式: yyyyMMdd)
+     * @param to           結束日期 (格式: yyyyMMdd)
+     * @param category     假日類別 (可指定多個，類別文字或列舉名稱，例如 {@code 補假})
+     * @param onlyHolidays 是否只回傳放假日
+     * @param source       資料來源名稱，未指定時為合併資料
+     * @param response     HTTP 回應
+     * @throws InvalidRequestException   當起始日期晚於結束日期、區間過長或類別無法辨識時
+     * @throws ResourceNotFoundException 當資料來源不存在或日期格式錯誤時
+     * @throws IOException               當寫出失敗時
+     */
+    @GetMapping
+    public void getHolidaysInRange(@RequestParam String from, @RequestParam String to,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(defaultValue = "false") boolean onlyHolidays,
+            @RequestParam(required = false) String source,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        holidayRangeService.writeRange(source, from, to, category, onlyHolidays, response.getOutputStream());
+    }
 
-            if (!file.exists()) {
-                log.warn("找不到 {} 年度的假日資料。", key);
-                throw new ResourceNotFoundException("找不到 " + key + " 年度的假日資料");
-            }
+    /**
+     * 查詢年份區間 (含起訖年) 的年度與每月統計：天數、上班日數、放假日數 (含週末)、補假日數與補行上班日數。
+     *
+     * <p>
+     * 統計於載入年度資料時預先計算，查詢時直接串流寫出；區間內沒有資料的年度會被略過。
+     * </p>
+     *
+     * @param from     起始年份 (例如: 2010)
+     * @param to       結束年份 (例如: 2025)
+     * @param source   資料來源名稱，未指定時為合併資料
+     * @param response HTTP 回應
+     * @throws InvalidRequestException   當起始年份晚於結束年份或區間過長時
+     * @throws ResourceNotFoundException 當資料來源不存在或年份格式錯誤時
+     * @throws IOException               當寫出失敗時
+     */
+    @GetMapping("/stats")
+    public void getStats(@RequestParam String from, @RequestParam String to,
+            @RequestParam(required = false) String source, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        holidayStatsService.writeStats(source, from, to, response.getOutputStream());
+    }
 
-            try {
-                return objectMapper.readValue(file, new TypeReference<List<Holiday>>() {
-                });
-            } catch (IOException e) {
-                log.error("讀取 {} 年度假日資料時發生錯誤", key, e);
-                throw new ResourceNotFoundException("無法讀取 " + key + " 年度的假日資料", e);
-            }
-        });
+    /**
+     * 查詢指定日期是否為上班日。
+     *
+     * @param date   日期 (格式: yyyyMMdd，例如: 20250101)
+     * @param source 資料來源名稱，未指定時為合併資料
+     * @return 上班日狀態
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或該年度的資料不存在時
+     * @throws IncompleteDataException   當該年度的資料不完整時
+     */
+    @GetMapping("/is-workday/{date}")
+    public WorkdayStatus isWorkday(@PathVariable String date, @RequestParam(required = false) String source) {
+        return calendarIndexService.getWorkdayStatus(source, date);
+    }
+
+    /**
+     * 計算兩個日期之間 (含起訖日) 的上班日數。
+     *
+     * @param from   起始日期 (格式: yyyyMMdd)
+     * @param to     結束日期 (格式: yyyyMMdd)
+     * @param source 資料來源名稱，未指定時為合併資料
+     * @return 上班日數計算結果
+     * @throws InvalidRequestException   當起始日期晚於結束日期時
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或區間內有年度資料不存在時
+     * @throws IncompleteDataException   當區間內有年度資料不完整時
+     */
+    @GetMapping("/workdays/count")
+    public WorkdayCountResult countWorkdays(@RequestParam String from, @RequestParam String to,
+            @RequestParam(required = false) String source) {
+        return businessDayService.countWorkdays(source, from, to);
+    }
+
+    /**
+     * 推算指定日期加上 N 個上班日後的日期。
+     *
+     * @param date   起始日期 (格式: yyyyMMdd)
+     * @param days   上班日數 (負數表示往前推算)
+     * @param source 資料來源名稱，未指定時為合併資料
+     * @return 上班日推算結果
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或推算結果超出資料範圍時
+     * @throws IncompleteDataException   當推算經過的年度資料不完整時
+     */
+    @GetMapping("/workdays/add")
+    public WorkdayAddResult addWorkdays(@RequestParam String date, @RequestParam int days,
+            @RequestParam(required = false) String source) {
+        return businessDayService.addWorkdays(source, date, days);
+    }
+
+    /**
+     * 批次推算多個起始日期加上 N 個上班日後的日期。
+     *
+     * @param request 批次推算請求
+     * @param source  資料來源名稱，未指定時為合併資料
+     * @return 依輸入順序排列的推算結果
+     * @throws InvalidRequestException   當日期列表為空或超過批次上限時
+     * @throws ResourceNotFoundException 當資料來源不存在、任一日期格式錯誤或推算結果超出資料範圍時
+     * @throws IncompleteDataException   當推算經過的年度資料不完整時
+     */
+    @PostMapping("/workdays/add")
+    public List<WorkdayAddResult> addWorkdays(@RequestBody WorkdayAddRequest request,
+            @RequestParam(required = false) String source) {
+        if (request.dates() != null) {
+            DistributionSummary.builder("holiday.api.workdays.batch.size")
+                    .description("批次上班日推算的日期數")
+                    .baseUnit("dates")
+                    .register(meterRegistry)
+                    .record(request.dates().size());
+        }
+        return businessDayService.addWorkdays(source, request.dates(), request.days());
+    }
+
+    /**
+     * 批次查詢多個日期的假日資料。
+     *
+     * <p>
+     * 請求內容可為 JSON 日期字串陣列，或以 {@code text/plain} / {@code application/x-ndjson}
+     * 傳送每行一個日期；結果依輸入順序逐筆串流寫出，
+     * {@code Accept: application/x-ndjson} 時以 NDJSON 輸出，否則為 JSON 陣列。
+     * </p>
+     *
+     * @param accept   Accept 標頭
+     * @param source   資料來源名稱，未指定時為合併資料
+     * @param request  HTTP 請求
+     * @param response HTTP 回應
+     * @throws ResourceNotFoundException 當資料來源不存在時
+     * @throws IOException               當讀寫串流失敗時
+     */
+    @PostMapping(value = "/lookup", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public void lookupHolidays(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String source, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        boolean lineDelimited = !MediaType.APPLICATION_JSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType()));
+        boolean ndjsonOutput = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+
+        response.setContentType(ndjsonOutput ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        holidayLookupService.lookup(source, request.getInputStream(), lineDelimited, response.getOutputStream(),
+                ndjsonOutput);
     }
     
     /**
      * 查詢即時停班停課資訊 (台北市全區)。
+     *
+     * <p>
+     * 直接回傳背景輪詢取得的最後一份快照，不會等待 NCDR。{@code Age} 與 {@code Last-Modified}
+     * 為快照的資料年齡與取得時間，{@value #HEADER_NCDR_STATUS} 標示快照狀態
+     * (fresh / stale / unavailable)。
+     * </p>
      * 
      * @return 符合條件的 NCDR 警報資料列表
      */
     @GetMapping("/realtime")
-    public List<NcdrEntry> getRealTimeHolidays() {
-        return realTimeHolidayService.getRealTimeHolidays();
+    public ResponseEntity<List<NcdrEntry>> getRealTimeHolidays() {
+        NcdrSnapshot snapshot = realTimeHolidayService.getSnapshot();
+        return realtimeResponse(snapshot).body(realTimeHolidayService.getRealTimeHolidays(snapshot));
+    }
+
+    /**
+     * 以 SSE 訂閱即時停班停課狀態的變更。
+     *
+     * <p>
+     * 連線後先送出完整狀態 ({@code reset} 事件)，之後只在狀態變更時送出增量 ({@code delta} 事件)。
+     * 事件 id 為版本號，重新連線時瀏覽器會自動帶上 {@code Last-Event-ID}，伺服器據此補送遺漏的變更。
+     * </p>
+     *
+     * @param lastEventId 最後收到的版本 (由 EventSource 自動帶入)
+     * @param since       最後收到的版本 (無法設定標頭的用戶端使用)
+     * @return SSE 連線
+     */
+    @GetMapping(path = "/realtime/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRealTimeChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        return realtimePushService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * 以 long-poll 等待即時停班停課狀態的變更 (SSE 無法使用時的替代方案)。
+     *
+     * <p>
+     * {@code since} 之後已有變更時立即回應，否則等待至下一次變更或逾時 (逾時回傳空的變更列表)；
+     * 未指定 {@code since} 時立即回傳完整狀態。用戶端以回應的 {@code version} 作為下一次的 {@code since}。
+     * </p>
+     *
+     * @param since 最後收到的版本
+     * @return 變更內容
+     */
+    @GetMapping("/realtime/changes")
+    public DeferredResult<RealtimeDelta> pollRealTimeChanges(@RequestParam(required = false) Long since) {
+        return realtimePushService.poll(since);
+    }
+
+    /**
+     * 查詢縣市的即時停班停課狀態 (全區與個別發布的鄉鎮市區)。
+     *
+     * @param city 縣市名稱 (接受「台 / 臺」異體字，可省略「市 / 縣」字尾，例如 {@code 台北})
+     * @return 縣市停班停課狀態
+     * @throws ResourceNotFoundException 當縣市名稱無法辨識時
+     */
+    @GetMapping("/realtime/{city}")
+    public ResponseEntity<CitySuspension> getCitySuspension(@PathVariable String city) {
+        NcdrSnapshot snapshot = realTimeHolidayService.getSnapshot();
+        return realtimeResponse(snapshot).body(findCity(snapshot, city));
+    }
+
+    /**
+     * 查詢鄉鎮市區的即時停班停課狀態。
+     *
+     * <p>
+     * 該區沒有個別發布時沿用縣市全區的狀態。
+     * </p>
+     *
+     * @param city     縣市名稱
+     * @param district 鄉鎮市區名稱 (可省略「區 / 鄉 / 鎮 / 市」字尾)
+     * @return 鄉鎮市區停班停課狀態
+     * @throws ResourceNotFoundException 當縣市名稱無法辨識時
+     */
+    @GetMapping("/realtime/{city}/{district}")
+    public ResponseEntity<AreaSuspension> getDistrictSuspension(@PathVariable String city,
+            @PathVariable String district) {
+        NcdrSnapshot snapshot = realTimeHolidayService.getSnapshot();
+        return realtimeResponse(snapshot).body(findCity(snapshot, city).district(district));
+    }
+
+    private CitySuspension findCity(NcdrSnapshot snapshot, String city) {
+        return realTimeHolidayService.getCitySuspension(snapshot, city)
+                .orElseThrow(() -> new ResourceNotFoundException("查無縣市: " + city));
+    }
+
+    /**
+     * 建立即時停班停課回應：標示快照的資料年齡、取得時間與狀態。
+     */
+    private static ResponseEntity.BodyBuilder realtimeResponse(NcdrSnapshot snapshot) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header(HEADER_NCDR_STATUS, snapshot.status());
+        if (snapshot.isAvailable()) {
+            builder.header(HttpHeaders.AGE, String.valueOf(snapshot.age(Instant.now()).toSeconds()))
+                    .lastModified(snapshot.fetchedAt());
+        }
+        return builder;
+    }
+
+    /**
+     * 將預先產生的回應內容轉換為 HTTP 回應。
+     *
+     * <p>
+     * 條件式請求 (If-None-Match / If-Modified-Since) 由 Spring 依回應的 ETag 與
+     * Last-Modified 自動判斷並回應 304。
+     * </p>
+     *
+     * @param representation 預先產生的回應內容
+     * @param contentType    內容類型
+     * @param acceptEncoding Accept-Encoding 標頭
+     * @return HTTP 回應
+     */
+    private ResponseEntity<byte[]> toResponse(PrecomputedRepresentation representation, MediaType contentType,
+            String acceptEncoding) {
+        boolean gzip = PrecomputedRepresentation.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(contentType)
+                .eTag(gzip ? representation.gzipEtag() : representation.etag())
+                .lastModified(representation.lastModified())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(representation.gzip());
+        }
+        return builder.body(representation.identity());
     }
 }
@@ -38,6 +38,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    /**
+     * 處理請求參數錯誤例外。
+     *
+     * @param ex 請求參數錯誤例外
+     * @return HTTP 400 回應
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException ex) {
+        log.warn("請求參數錯誤: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * 處理年度資料不完整例外。
+     *
+     * @param ex 年度資料不完整例外
+     * @return HTTP 422 回應
+     */
+    @ExceptionHandler(IncompleteDataException.class)
+    public ResponseEntity<Map<String, Object>> handleIncompleteData(IncompleteDataException ex) {
+        log.warn("年度資料不完整: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
     /**
      * 處理靜態資源未找到例外（如 favicon.ico）。
      *
@@ -0,0 +1,29 @@
+package com.example.toc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 年度資料不完整例外。
+ *
+ * <p>
+ * 當查詢需要整年行事曆才能確定答案（例如是否為上班日、上班日數），
+ * 但該年度的資料尚未完整公告時拋出此例外，
+ * 自動回應 HTTP 422 Unprocessable Entity 狀態碼。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IncompleteDataException extends RuntimeException {
+
+    /**
+     * 建立年度資料不完整例外。
+     *
+     * @param year 資料不完整的西元年份
+     */
+    public IncompleteDataException(int year) {
+        super(year + " 年度的假日資料尚未完整公告，無法判斷上班日");
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.toc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 請求參數錯誤例外。
+ *
+ * <p>
+ * 當請求內容不合法（例如日期區間起訖顛倒、批次資料為空）時拋出此例外，
+ * 自動回應 HTTP 400 Bad Request 狀態碼。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * 建立請求參數錯誤例外。
+     *
+     * @param message 錯誤訊息
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.toc.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 資料抓取清單 (fetch-manifest.json)。
+ *
+ * <p>
+ * 記錄上次成功抓取時資料來源的 HTTP 驗證資訊與各輸出檔案的內容雜湊，
+ * 用於條件式下載 (If-None-Match / If-Modified-Since)。檔案是否需要替換一律與磁碟上的實際檔案比對，
+ * 內容雜湊僅供部署與稽核時核對輸出。
+ * </p>
+ *
+ * @param sourceUrl    上次抓取的資料來源 URL
+ * @param etag         資料來源回應的 ETag (可能為 null)
+ * @param lastModified 資料來源回應的 Last-Modified (可能為 null)
+ * @param fileHashes   輸出檔名 → 內容 SHA-256 (十六進位)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record FetchManifest(String sourceUrl, String etag, String lastModified, Map<String, String> fileHashes) {
+
+    /** 清單檔名 */
+    public static final String FILE_NAME = "fetch-manifest.json";
+
+    public FetchManifest {
+        fileHashes = Collections.unmodifiableSortedMap(
+                fileHashes == null ? new TreeMap<>() : new TreeMap<>(fileHashes));
+    }
+
+    /**
+     * 建立空白清單 (首次抓取或清單無法讀取時使用)。
+     *
+     * @return 不含任何資訊的清單
+     */
+    public static FetchManifest empty() {
+        return new FetchManifest(null, null, null, null);
+    }
+
+    /**
+     * 判斷是否可對指定來源送出條件式請求。
+     *
+     * @param url 本次資料來源 URL
+     * @return 來源相同且具備 ETag 或 Last-Modified 時為 true
+     */
+    public boolean hasValidatorsFor(String url) {
+        return url != null && url.equals(sourceUrl) && (etag != null || lastModified != null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.toc.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 假日類別。
+ *
+ * <p>
+ * 對應開放資料中 {@code holidayCategory} 欄位的文字，供程式內部以列舉比對，
+ * 對外輸出時仍使用原始文字。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public enum HolidayCategory {
+
+    /** 放假之紀念日及節日 */
+    NATIONAL_HOLIDAY("放假之紀念日及節日"),
+
+    /** 紀念日及節日 (不一定放假) */
+    MEMORIAL_DAY("紀念日及節日"),
+
+    /** 補假 */
+    COMPENSATORY_DAY_OFF("補假"),
+
+    /** 調整放假日 */
+    ADJUSTED_DAY_OFF("調整放假日"),
+
+    /** 補行上班日 */
+    MAKEUP_WORKDAY("補行上班日"),
+
+    /** 星期六、星期日 */
+    WEEKEND("星期六、星期日"),
+
+    /** 星期日 */
+    SUNDAY("星期日"),
+
+    /** 特定節日 (僅特定身分放假，如軍人節、警察節) */
+    SPECIAL_DAY("特定節日"),
+
+    /** 其他未列舉的類別 (保留原始文字) */
+    OTHER(null);
+
+    private static final Map<String, HolidayCategory> BY_LABEL = new HashMap<>();
+
+    static {
+        for (HolidayCategory category : values()) {
+            if (category.label != null) {
+                BY_LABEL.put(category.label, category);
+            }
+        }
+    }
+
+    /** 開放資料中的類別文字 */
+    private final String label;
+
+    HolidayCategory(String label) {
+        this.label = label;
+    }
+
+    /**
+     * 取得開放資料中的類別文字。
+     *
+     * @return 類別文字，{@link #OTHER} 為 {@code null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 依類別文字取得列舉值。
+     *
+     * @param label 類別文字
+     * @return 對應的列舉值，空值回傳 {@code null}，未列舉的文字回傳 {@link #OTHER}
+     */
+    public static HolidayCategory fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        return BY_LABEL.getOrDefault(label, OTHER);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.toc.model;
+
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 批次日期查詢的單筆結果。
+ *
+ * <p>
+ * 日期未列於資料中時僅回傳 {@code date} 與 {@code holiday}；
+ * 日期格式錯誤、年度資料不存在，或年度資料不完整且日期未列於資料中時，僅回傳 {@code date} 與 {@code error}。
+ * </p>
+ *
+ * @param date            查詢的日期字串
+ * @param holiday         是否為放假日
+ * @param name            節日名稱
+ * @param holidayCategory 假日類別
+ * @param note            備註
+ * @param error           錯誤訊息
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HolidayLookupResult(String date, Boolean holiday, String name, String holidayCategory, String note,
+        String error) {
+
+    /**
+     * 建立查詢成功的結果。
+     *
+     * @param date   查詢的日期字串
+     * @param table  該年度的假日資料
+     * @param row    當日所在的列號，未列於資料中時為 -1
+     * @param offDay 當日是否為非上班日 (用於未列於資料中的日期)
+     * @return 查詢結果
+     */
+    public static HolidayLookupResult of(String date, HolidayTable table, int row, boolean offDay) {
+        if (row < 0) {
+            return new HolidayLookupResult(date, offDay, null, null, null, null);
+        }
+        return new HolidayLookupResult(date, table.isHoliday(row), table.name(row), table.categoryLabel(row),
+                table.note(row), null);
+    }
+
+    /**
+     * 建立查詢失敗的結果。
+     *
+     * @param date    查詢的日期字串
+     * @param message 錯誤訊息
+     * @return 查詢結果
+     */
+    public static HolidayLookupResult error(String date, String message) {
+        return new HolidayLookupResult(date, null, null, null, null, message);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.toc.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 預先產生的 HTTP 回應內容。
+ *
+ * <p>
+ * 同時保存未壓縮與 gzip 壓縮後的位元組陣列，以及各自的強式 ETag，
+ * 讓每次請求只需挑選對應的版本直接寫出，不需重新序列化或壓縮。
+ * </p>
+ *
+ * @param identity     未壓縮內容
+ * @param gzip         gzip 壓縮內容
+ * @param etag         未壓縮內容的強式 ETag (含雙引號)
+ * @param gzipEtag     gzip 壓縮內容的強式 ETag (含雙引號)
+ * @param lastModified 最後修改時間 (epoch 毫秒)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record PrecomputedRepresentation(byte[] identity, byte[] gzip, String etag, String gzipEtag,
+        long lastModified) {
+
+    /**
+     * 依未壓縮內容建立預先產生的回應內容。
+     *
+     * @param identity     未壓縮內容
+     * @param lastModified 最後修改時間 (epoch 毫秒)
+     * @return 預先產生的回應內容
+     */
+    public static PrecomputedRepresentation of(byte[] identity, long lastModified) {
+        String hash = sha256(identity);
+        return new PrecomputedRepresentation(identity, gzip(identity), "\"" + hash + "\"",
+                "\"" + hash + "-gzip\"", lastModified);
+    }
+
+    /**
+     * 判斷 Accept-Encoding 標頭是否接受 gzip。
+     *
+     * @param acceptEncoding Accept-Encoding 標頭
+     * @return true 若可回傳 gzip 壓縮內容
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            // 取前 16 bytes 已足以作為內容識別
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支援 SHA-256", e);
+        }
+    }
+}
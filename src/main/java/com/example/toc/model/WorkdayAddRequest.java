@@ -0,0 +1,15 @@
+package com.example.toc.model;
+
+import java.util.List;
+
+/**
+ * 批次上班日推算請求。
+ *
+ * @param dates 起始日期列表 (格式: yyyyMMdd)
+ * @param days  推算的上班日數 (負數表示往前推算)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record WorkdayAddRequest(List<String> dates, int days) {
+}
@@ -0,0 +1,14 @@
+package com.example.toc.model;
+
+/**
+ * 上班日推算結果。
+ *
+ * @param date   起始日期 (格式: yyyyMMdd)
+ * @param days   推算的上班日數 (負數表示往前推算)
+ * @param result 推算後的日期 (格式: yyyyMMdd)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record WorkdayAddResult(String date, int days, String result) {
+}
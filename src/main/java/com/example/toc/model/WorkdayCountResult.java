@@ -0,0 +1,14 @@
+package com.example.toc.model;
+
+/**
+ * 上班日數計算結果。
+ *
+ * @param from     起始日期 (格式: yyyyMMdd，含當日)
+ * @param to       結束日期 (格式: yyyyMMdd，含當日)
+ * @param workdays 區間內的上班日數
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record WorkdayCountResult(String from, String to, int workdays) {
+}
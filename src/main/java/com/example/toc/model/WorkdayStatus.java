@@ -0,0 +1,14 @@
+package com.example.toc.model;
+
+/**
+ * 單日上班日查詢結果。
+ *
+ * @param date          日期 (格式: yyyyMMdd)
+ * @param workday       是否為上班日
+ * @param makeupWorkday 是否為補行上班日
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record WorkdayStatus(String date, boolean workday, boolean makeupWorkday) {
+}
@@ -0,0 +1,281 @@
+package com.example.toc.model.calendar;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.toc.model.HolidayCategory;
+
+/**
+ * 年度假日資料的二進位快照格式 ({@code {year}.bin})。
+ *
+ * <p>
+ * 與 {@code {year}.json} 一起輸出，內容為 {@link HolidayTable} 的欄位直接序列化 (big-endian)：
+ * </p>
+ *
+ * <pre>
+ * int     magic ("TOCB")
+ * short   版本
+ * short   西元年份
+ * byte[32] 來源 JSON 檔案內容的 SHA-256
+ * int     字串數，之後每個字串為 int 長度 + UTF-8 內容 (重複的名稱、說明只存一次)
+ * int     資料筆數 n
+ * int[n]  日期 (yyyyMMdd，已排序)
+ * byte[n] 類別序數 (-1 為無類別)
+ * long[]  是否放假的位元集合
+ * int[n]  名稱、說明、備註、其他類別文字在字串表中的索引 (-1 為 null)，各一組
+ * </pre>
+ *
+ * <p>
+ * 讀取時直接將欄位填入陣列，不需 JSON 解析，也不會為每筆資料建立物件。
+ * 快照記錄來源 JSON 的雜湊，JSON 被手動修改或僅部分更新時雜湊不符，讀取端會改回解析 JSON。
+ * 類別以序數存放，{@link HolidayCategory} 的順序變更時須提升版本。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class BinarySnapshotCodec {
+
+    /** 副檔名 */
+    public static final String EXTENSION = ".bin";
+
+    /** 檔頭識別碼 ("TOCB") */
+    private static final int MAGIC = 0x544F4342;
+
+    /** 格式版本 */
+    private static final short VERSION = 1;
+
+    /** 來源 JSON 雜湊長度 (SHA-256) */
+    private static final int HASH_LENGTH = 32;
+
+    /** 表示 null 的字串索引 */
+    private static final int NULL_STRING = -1;
+
+    private static final int CATEGORY_COUNT = HolidayCategory.values().length;
+
+    private BinarySnapshotCodec() {
+    }
+
+    /**
+     * 取得年度 JSON 檔案對應的二進位快照路徑。
+     *
+     * @param jsonFile 年度 JSON 檔案 ({@code {year}.json})
+     * @return 二進位快照路徑 ({@code {year}.bin})
+     */
+    public static Path resolve(Path jsonFile) {
+        String name = jsonFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return jsonFile.resolveSibling((dot < 0 ? name : name.substring(0, dot)) + EXTENSION);
+    }
+
+    /**
+     * 將年度資料寫出為二進位快照。
+     *
+     * @param table      年度資料
+     * @param sourceHash 來源 JSON 檔案內容的 SHA-256
+     * @param out        輸出串流 (不會關閉)
+     * @throws IOException 當寫出失敗時
+     */
+    public static void write(HolidayTable table, byte[] sourceHash, OutputStream out) throws IOException {
+        if (sourceHash.length != HASH_LENGTH) {
+            throw new IllegalArgumentException("來源雜湊長度須為 " + HASH_LENGTH + " bytes");
+        }
+        int size = table.size();
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        int[] names = new int[size];
+        int[] descriptions = new int[size];
+        int[] notes = new int[size];
+        int[] otherLabels = new int[size];
+        for (int row = 0; row < size; row++) {
+            names[row] = indexOf(strings, table.name(row));
+            descriptions[row] = indexOf(strings, table.description(row));
+            notes[row] = indexOf(strings, table.note(row));
+            otherLabels[row] = table.category(row) == HolidayCategory.OTHER
+                    ? indexOf(strings, table.categoryLabel(row))
+                    : NULL_STRING;
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(table.getYear());
+        data.write(sourceHash);
+
+        data.writeInt(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+
+        data.writeInt(size);
+        for (int row = 0; row < size; row++) {
+            data.writeInt(table.date(row));
+        }
+        for (int row = 0; row < size; row++) {
+            data.writeByte(table.categoryCode(row));
+        }
+        long[] holidayBits = new long[HolidayTable.bitWords(size)];
+        for (int row = 0; row < size; row++) {
+            if (table.isHoliday(row)) {
+                holidayBits[row >>> 6] |= 1L << row;
+            }
+        }
+        for (long word : holidayBits) {
+            data.writeLong(word);
+        }
+        writeInts(data, names);
+        writeInts(data, descriptions);
+        writeInts(data, notes);
+        writeInts(data, otherLabels);
+        data.flush();
+    }
+
+    /**
+     * 讀取二進位快照。
+     *
+     * @param file       二進位快照檔案
+     * @param year       西元年份
+     * @param sourceHash 目前 JSON 檔案內容的 SHA-256
+     * @return 年度資料；快照並非由目前的 JSON 產生時回傳 {@code null}
+     * @throws IOException 當檔案讀取失敗、格式或版本不符時
+     */
+    public static HolidayTable read(Path file, int year, byte[] sourceHash) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("二進位快照過大: " + file);
+            }
+            // 檔案僅數 KB，一次讀入即可；不使用 memory-map，避免映射未釋放時 Windows 無法原子替換檔案
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 讀到檔案結尾為止
+            }
+            buffer.flip();
+        }
+        try {
+            return decode(buffer, year, sourceHash);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("二進位快照格式錯誤: " + file, e);
+        }
+    }
+
+    /**
+     * 自緩衝區解碼二進位快照。
+     *
+     * @param buffer     快照內容
+     * @param year       西元年份
+     * @param sourceHash 目前 JSON 檔案內容的 SHA-256
+     * @return 年度資料；來源雜湊不符時回傳 {@code null}
+     * @throws IOException 當格式或版本不符時
+     */
+    static HolidayTable decode(ByteBuffer buffer, int year, byte[] sourceHash) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("不是二進位快照檔案");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("不支援的二進位快照版本: " + version);
+        }
+        int fileYear = buffer.getShort();
+        if (fileYear != year) {
+            throw new IOException("二進位快照年份不符: " + fileYear);
+        }
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get(hash);
+        if (!Arrays.equals(hash, sourceHash)) {
+            return null;
+        }
+
+        String[] strings = new String[count(buffer, Integer.BYTES)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[count(buffer, 1)];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+        }
+
+        int size = count(buffer, Integer.BYTES);
+        int[] dates = new int[size];
+        buffer.asIntBuffer().get(dates);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        int previous = Integer.MIN_VALUE;
+        for (int date : dates) {
+            if (date / 10000 != year || date < previous) {
+                throw new IOException("二進位快照包含不合法或未排序的日期: " + date);
+            }
+            previous = date;
+        }
+
+        byte[] categories = new byte[size];
+        buffer.get(categories);
+        for (byte code : categories) {
+            if (code < HolidayTable.NO_CATEGORY || code >= CATEGORY_COUNT) {
+                throw new IOException("二進位快照包含不合法的類別代碼: " + code);
+            }
+        }
+        long[] holidayBits = new long[HolidayTable.bitWords(size)];
+        buffer.asLongBuffer().get(holidayBits);
+        buffer.position(buffer.position() + holidayBits.length * Long.BYTES);
+
+        String[] names = readStrings(buffer, strings, size);
+        String[] descriptions = readStrings(buffer, strings, size);
+        String[] notes = readStrings(buffer, strings, size);
+        String[] otherLabels = readStrings(buffer, strings, size);
+        Map<Integer, String> otherCategoryLabels = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (otherLabels[row] != null) {
+                otherCategoryLabels.put(row, otherLabels[row]);
+            }
+        }
+        try {
+            return HolidayTable.ofColumns(year, dates, categories, holidayBits, names, descriptions, notes,
+                    otherCategoryLabels);
+        } catch (DateTimeException e) {
+            throw new IOException("二進位快照包含不存在的日期", e);
+        }
+    }
+
+    /**
+     * 讀取筆數，並確認剩餘內容足以容納，避免損毀的檔案造成過大的配置。
+     */
+    private static int count(ByteBuffer buffer, int minBytesEach) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * minBytesEach > buffer.remaining()) {
+            throw new IOException("二進位快照筆數不合法: " + count);
+        }
+        return count;
+    }
+
+    private static int indexOf(Map<String, Integer> strings, String value) {
+        return value == null ? NULL_STRING : strings.computeIfAbsent(value, key -> strings.size());
+    }
+
+    private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+        for (int value : values) {
+            data.writeInt(value);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, String[] strings, int size) {
+        String[] values = new String[size];
+        for (int row = 0; row < size; row++) {
+            int index = buffer.getInt();
+            values[row] = index == NULL_STRING ? null : strings[index];
+        }
+        return values;
+    }
+}
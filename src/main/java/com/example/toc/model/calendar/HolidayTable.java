@@ -0,0 +1,459 @@
+package com.example.toc.model.calendar;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.toc.model.Holiday;
+import com.example.toc.model.HolidayCategory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 單一年度假日資料的精簡欄位式存放結構。
+ *
+ * <p>
+ * 以「每個欄位一個陣列」取代每筆一個 {@link Holiday} 物件：
+ * <ul>
+ * <li>日期以 {@code int} (yyyyMMdd) 存放，可直接比較大小</li>
+ * <li>類別以 {@link HolidayCategory} 的序數 ({@code byte}) 存放</li>
+ * <li>是否放假以位元集合存放</li>
+ * <li>名稱、說明與備註經 {@link String#intern()} 去除重複，跨年度共用同一份字串</li>
+ * </ul>
+ * 另以 dayOfYear 為索引存放列號，查詢單日資料為 O(1)；日期已排序，可二分搜尋區間起訖，
+ * 並依類別預先建立列號索引，依類別篩選區間時不需走訪其他類別的資料。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class HolidayTable {
+
+    private static final HolidayCategory[] CATEGORIES = HolidayCategory.values();
+
+    /** 表示無類別的代碼 */
+    static final byte NO_CATEGORY = -1;
+
+    /** 西元年份 */
+    private final int year;
+
+    /** 西元年份字串 (輸出 JSON 時使用) */
+    private final String yearLabel;
+
+    /** 日期 (yyyyMMdd)，依日期排序 */
+    private final int[] dates;
+
+    /** 類別序數 */
+    private final byte[] categories;
+
+    /** 是否放假的位元集合 */
+    private final long[] holidayBits;
+
+    /** 節日名稱 */
+    private final String[] names;
+
+    /** 說明 */
+    private final String[] descriptions;
+
+    /** 備註 */
+    private final String[] notes;
+
+    /** 類別為 {@link HolidayCategory#OTHER} 時的原始文字 (Key: 列號) */
+    private final Map<Integer, String> otherCategoryLabels;
+
+    /** 依 dayOfYear 排列的列號，未列於資料中的日期為 -1 */
+    private final short[] rowByDay;
+
+    /** 依類別序數分組的列號 (依日期排序) */
+    private final int[][] rowsByCategory;
+
+    private HolidayTable(int year, int size) {
+        this(year, new int[size], new byte[size], new long[bitWords(size)], new String[size], new String[size],
+                new String[size], new HashMap<>());
+    }
+
+    private HolidayTable(int year, int[] dates, byte[] categories, long[] holidayBits, String[] names,
+            String[] descriptions, String[] notes, Map<Integer, String> otherCategoryLabels) {
+        this.year = year;
+        this.yearLabel = Integer.toString(year);
+        this.dates = dates;
+        this.categories = categories;
+        this.holidayBits = holidayBits;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.notes = notes;
+        this.otherCategoryLabels = otherCategoryLabels;
+        this.rowByDay = new short[Year.of(year).length()];
+        Arrays.fill(rowByDay, (short) -1);
+        this.rowsByCategory = new int[CATEGORIES.length][];
+    }
+
+    /**
+     * 以已排序的欄位陣列建立精簡存放結構 (供二進位快照讀取使用)，並建立日期與類別索引。
+     *
+     * @param year                西元年份
+     * @param dates               日期 (yyyyMMdd)，須依日期排序且皆屬於該年度
+     * @param categories          類別序數，無類別為 {@value #NO_CATEGORY}
+     * @param holidayBits         是否放假的位元集合
+     * @param names               節日名稱
+     * @param descriptions        說明
+     * @param notes               備註
+     * @param otherCategoryLabels 類別為 {@link HolidayCategory#OTHER} 時的原始文字 (Key: 列號)
+     * @return 精簡存放結構
+     */
+    static HolidayTable ofColumns(int year, int[] dates, byte[] categories, long[] holidayBits, String[] names,
+            String[] descriptions, String[] notes, Map<Integer, String> otherCategoryLabels) {
+        HolidayTable table = new HolidayTable(year, dates, categories, holidayBits, names, descriptions, notes,
+                otherCategoryLabels);
+        table.indexRows();
+        return table;
+    }
+
+    /**
+     * 存放指定筆數的是否放假位元集合所需的 long 數量。
+     *
+     * @param size 資料筆數
+     * @return long 數量
+     */
+    static int bitWords(int size) {
+        return (size + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * 依年度假日資料建立精簡存放結構。格式錯誤或不屬於該年度的資料會被略過。
+     *
+     * @param year     西元年份
+     * @param holidays 該年度的假日資料
+     * @return 精簡存放結構
+     */
+    public static HolidayTable of(int year, List<Holiday> holidays) {
+        List<Holiday> valid = new ArrayList<>(holidays.size());
+        for (Holiday holiday : holidays) {
+            int date = parseDate(holiday.getDate());
+            if (date / 10000 == year) {
+                valid.add(holiday);
+            }
+        }
+        valid.sort(Comparator.comparingInt(h -> parseDate(h.getDate())));
+
+        HolidayTable table = new HolidayTable(year, valid.size());
+        for (int row = 0; row < valid.size(); row++) {
+            Holiday holiday = valid.get(row);
+            table.dates[row] = parseDate(holiday.getDate());
+            HolidayCategory category = HolidayCategory.fromLabel(holiday.getHolidayCategory());
+            table.categories[row] = category == null ? NO_CATEGORY : (byte) category.ordinal();
+            if (category == HolidayCategory.OTHER) {
+                table.otherCategoryLabels.put(row, holiday.getHolidayCategory().intern());
+            }
+            if (holiday.isHoliday()) {
+                table.holidayBits[row >>> 6] |= 1L << row;
+            }
+            table.names[row] = intern(holiday.getName());
+            table.descriptions[row] = intern(holiday.getDescription());
+            table.notes[row] = intern(holiday.getNote());
+        }
+        table.indexRows();
+        return table;
+    }
+
+    /**
+     * 建立 dayOfYear 與類別的列號索引。
+     */
+    private void indexRows() {
+        for (int row = 0; row < dates.length; row++) {
+            rowByDay[dayOfYear(row)] = (short) row;
+        }
+        int[] counts = new int[CATEGORIES.length];
+        for (byte code : categories) {
+            if (code != NO_CATEGORY) {
+                counts[code]++;
+            }
+        }
+        for (int code = 0; code < CATEGORIES.length; code++) {
+            rowsByCategory[code] = new int[counts[code]];
+            counts[code] = 0;
+        }
+        for (int row = 0; row < categories.length; row++) {
+            byte code = categories[row];
+            if (code != NO_CATEGORY) {
+                rowsByCategory[code][counts[code]++] = row;
+            }
+        }
+    }
+
+    /**
+     * 取得西元年份。
+     *
+     * @return 西元年份
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * 取得資料筆數。
+     *
+     * @return 資料筆數
+     */
+    public int size() {
+        return dates.length;
+    }
+
+    /**
+     * 取得指定日期所在的列號。
+     *
+     * @param dayOfYear 該年度第幾天 (0 起算)
+     * @return 列號，若該日未列於資料中則回傳 -1
+     */
+    public int rowOf(int dayOfYear) {
+        return rowByDay[dayOfYear];
+    }
+
+    /**
+     * 以二分搜尋取得第一筆日期不早於指定日期的列號。
+     *
+     * @param date 日期 (yyyyMMdd)
+     * @return 列號，所有資料皆早於指定日期時回傳 {@link #size()}
+     */
+    public int lowerBound(int date) {
+        int low = 0;
+        int high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 取得指定類別的資料筆數。
+     *
+     * @param category 假日類別
+     * @return 資料筆數
+     */
+    public int categorySize(HolidayCategory category) {
+        return rowsByCategory[category.ordinal()].length;
+    }
+
+    /**
+     * 取得指定類別的第 {@code index} 筆資料的列號 (依日期排序)。
+     *
+     * @param category 假日類別
+     * @param index    該類別內的索引 (0 起算)
+     * @return 列號
+     */
+    public int categoryRow(HolidayCategory category, int index) {
+        return rowsByCategory[category.ordinal()][index];
+    }
+
+    /**
+     * 以二分搜尋取得指定類別中第一筆日期不早於指定日期的索引。
+     *
+     * @param category 假日類別
+     * @param date     日期 (yyyyMMdd)
+     * @return 該類別內的索引，所有資料皆早於指定日期時回傳 {@link #categorySize(HolidayCategory)}
+     */
+    public int categoryLowerBound(HolidayCategory category, int date) {
+        int[] rows = rowsByCategory[category.ordinal()];
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[rows[mid]] < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 取得日期。
+     *
+     * @param row 列號
+     * @return 日期 (yyyyMMdd)
+     */
+    public int date(int row) {
+        return dates[row];
+    }
+
+    /**
+     * 取得日期字串。
+     *
+     * @param row 列號
+     * @return 日期字串 (格式: yyyyMMdd)
+     */
+    public String dateString(int row) {
+        return Integer.toString(dates[row]);
+    }
+
+    /**
+     * 取得該列日期為該年度第幾天。
+     *
+     * @param row 列號
+     * @return dayOfYear (0 起算)
+     */
+    public int dayOfYear(int row) {
+        int date = dates[row];
+        return LocalDate.of(date / 10000, date / 100 % 100, date % 100).getDayOfYear() - 1;
+    }
+
+    /**
+     * 是否為放假日。
+     *
+     * @param row 列號
+     * @return true 若為放假日
+     */
+    public boolean isHoliday(int row) {
+        return (holidayBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * 取得假日類別。
+     *
+     * @param row 列號
+     * @return 假日類別，無類別時為 {@code null}
+     */
+    public HolidayCategory category(int row) {
+        byte code = categories[row];
+        return code == NO_CATEGORY ? null : CATEGORIES[code];
+    }
+
+    /**
+     * 取得假日類別的序數。
+     *
+     * @param row 列號
+     * @return 類別序數，無類別時為 {@value #NO_CATEGORY}
+     */
+    byte categoryCode(int row) {
+        return categories[row];
+    }
+
+    /**
+     * 取得假日類別的原始文字。
+     *
+     * @param row 列號
+     * @return 類別文字
+     */
+    public String categoryLabel(int row) {
+        HolidayCategory category = category(row);
+        if (category == null) {
+            return null;
+        }
+        return category == HolidayCategory.OTHER ? otherCategoryLabels.get(row) : category.getLabel();
+    }
+
+    /**
+     * 取得節日名稱。
+     *
+     * @param row 列號
+     * @return 節日名稱
+     */
+    public String name(int row) {
+        return names[row];
+    }
+
+    /**
+     * 取得說明。
+     *
+     * @param row 列號
+     * @return 說明
+     */
+    public String description(int row) {
+        return descriptions[row];
+    }
+
+    /**
+     * 取得備註。
+     *
+     * @param row 列號
+     * @return 備註
+     */
+    public String note(int row) {
+        return notes[row];
+    }
+
+    /**
+     * 將指定列還原為 {@link Holiday} 物件。
+     *
+     * @param row 列號
+     * @return Holiday 物件
+     */
+    public Holiday toHoliday(int row) {
+        return Holiday.builder()
+                .date(dateString(row))
+                .year(Integer.toString(year))
+                .name(names[row])
+                .isHoliday(isHoliday(row))
+                .holidayCategory(categoryLabel(row))
+                .description(descriptions[row])
+                .note(notes[row])
+                .build();
+    }
+
+    /**
+     * 將所有資料還原為 {@link Holiday} 列表 (依日期排序)。
+     *
+     * @return Holiday 列表
+     */
+    public List<Holiday> toHolidays() {
+        List<Holiday> holidays = new ArrayList<>(size());
+        for (int row = 0; row < size(); row++) {
+            holidays.add(toHoliday(row));
+        }
+        return holidays;
+    }
+
+    /**
+     * 將指定列以 JSON 物件寫出，欄位與順序與 {@link Holiday} 的序列化結果相同，不需建立 Holiday 物件。
+     *
+     * @param generator JSON 串流產生器
+     * @param row       列號
+     * @throws IOException 當寫出失敗時
+     */
+    public void writeRow(JsonGenerator generator, int row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("date", dateString(row));
+        generator.writeStringField("year", yearLabel);
+        generator.writeStringField("name", names[row]);
+        generator.writeStringField("holidayCategory", categoryLabel(row));
+        generator.writeStringField("description", descriptions[row]);
+        generator.writeStringField("note", notes[row]);
+        generator.writeBooleanField("holiday", isHoliday(row));
+        generator.writeEndObject();
+    }
+
+    /**
+     * 將 yyyyMMdd 日期字串轉換為整數。
+     *
+     * @param dateStr 日期字串
+     * @return 日期整數，格式錯誤或日期不存在時回傳 -1
+     */
+    private static int parseDate(String dateStr) {
+        if (dateStr == null || dateStr.length() != 8) {
+            return -1;
+        }
+        try {
+            int date = Integer.parseInt(dateStr);
+            LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+            return date;
+        } catch (NumberFormatException | DateTimeException e) {
+            return -1;
+        }
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+}
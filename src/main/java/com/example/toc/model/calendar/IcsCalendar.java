@@ -0,0 +1,217 @@
+package com.example.toc.model.calendar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.example.toc.model.HolidayCategory;
+
+/**
+ * iCalendar (RFC 5545) 格式的年度日曆。
+ *
+ * <p>
+ * 每個年度產生一份完整的 {@code VCALENDAR}，各筆資料為全天的 {@code VEVENT}：
+ * 名稱 (或類別文字) 與備註作為標題、說明作為描述；補行上班日以 {@code TRANSP:OPAQUE} 與忙碌狀態標示為上班日，
+ * 其餘事件標示為空閒。一般週末沒有名稱時不產生事件，避免訂閱的行事曆被每個週末填滿。
+ * </p>
+ *
+ * <p>
+ * 所有年度的檔頭與檔尾相同，因此多年度日曆只需寫出一次檔頭，再依序寫出各年度內容中的事件區段
+ * ({@link #writeEvents(byte[], OutputStream)})，不需重新產生。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class IcsCalendar {
+
+    /** 內容類型 */
+    public static final String CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
+    /** 單行最大長度 (octets，不含 CRLF) */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private static final byte[] HEADER = lines(
+            "BEGIN:VCALENDAR",
+            "VERSION:2.0",
+            "PRODID:-//Taiwan Office Calendar//Office Calendar//ZH-TW",
+            "CALSCALE:GREGORIAN",
+            "METHOD:PUBLISH",
+            "X-WR-CALNAME:台灣行政機關辦公日曆",
+            "X-WR-TIMEZONE:Asia/Taipei",
+            "REFRESH-INTERVAL;VALUE=DURATION:P1D",
+            "X-PUBLISHED-TTL:P1D");
+
+    private static final byte[] FOOTER = lines("END:VCALENDAR");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    /** 補行上班日事件額外標示的類別 */
+    private static final String WORKDAY_CATEGORY = "上班日";
+
+    private IcsCalendar() {
+    }
+
+    /**
+     * 產生單一年度的完整日曆。
+     *
+     * @param table        年度資料
+     * @param lastModified 資料最後修改時間 (epoch 毫秒)，作為各事件的 {@code DTSTAMP}
+     * @return 日曆內容 (UTF-8，CRLF 換行)
+     */
+    public static byte[] of(HolidayTable table, long lastModified) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER.length + FOOTER.length + table.size() * 320);
+        out.writeBytes(HEADER);
+        String timestamp = TIMESTAMP.format(Instant.ofEpochMilli(lastModified));
+        for (int row = 0; row < table.size(); row++) {
+            writeEvent(out, table, row, timestamp);
+        }
+        out.writeBytes(FOOTER);
+        return out.toByteArray();
+    }
+
+    /**
+     * 寫出日曆檔頭 ({@code BEGIN:VCALENDAR} 與日曆屬性)。
+     *
+     * @param out 輸出串流
+     * @throws IOException 當寫出失敗時
+     */
+    public static void writeHeader(OutputStream out) throws IOException {
+        out.write(HEADER);
+    }
+
+    /**
+     * 寫出 {@link #of(HolidayTable, long)} 產生的日曆中的事件區段 (不含檔頭與檔尾)。
+     *
+     * @param calendar 單一年度的完整日曆
+     * @param out      輸出串流
+     * @throws IOException 當寫出失敗時
+     */
+    public static void writeEvents(byte[] calendar, OutputStream out) throws IOException {
+        out.write(calendar, HEADER.length, eventsLength(calendar));
+    }
+
+    /**
+     * 寫出日曆檔尾 ({@code END:VCALENDAR})。
+     *
+     * @param out 輸出串流
+     * @throws IOException 當寫出失敗時
+     */
+    public static void writeFooter(OutputStream out) throws IOException {
+        out.write(FOOTER);
+    }
+
+    /**
+     * 計算多年度日曆的總長度。
+     *
+     * @param calendars 各年度的完整日曆
+     * @return 總長度 (bytes)
+     */
+    public static long combinedLength(Iterable<byte[]> calendars) {
+        long length = HEADER.length + FOOTER.length;
+        for (byte[] calendar : calendars) {
+            length += eventsLength(calendar);
+        }
+        return length;
+    }
+
+    private static int eventsLength(byte[] calendar) {
+        return calendar.length - HEADER.length - FOOTER.length;
+    }
+
+    private static void writeEvent(ByteArrayOutputStream out, HolidayTable table, int row, String timestamp) {
+        HolidayCategory category = table.category(row);
+        String name = table.name(row);
+        boolean named = name != null && !name.isBlank();
+        if (!named && (category == null || category == HolidayCategory.WEEKEND
+                || category == HolidayCategory.SUNDAY)) {
+            return;
+        }
+        boolean makeupWorkday = category == HolidayCategory.MAKEUP_WORKDAY;
+        String label = table.categoryLabel(row);
+        String summary = named ? name : label;
+        String note = table.note(row);
+        if (note != null && !note.isBlank() && !summary.contains(note)) {
+            summary = summary + " (" + note + ")";
+        }
+        int date = table.date(row);
+        LocalDate day = LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+
+        writeLine(out, "BEGIN:VEVENT");
+        // 同一天可能有多筆資料，以當天的序號區分
+        writeLine(out, "UID:" + date + "-" + (row - table.lowerBound(date)) + "@taiwan-office-calendar");
+        writeLine(out, "DTSTAMP:" + timestamp);
+        writeLine(out, "DTSTART;VALUE=DATE:" + date);
+        writeLine(out, "DTEND;VALUE=DATE:" + day.plusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE));
+        writeLine(out, "SUMMARY:" + escape(summary));
+        String description = table.description(row);
+        if (description != null && !description.isBlank()) {
+            writeLine(out, "DESCRIPTION:" + escape(description));
+        }
+        if (label != null) {
+            writeLine(out, "CATEGORIES:" + escape(label) + (makeupWorkday ? "," + WORKDAY_CATEGORY : ""));
+        }
+        // 補行上班日標示為忙碌 (上班日)，其餘僅為提示，不佔用行程
+        writeLine(out, "TRANSP:" + (makeupWorkday ? "OPAQUE" : "TRANSPARENT"));
+        writeLine(out, "X-MICROSOFT-CDO-BUSYSTATUS:" + (makeupWorkday ? "BUSY" : "FREE"));
+        writeLine(out, "END:VEVENT");
+    }
+
+    /**
+     * 跳脫 TEXT 值中的特殊字元 (RFC 5545 3.3.11)。
+     */
+    static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> {
+                    // 以 \n 表示換行即可
+                }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 寫出一行內容，超過 75 octets 時折行 (RFC 5545 3.1)，不會切斷 UTF-8 多位元組字元。
+     */
+    static void writeLine(ByteArrayOutputStream out, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.writeBytes(CRLF);
+            out.write(' ');
+            start = end;
+            // 折行後的行首空白也計入長度
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.writeBytes(CRLF);
+    }
+
+    private static byte[] lines(String... lines) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String line : lines) {
+            writeLine(out, line);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.toc.model.calendar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 多年度 iCalendar 日曆。
+ *
+ * <p>
+ * 僅保存各年度預先產生的日曆內容的參照，寫出時以同一份檔頭串接各年度的事件區段，不會複製或重新產生內容。
+ * </p>
+ *
+ * @param calendars    各年度的完整日曆 ({@link IcsCalendar#of(HolidayTable, long)})，依年份排序
+ * @param etag         強式 ETag (含雙引號)，由各年度內容的 ETag 組成
+ * @param lastModified 各年度中最晚的修改時間 (epoch 毫秒)，沒有任何年度時為 0
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record IcsFeed(List<byte[]> calendars, String etag, long lastModified) {
+
+    /**
+     * 計算寫出內容的總長度。
+     *
+     * @return 總長度 (bytes)
+     */
+    public long contentLength() {
+        return IcsCalendar.combinedLength(calendars);
+    }
+
+    /**
+     * 寫出合併後的日曆。
+     *
+     * @param out 輸出串流
+     * @throws IOException 當寫出失敗時
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        IcsCalendar.writeHeader(out);
+        for (byte[] calendar : calendars) {
+            IcsCalendar.writeEvents(calendar, out);
+        }
+        IcsCalendar.writeFooter(out);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.toc.model.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+import com.example.toc.model.Holiday;
+import com.example.toc.model.HolidayCategory;
+
+/**
+ * 單一年度的上班日位元索引。
+ *
+ * <p>
+ * 以 dayOfYear (0 起算) 為位元位置，使用兩組 {@code long[]} 位元集合記錄：
+ * <ul>
+ * <li>非上班日：放假日，以及未被列為補行上班日的週末</li>
+ * <li>補行上班日：類別為「補行上班日」的日期</li>
+ * </ul>
+ * 每組 366 位元僅佔 6 個 long，查詢皆為 O(1)。
+ * </p>
+ *
+ * <p>
+ * 另以每個 long 為單位預先計算上班日數的前綴和，搭配 {@link Long#bitCount(long)}，
+ * 可在 O(1) 內算出任意日期之前的上班日數，並以二分搜尋找出第 N 個上班日。
+ * </p>
+ *
+ * <p>
+ * 週末預設視為非上班日，週末是否補班以「補行上班日」類別為準。
+ * 資料未涵蓋至該年度 12 月的年份 (例如前一年度資料附帶的元旦，整年行事曆尚未公告) 視為不完整：
+ * 未列出的平日無法確定是否放假，查詢端應以 {@link #isComplete()} 判斷是否能給出確定的答案。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class YearCalendar {
+
+    /** 366 位元所需的 long 數量 */
+    private static final int WORDS = (366 + Long.SIZE - 1) / Long.SIZE;
+
+    /** 完整年度資料最晚的日期須落在的月份 */
+    private static final int LAST_MONTH = 12;
+
+    /** 西元年份 */
+    private final int year;
+
+    /** 資料是否涵蓋整個年度 */
+    private final boolean complete;
+
+    /** 該年度天數 (365 或 366) */
+    private final int length;
+
+    /** 非上班日位元集合 */
+    private final long[] offDays;
+
+    /** 補行上班日位元集合 */
+    private final long[] makeupWorkdays;
+
+    /** 上班日位元集合 (非上班日的補集，僅含該年度範圍內的位元) */
+    private final long[] workdays;
+
+    /** 上班日前綴和，workdayPrefix[w] 為第 0 ~ w-1 個 long 內的上班日數 */
+    private final int[] workdayPrefix;
+
+    private YearCalendar(int year, boolean complete, long[] offDays, long[] makeupWorkdays) {
+        this.year = year;
+        this.complete = complete;
+        this.length = Year.of(year).length();
+        this.offDays = offDays;
+        this.makeupWorkdays = makeupWorkdays;
+        this.workdays = new long[WORDS];
+        this.workdayPrefix = new int[WORDS + 1];
+        for (int w = 0; w < WORDS; w++) {
+            int validBits = Math.min(Long.SIZE, Math.max(0, length - w * Long.SIZE));
+            long validMask = validBits == Long.SIZE ? -1L : (1L << validBits) - 1;
+            workdays[w] = ~offDays[w] & validMask;
+            workdayPrefix[w + 1] = workdayPrefix[w] + Long.bitCount(workdays[w]);
+        }
+    }
+
+    /**
+     * 依年度假日資料建立位元索引。
+     *
+     * @param year     西元年份
+     * @param holidays 該年度的假日資料
+     * @return 位元索引
+     */
+    public static YearCalendar of(int year, List<Holiday> holidays) {
+        return of(HolidayTable.of(year, holidays));
+    }
+
+    /**
+     * 依年度精簡存放結構建立位元索引。
+     *
+     * @param table 該年度的假日資料
+     * @return 位元索引
+     */
+    public static YearCalendar of(HolidayTable table) {
+        int year = table.getYear();
+        long[] offDays = new long[WORDS];
+        long[] makeupWorkdays = new long[WORDS];
+
+        // 先將所有週末標記為非上班日
+        LocalDate day = LocalDate.of(year, 1, 1);
+        for (int i = 0, len = Year.of(year).length(); i < len; i++, day = day.plusDays(1)) {
+            DayOfWeek dow = day.getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+                set(offDays, i);
+            }
+        }
+
+        for (int row = 0; row < table.size(); row++) {
+            int index = table.dayOfYear(row);
+            if (table.category(row) == HolidayCategory.MAKEUP_WORKDAY) {
+                set(makeupWorkdays, index);
+                clear(offDays, index);
+            } else if (table.isHoliday(row)) {
+                set(offDays, index);
+            }
+        }
+        // 列依日期排序，最後一列即為資料涵蓋的最晚日期
+        boolean complete = table.size() > 0 && table.date(table.size() - 1) / 100 % 100 == LAST_MONTH;
+        return new YearCalendar(year, complete, offDays, makeupWorkdays);
+    }
+
+    /**
+     * 取得西元年份。
+     *
+     * @return 西元年份
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * 判斷資料是否涵蓋整個年度。
+     *
+     * <p>
+     * 不完整的年度仍可判斷已列出的日期與週末，但未列出的平日是否放假無法確定。
+     * </p>
+     *
+     * @return true 若資料涵蓋至該年度 12 月
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 取得該年度天數。
+     *
+     * @return 365 或 366
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 判斷指定日期是否為上班日。
+     *
+     * @param dayOfYear 該年度第幾天 (0 起算)
+     * @return true 若為上班日
+     */
+    public boolean isWorkday(int dayOfYear) {
+        return !isOffDay(dayOfYear);
+    }
+
+    /**
+     * 判斷指定日期是否為非上班日 (放假日或週末)。
+     *
+     * @param dayOfYear 該年度第幾天 (0 起算)
+     * @return true 若為非上班日
+     */
+    public boolean isOffDay(int dayOfYear) {
+        return get(offDays, checkIndex(dayOfYear));
+    }
+
+    /**
+     * 判斷指定日期是否為補行上班日。
+     *
+     * @param dayOfYear 該年度第幾天 (0 起算)
+     * @return true 若為補行上班日
+     */
+    public boolean isMakeupWorkday(int dayOfYear) {
+        return get(makeupWorkdays, checkIndex(dayOfYear));
+    }
+
+    /**
+     * 取得該年度的上班日總數。
+     *
+     * @return 上班日總數
+     */
+    public int workdayCount() {
+        return workdayPrefix[WORDS];
+    }
+
+    /**
+     * 計算指定日期之前 (不含當日) 的上班日數。
+     *
+     * @param dayOfYear 該年度第幾天 (0 起算)，允許傳入 {@link #length()} 表示整年
+     * @return 上班日數
+     */
+    public int workdaysBefore(int dayOfYear) {
+        if (dayOfYear == length) {
+            return workdayCount();
+        }
+        checkIndex(dayOfYear);
+        int word = dayOfYear >>> 6;
+        long lowerBits = (1L << dayOfYear) - 1;
+        return workdayPrefix[word] + Long.bitCount(workdays[word] & lowerBits);
+    }
+
+    /**
+     * 取得該年度第 N 個上班日 (0 起算)。
+     *
+     * @param n 第幾個上班日 (0 起算)
+     * @return 該上班日的 dayOfYear (0 起算)
+     * @throws IndexOutOfBoundsException 當 n 超出該年度上班日總數時
+     */
+    public int nthWorkday(int n) {
+        if (n < 0 || n >= workdayCount()) {
+            throw new IndexOutOfBoundsException("第 " + n + " 個上班日超出 " + year + " 年度範圍");
+        }
+        // 二分搜尋第一個前綴和大於 n 的位置
+        int low = 0;
+        int high = WORDS - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (workdayPrefix[mid + 1] > n) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        long bits = workdays[low];
+        for (int remaining = n - workdayPrefix[low]; remaining > 0; remaining--) {
+            bits &= bits - 1;
+        }
+        return low * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    private int checkIndex(int dayOfYear) {
+        if (dayOfYear < 0 || dayOfYear >= length) {
+            throw new IndexOutOfBoundsException("dayOfYear 超出 " + year + " 年度範圍: " + dayOfYear);
+        }
+        return dayOfYear;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
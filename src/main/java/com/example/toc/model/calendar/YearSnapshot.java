@@ -0,0 +1,44 @@
+package com.example.toc.model.calendar;
+
+import com.example.toc.model.PrecomputedRepresentation;
+
+/**
+ * 單一年度的不可變資料快照。
+ *
+ * <p>
+ * 將同一份 {@code {year}.json} 衍生出的精簡資料、索引、每月統計與回應內容 (JSON 與 iCalendar) 綁在一起，
+ * 重新載入時整份替換，讀取端不會看到新舊資料混雜或只載入一半的年度。
+ * </p>
+ *
+ * @param year           西元年份
+ * @param table          假日資料精簡存放結構 (含日期索引)
+ * @param calendar       上班日位元索引
+ * @param representation 預先產生的 JSON 回應內容
+ * @param ics            預先產生的 iCalendar 回應內容 ({@link IcsCalendar})
+ * @param stats          每月統計
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record YearSnapshot(int year, HolidayTable table, YearCalendar calendar,
+        PrecomputedRepresentation representation, PrecomputedRepresentation ics, YearStats stats) {
+
+    /** 精簡資料每筆的估計大小 (欄位陣列與名稱、說明字串) */
+    private static final int ESTIMATED_ROW_BYTES = 128;
+
+    /**
+     * 估計快照佔用的記憶體大小，作為快取的權重。
+     *
+     * <p>
+     * 以預先產生的回應內容 (未壓縮與 gzip) 為主，精簡資料與索引以筆數估計。
+     * </p>
+     *
+     * @return 估計大小 (bytes)
+     */
+    public int estimatedBytes() {
+        long bytes = (long) representation.identity().length + representation.gzip().length
+                + ics.identity().length + ics.gzip().length
+                + (long) table.size() * ESTIMATED_ROW_BYTES;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
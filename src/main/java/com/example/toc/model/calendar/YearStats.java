@@ -0,0 +1,180 @@
+package com.example.toc.model.calendar;
+
+import java.io.IOException;
+import java.time.YearMonth;
+
+import com.example.toc.model.HolidayCategory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 單一年度的每月統計。
+ *
+ * <p>
+ * 於建立年度快照時由 {@link YearCalendar} 與 {@link HolidayTable} 的類別索引計算一次，
+ * 各項統計以長度 12 的 {@code int[]} 存放 (索引 0 為 1 月)，查詢時只需讀取陣列，不需掃描整年資料。
+ * 資料不完整的年度 ({@link YearCalendar#isComplete()}) 仍會計算，但輸出時以 {@code complete: false} 標示，
+ * 其上班日數僅為推估。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class YearStats {
+
+    /** 一年的月數 */
+    private static final int MONTHS = 12;
+
+    /** 西元年份 */
+    private final int year;
+
+    /** 資料是否涵蓋整個年度 */
+    private final boolean complete;
+
+    /** 各月天數 */
+    private final int[] days = new int[MONTHS];
+
+    /** 各月上班日數 (含補行上班日) */
+    private final int[] workdays = new int[MONTHS];
+
+    /** 各月補假日數 */
+    private final int[] compensatoryDaysOff = new int[MONTHS];
+
+    /** 各月補行上班日數 */
+    private final int[] makeupWorkdays = new int[MONTHS];
+
+    private YearStats(int year, boolean complete) {
+        this.year = year;
+        this.complete = complete;
+    }
+
+    /**
+     * 依年度資料與上班日索引計算每月統計。
+     *
+     * @param table    該年度的假日資料
+     * @param calendar 該年度的上班日索引
+     * @return 每月統計
+     */
+    public static YearStats of(HolidayTable table, YearCalendar calendar) {
+        YearStats stats = new YearStats(calendar.getYear(), calendar.isComplete());
+        int firstDay = 0;
+        for (int month = 0; month < MONTHS; month++) {
+            int length = YearMonth.of(stats.year, month + 1).lengthOfMonth();
+            stats.days[month] = length;
+            // 上班日前綴和相減即為該月上班日數
+            stats.workdays[month] = calendar.workdaysBefore(firstDay + length) - calendar.workdaysBefore(firstDay);
+            firstDay += length;
+        }
+        countByMonth(table, HolidayCategory.COMPENSATORY_DAY_OFF, stats.compensatoryDaysOff);
+        countByMonth(table, HolidayCategory.MAKEUP_WORKDAY, stats.makeupWorkdays);
+        return stats;
+    }
+
+    private static void countByMonth(HolidayTable table, HolidayCategory category, int[] counts) {
+        for (int i = 0, size = table.categorySize(category); i < size; i++) {
+            int date = table.date(table.categoryRow(category, i));
+            counts[date / 100 % 100 - 1]++;
+        }
+    }
+
+    /**
+     * 取得西元年份。
+     *
+     * @return 西元年份
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * 判斷統計所依據的資料是否涵蓋整個年度。
+     *
+     * @return true 若資料完整
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 取得指定月份的上班日數 (含補行上班日)。
+     *
+     * @param month 月份 (1 ~ 12)
+     * @return 上班日數
+     */
+    public int workdays(int month) {
+        return workdays[month - 1];
+    }
+
+    /**
+     * 取得指定月份的放假日數 (非上班日，含週末)。
+     *
+     * @param month 月份 (1 ~ 12)
+     * @return 放假日數
+     */
+    public int holidays(int month) {
+        return days[month - 1] - workdays[month - 1];
+    }
+
+    /**
+     * 取得指定月份的補假日數。
+     *
+     * @param month 月份 (1 ~ 12)
+     * @return 補假日數
+     */
+    public int compensatoryDaysOff(int month) {
+        return compensatoryDaysOff[month - 1];
+    }
+
+    /**
+     * 取得指定月份的補行上班日數。
+     *
+     * @param month 月份 (1 ~ 12)
+     * @return 補行上班日數
+     */
+    public int makeupWorkdays(int month) {
+        return makeupWorkdays[month - 1];
+    }
+
+    /**
+     * 以串流產生器寫出年度與各月統計。
+     *
+     * <p>
+     * 格式為 {@code {"year":2025,"complete":true,"days":365,"workdays":...,"holidays":...,
+     * "compensatoryDaysOff":...,"makeupWorkdays":...,"months":[{"month":1,"days":31,...}, ...]}}。
+     * </p>
+     *
+     * @param generator JSON 串流產生器
+     * @throws IOException 當寫出失敗時
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("year", year);
+        generator.writeBooleanField("complete", complete);
+        writeCounts(generator, sum(days), sum(workdays), sum(compensatoryDaysOff), sum(makeupWorkdays));
+        generator.writeArrayFieldStart("months");
+        for (int month = 0; month < MONTHS; month++) {
+            generator.writeStartObject();
+            generator.writeNumberField("month", month + 1);
+            writeCounts(generator, days[month], workdays[month], compensatoryDaysOff[month], makeupWorkdays[month]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeCounts(JsonGenerator generator, int days, int workdays, int compensatoryDaysOff,
+            int makeupWorkdays) throws IOException {
+        generator.writeNumberField("days", days);
+        generator.writeNumberField("workdays", workdays);
+        generator.writeNumberField("holidays", days - workdays);
+        generator.writeNumberField("compensatoryDaysOff", compensatoryDaysOff);
+        generator.writeNumberField("makeupWorkdays", makeupWorkdays);
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
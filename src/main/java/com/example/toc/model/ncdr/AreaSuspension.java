@@ -0,0 +1,103 @@
+package com.example.toc.model.ncdr;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * 單一地區 (縣市全區或特定鄉鎮市區) 的停班停課狀態。
+ *
+ * <p>
+ * 通知中的「今天 / 明天」於解析時依通知發布時間換算為絕對日期 ({@code days})，
+ * {@link #today()} 與 {@link #tomorrow()} 於查詢 (序列化) 時才依目前日期對應，
+ * 因此前一晚發布的「明天停止上班」在隔天仍會正確顯示為今天停班。
+ * </p>
+ *
+ * @param city     縣市 (正規化後，例如「臺北市」)
+ * @param district 鄉鎮市區，縣市全區時為 null
+ * @param days     日期 → 停班停課狀態 (依日期排序，只含有停止項目的日期)
+ * @param notices  原始通知內容
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@JsonPropertyOrder({ "city", "district", "today", "tomorrow", "days", "notices" })
+public record AreaSuspension(String city, String district, Map<LocalDate, Suspension> days,
+        List<String> notices) {
+
+    public AreaSuspension {
+        days = Collections.unmodifiableSortedMap(new TreeMap<>(days));
+        notices = List.copyOf(notices);
+    }
+
+    /**
+     * 建立沒有任何通知的地區狀態 (照常上班上課)。
+     *
+     * @param city     縣市
+     * @param district 鄉鎮市區，縣市全區時為 null
+     * @return 地區狀態
+     */
+    public static AreaSuspension none(String city, String district) {
+        return new AreaSuspension(city, district, Map.of(), List.of());
+    }
+
+    /**
+     * 取得指定日期的停班停課狀態。
+     *
+     * @param date 日期
+     * @return 停班停課狀態，沒有通知時為照常上班上課
+     */
+    public Suspension on(LocalDate date) {
+        return days.getOrDefault(date, Suspension.NONE);
+    }
+
+    /**
+     * 取得今天 (Asia/Taipei) 的停班停課狀態。
+     *
+     * @return 停班停課狀態
+     */
+    @JsonProperty("today")
+    public Suspension today() {
+        return on(LocalDate.now(NcdrSuspensionIndex.ZONE));
+    }
+
+    /**
+     * 取得明天 (Asia/Taipei) 的停班停課狀態。
+     *
+     * @return 停班停課狀態
+     */
+    @JsonProperty("tomorrow")
+    public Suspension tomorrow() {
+        return on(LocalDate.now(NcdrSuspensionIndex.ZONE).plusDays(1));
+    }
+
+    /**
+     * 合併同一地區的多筆通知 (同一天任一通知停止即視為停止)。
+     *
+     * @param other 同一地區的另一筆狀態
+     * @return 合併後的狀態
+     */
+    public AreaSuspension merge(AreaSuspension other) {
+        Map<LocalDate, Suspension> mergedDays = new TreeMap<>(days);
+        other.days.forEach((date, suspension) -> mergedDays.merge(date, suspension, Suspension::or));
+        List<String> merged = new ArrayList<>(notices);
+        merged.addAll(other.notices);
+        return new AreaSuspension(city, district, mergedDays, merged);
+    }
+
+    /**
+     * 以另一個地區名稱表示相同的狀態 (例如以縣市全區狀態回應鄉鎮市區查詢)。
+     *
+     * @param district 鄉鎮市區
+     * @return 地區狀態
+     */
+    public AreaSuspension withDistrict(String district) {
+        return new AreaSuspension(city, district, days, notices);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.toc.model.ncdr;
+
+import java.util.Map;
+
+/**
+ * 單一縣市的停班停課狀態。
+ *
+ * @param city      縣市 (正規化後，例如「臺北市」)
+ * @param cityWide  縣市全區的狀態 (沒有全區通知時為照常上班上課)
+ * @param districts 個別發布的鄉鎮市區狀態 (鄉鎮市區 → 狀態)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record CitySuspension(String city, AreaSuspension cityWide, Map<String, AreaSuspension> districts) {
+
+    public CitySuspension {
+        districts = Map.copyOf(districts);
+    }
+
+    /**
+     * 查詢鄉鎮市區的停班停課狀態。
+     *
+     * <p>
+     * 有個別發布時為該區與全區狀態的合併，否則沿用縣市全區的狀態。
+     * 名稱可省略「區 / 鄉 / 鎮 / 市」字尾，並接受「台 / 臺」異體字。
+     * </p>
+     *
+     * @param name 鄉鎮市區名稱
+     * @return 地區狀態
+     */
+    public AreaSuspension district(String name) {
+        String normalized = NcdrSuspensionIndex.normalize(name);
+        AreaSuspension district = districts.get(normalized);
+        if (district == null) {
+            for (String suffix : NcdrSuspensionIndex.DISTRICT_SUFFIXES) {
+                district = districts.get(normalized + suffix);
+                if (district != null) {
+                    break;
+                }
+            }
+        }
+        if (district == null) {
+            return cityWide.withDistrict(normalized);
+        }
+        return cityWide.notices().isEmpty() ? district : cityWide.withDistrict(district.district()).merge(district);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.toc.model.ncdr;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * NCDR 即時停班停課資料快照。
+ *
+ * <p>
+ * 由背景輪詢更新，讀取端直接取用最後一次成功取得的內容；更新失敗時保留原內容並標記為過期
+ * (stale-while-revalidate)，不會因上游異常而清空。
+ * </p>
+ *
+ * @param entries   最後一次成功取得的警報項目 (未篩選)
+ * @param index     由警報項目解析出的縣市 / 鄉鎮市區停班停課索引
+ * @param fetchedAt 最後一次成功取得的時間，尚未成功取得時為 null
+ * @param stale     最近一次更新是否失敗 (內容為先前成功取得的資料)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record NcdrSnapshot(List<NcdrEntry> entries, NcdrSuspensionIndex index, Instant fetchedAt,
+        boolean stale) {
+
+    /** 狀態：最近一次更新成功 */
+    public static final String STATUS_FRESH = "fresh";
+
+    /** 狀態：最近一次更新失敗，內容為先前成功取得的資料 */
+    public static final String STATUS_STALE = "stale";
+
+    /** 狀態：尚未成功取得任何資料 */
+    public static final String STATUS_UNAVAILABLE = "unavailable";
+
+    public NcdrSnapshot {
+        entries = entries == null ? List.of() : List.copyOf(entries);
+        index = index == null ? NcdrSuspensionIndex.EMPTY : index;
+    }
+
+    /**
+     * 以成功取得的警報項目建立快照，並解析停班停課索引。
+     *
+     * @param entries   警報項目
+     * @param fetchedAt 取得時間
+     * @return 快照
+     */
+    public static NcdrSnapshot of(List<NcdrEntry> entries, Instant fetchedAt) {
+        return new NcdrSnapshot(entries, NcdrSuspensionIndex.of(entries, fetchedAt), fetchedAt, false);
+    }
+
+    /**
+     * 建立尚未取得資料的空快照。
+     *
+     * @return 空快照
+     */
+    public static NcdrSnapshot empty() {
+        return new NcdrSnapshot(List.of(), NcdrSuspensionIndex.EMPTY, null, false);
+    }
+
+    /**
+     * 是否曾成功取得資料。
+     *
+     * @return 曾成功取得時為 true
+     */
+    public boolean isAvailable() {
+        return fetchedAt != null;
+    }
+
+    /**
+     * 標記為過期 (保留原內容)。
+     *
+     * @return 過期的快照
+     */
+    public NcdrSnapshot markStale() {
+        return stale ? this : new NcdrSnapshot(entries, index, fetchedAt, true);
+    }
+
+    /**
+     * 計算快照的資料年齡。
+     *
+     * @param now 目前時間
+     * @return 距最後一次成功取得的時間，尚未取得時為 null
+     */
+    public Duration age(Instant now) {
+        return fetchedAt == null ? null : Duration.between(fetchedAt, now);
+    }
+
+    /**
+     * 取得快照狀態 (fresh / stale / unavailable)。
+     *
+     * @return 狀態
+     */
+    public String status() {
+        if (!isAvailable()) {
+            return STATUS_UNAVAILABLE;
+        }
+        return stale ? STATUS_STALE : STATUS_FRESH;
+    }
+}
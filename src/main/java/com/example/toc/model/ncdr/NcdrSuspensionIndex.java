@@ -0,0 +1,327 @@
+package com.example.toc.model.ncdr;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 依縣市與鄉鎮市區分類的停班停課索引。
+ *
+ * <p>
+ * 每次更新 NCDR 資料時將各通知的摘要解析一次，例如
+ * {@code [停班停課通知]新北市瑞芳區:今天停止上班、停止上課。明天照常上班、照常上課。}
+ * 解析為「新北市 → 瑞芳區 → 今天停班停課、明天照常」，之後每次查詢只需查表。
+ * 縣市名稱統一為「臺」字 (例如「台北市」視為「臺北市」)。
+ * 「今天 / 明天」依通知的發布時間 ({@link NcdrEntry#getUpdated()}，Asia/Taipei) 換算為絕對日期，
+ * 查詢時才對應為今天或明天，前一晚發布的通知在隔天仍會正確對應。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class NcdrSuspensionIndex {
+
+    /** 停班停課通知的日期所在時區 */
+    public static final ZoneId ZONE = ZoneId.of("Asia/Taipei");
+
+    /** 全國 22 個縣市 (正規化後) */
+    public static final List<String> CITIES = List.of(
+            "臺北市", "新北市", "桃園市", "臺中市", "臺南市", "高雄市",
+            "基隆市", "新竹市", "嘉義市",
+            "新竹縣", "苗栗縣", "彰化縣", "南投縣", "雲林縣", "嘉義縣", "屏東縣",
+            "宜蘭縣", "花蓮縣", "臺東縣", "澎湖縣", "金門縣", "連江縣");
+
+    /** 鄉鎮市區名稱字尾 (查詢時可省略) */
+    static final List<String> DISTRICT_SUFFIXES = List.of("區", "鄉", "鎮", "市");
+
+    /** 空索引 (尚未取得資料) */
+    public static final NcdrSuspensionIndex EMPTY = new NcdrSuspensionIndex(Map.of(), Map.of());
+
+    /** 摘要格式：「[類別]地區:內容」，冒號可為全形 */
+    private static final Pattern NOTICE = Pattern.compile("^\\s*(?:\\[[^\\]]*\\])?\\s*([^:：]+?)\\s*[:：](.*)$",
+            Pattern.DOTALL);
+
+    /** 不在已知清單中的縣市名稱 */
+    private static final Pattern UNKNOWN_CITY = Pattern.compile("^(.+?[縣市])(.*)$");
+
+    /** 停止項目：「停止上班」、「停止上課」，以及「停止上班上課」、「停止上班、上課」等合併寫法 */
+    private static final Pattern STOP = Pattern.compile("停止(上班|上課)(?:、?(上班|上課))?");
+
+    /** 縣市 → 狀態 */
+    private final Map<String, CitySuspension> cities;
+
+    /** 縣市 → 全區通知的原始項目 */
+    private final Map<String, List<NcdrEntry>> cityWideEntries;
+
+    private NcdrSuspensionIndex(Map<String, CitySuspension> cities, Map<String, List<NcdrEntry>> cityWideEntries) {
+        this.cities = cities;
+        this.cityWideEntries = cityWideEntries;
+    }
+
+    /**
+     * 解析 NCDR 項目並建立索引。
+     *
+     * <p>
+     * 無法辨識地區的項目會被略過；同一地區有多筆通知時合併 (任一通知停止即視為停止)。
+     * 沒有發布時間的項目以目前日期換算。
+     * </p>
+     *
+     * @param entries NCDR 項目
+     * @return 停班停課索引
+     */
+    public static NcdrSuspensionIndex of(List<NcdrEntry> entries) {
+        return of(entries, Instant.now());
+    }
+
+    /**
+     * 解析 NCDR 項目並建立索引。
+     *
+     * @param entries   NCDR 項目
+     * @param fetchedAt 取得時間 (項目沒有可辨識的發布時間時，以此時間換算「今天 / 明天」)
+     * @return 停班停課索引
+     * @see #of(List)
+     */
+    public static NcdrSuspensionIndex of(List<NcdrEntry> entries, Instant fetchedAt) {
+        LocalDate fallbackDate = LocalDate.ofInstant(fetchedAt, ZONE);
+        Map<String, AreaSuspension> cityWide = new LinkedHashMap<>();
+        Map<String, Map<String, AreaSuspension>> districts = new LinkedHashMap<>();
+        Map<String, List<NcdrEntry>> cityWideEntries = new LinkedHashMap<>();
+
+        for (NcdrEntry entry : entries) {
+            AreaSuspension area = parse(entry, fallbackDate);
+            if (area == null) {
+                continue;
+            }
+            if (area.district() == null) {
+                cityWide.merge(area.city(), area, AreaSuspension::merge);
+                cityWideEntries.computeIfAbsent(area.city(), city -> new ArrayList<>()).add(entry);
+            } else {
+                districts.computeIfAbsent(area.city(), city -> new LinkedHashMap<>())
+                        .merge(area.district(), area, AreaSuspension::merge);
+            }
+        }
+
+        Map<String, CitySuspension> cities = new LinkedHashMap<>();
+        for (String city : CITIES) {
+            cities.put(city, citySuspension(city, cityWide, districts));
+        }
+        // 已知清單以外的縣市 (例如行政區劃調整) 仍保留
+        cityWide.keySet().forEach(city -> cities.computeIfAbsent(city, key -> citySuspension(key, cityWide, districts)));
+        districts.keySet().forEach(city -> cities.computeIfAbsent(city, key -> citySuspension(key, cityWide, districts)));
+
+        Map<String, List<NcdrEntry>> entriesByCity = new LinkedHashMap<>();
+        cityWideEntries.forEach((city, list) -> entriesByCity.put(city, List.copyOf(list)));
+        return new NcdrSuspensionIndex(Map.copyOf(cities), Map.copyOf(entriesByCity));
+    }
+
+    /**
+     * 查詢縣市的停班停課狀態。
+     *
+     * @param city 縣市名稱 (可為「台」字，或省略「市 / 縣」字尾，例如「台北」)
+     * @return 縣市狀態，無法辨識的縣市時為 empty
+     */
+    public Optional<CitySuspension> city(String city) {
+        String normalized = normalize(city);
+        CitySuspension suspension = cities.get(normalized);
+        if (suspension == null) {
+            suspension = cities.get(normalized + "市");
+        }
+        if (suspension == null) {
+            suspension = cities.get(normalized + "縣");
+        }
+        return Optional.ofNullable(suspension);
+    }
+
+    /**
+     * 取得縣市全區通知的原始 NCDR 項目。
+     *
+     * @param city 縣市名稱 (正規化後)
+     * @return NCDR 項目列表
+     */
+    public List<NcdrEntry> cityWideEntries(String city) {
+        return cityWideEntries.getOrDefault(normalize(city), List.of());
+    }
+
+    /**
+     * 取得所有有發布通知的地區 (縣市全區與個別鄉鎮市區)。
+     *
+     * @return 地區鍵值 (見 {@link #key(AreaSuspension)}) → 地區狀態
+     */
+    public Map<String, AreaSuspension> areas() {
+        Map<String, AreaSuspension> areas = new LinkedHashMap<>();
+        for (CitySuspension city : cities.values()) {
+            if (!city.cityWide().notices().isEmpty()) {
+                areas.put(key(city.cityWide()), city.cityWide());
+            }
+            city.districts().values().forEach(district -> areas.put(key(district), district));
+        }
+        return areas;
+    }
+
+    /**
+     * 比較與前一份索引的差異。
+     *
+     * <p>
+     * 新增或內容變更的地區回傳新狀態；通知已解除的地區回傳照常上班上課的狀態 (不含通知內容)。
+     * </p>
+     *
+     * @param previous 前一份索引
+     * @return 有變更的地區狀態，無變更時為空列表
+     */
+    public List<AreaSuspension> changesSince(NcdrSuspensionIndex previous) {
+        Map<String, AreaSuspension> before = previous.areas();
+        Map<String, AreaSuspension> after = areas();
+        List<AreaSuspension> changes = new ArrayList<>();
+        after.forEach((key, area) -> {
+            if (!area.equals(before.get(key))) {
+                changes.add(area);
+            }
+        });
+        before.forEach((key, area) -> {
+            if (!after.containsKey(key)) {
+                changes.add(AreaSuspension.none(area.city(), area.district()));
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * 地區鍵值：縣市全區為「縣市」，鄉鎮市區為「縣市/鄉鎮市區」。
+     *
+     * @param area 地區狀態
+     * @return 鍵值
+     */
+    public static String key(AreaSuspension area) {
+        return area.district() == null ? area.city() : area.city() + "/" + area.district();
+    }
+
+    /**
+     * 正規化地區名稱：去除空白並將「台」統一為「臺」。
+     *
+     * @param name 地區名稱
+     * @return 正規化後的名稱
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.strip().replace('台', '臺');
+    }
+
+    /**
+     * 解析單一 NCDR 項目的摘要，沒有發布時間時以目前日期換算「今天 / 明天」。
+     *
+     * @param entry NCDR 項目
+     * @return 地區狀態，無法辨識時為 null
+     */
+    static AreaSuspension parse(NcdrEntry entry) {
+        return parse(entry, LocalDate.now(ZONE));
+    }
+
+    /**
+     * 解析單一 NCDR 項目的摘要。
+     *
+     * @param entry        NCDR 項目
+     * @param fallbackDate 項目沒有可辨識的發布時間時視為「今天」的日期
+     * @return 地區狀態，無法辨識時為 null
+     */
+    static AreaSuspension parse(NcdrEntry entry, LocalDate fallbackDate) {
+        if (entry == null || entry.getSummary() == null || entry.getSummary().getText() == null) {
+            return null;
+        }
+        String text = entry.getSummary().getText();
+        Matcher matcher = NOTICE.matcher(text);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String area = normalize(matcher.group(1));
+        String city = null;
+        for (String candidate : CITIES) {
+            if (area.startsWith(candidate)) {
+                city = candidate;
+                break;
+            }
+        }
+        if (city == null) {
+            Matcher unknown = UNKNOWN_CITY.matcher(area);
+            if (!unknown.matches()) {
+                return null;
+            }
+            city = unknown.group(1);
+        }
+        String district = area.substring(city.length()).strip();
+
+        // 依子句判斷日期，並只以「停止」緊接的項目判斷停止項目，
+        // 例如「今天停止上課，照常上班。明天停止上班、停止上課。」或「今天停止上課、照常上班。」
+        LocalDate published = publishedDate(entry, fallbackDate);
+        Map<LocalDate, Suspension> days = new LinkedHashMap<>();
+        boolean isTomorrow = false;
+        for (String clause : matcher.group(2).split("[，,。；;]")) {
+            if (clause.contains("明天") || clause.contains("明日")) {
+                isTomorrow = true;
+            } else if (clause.contains("今天") || clause.contains("今日")) {
+                isTomorrow = false;
+            }
+            Suspension suspension = stopped(clause);
+            if (suspension.equals(Suspension.NONE)) {
+                continue;
+            }
+            days.merge(isTomorrow ? published.plusDays(1) : published, suspension, Suspension::or);
+        }
+        return new AreaSuspension(city, district.isEmpty() ? null : district, days, List.of(text));
+    }
+
+    /**
+     * 取得通知發布當天的日期 (Asia/Taipei)。
+     *
+     * <p>
+     * 發布時間為 ISO-8601 格式 (例如 {@code 2025-07-24T21:30:00+08:00})；未含時差時視為 Asia/Taipei 當地時間。
+     * </p>
+     */
+    private static LocalDate publishedDate(NcdrEntry entry, LocalDate fallbackDate) {
+        String updated = entry.getUpdated();
+        if (updated == null || updated.isBlank()) {
+            return fallbackDate;
+        }
+        try {
+            return OffsetDateTime.parse(updated.strip()).atZoneSameInstant(ZONE).toLocalDate();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(updated.strip()).toLocalDate();
+            } catch (DateTimeParseException ignored) {
+                return fallbackDate;
+            }
+        }
+    }
+
+    /**
+     * 解析子句中停止的項目，「照常上班」等未緊接「停止」的項目不視為停止。
+     */
+    private static Suspension stopped(String clause) {
+        boolean work = false;
+        boolean school = false;
+        Matcher matcher = STOP.matcher(clause);
+        while (matcher.find()) {
+            for (int group = 1; group <= 2; group++) {
+                String item = matcher.group(group);
+                work |= "上班".equals(item);
+                school |= "上課".equals(item);
+            }
+        }
+        return new Suspension(work, school);
+    }
+
+    private static CitySuspension citySuspension(String city, Map<String, AreaSuspension> cityWide,
+            Map<String, Map<String, AreaSuspension>> districts) {
+        return new CitySuspension(city,
+                cityWide.getOrDefault(city, AreaSuspension.none(city, null)),
+                districts.getOrDefault(city, Map.of()));
+    }
+}
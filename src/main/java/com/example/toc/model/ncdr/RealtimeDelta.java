@@ -0,0 +1,26 @@
+package com.example.toc.model.ncdr;
+
+import java.util.List;
+
+/**
+ * 即時停班停課變更推播內容。
+ *
+ * <p>
+ * {@code version} 只增不減，用戶端重新連線時帶回最後收到的版本即可取得之後的所有變更；
+ * 版本過舊 (已不在保留的歷史中) 或無法辨識時改送完整狀態 ({@code reset} 為 true)，
+ * 用戶端應先清除既有狀態再套用。同一地區以最新狀態覆蓋，重複收到相同版本時可直接略過。
+ * </p>
+ *
+ * @param version 版本號
+ * @param reset   是否為完整狀態 (而非增量)
+ * @param changes 變更的地區狀態 (已解除的地區為照常上班上課)
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record RealtimeDelta(long version, boolean reset, List<AreaSuspension> changes) {
+
+    public RealtimeDelta {
+        changes = List.copyOf(changes);
+    }
+}
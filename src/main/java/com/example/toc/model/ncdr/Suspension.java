@@ -0,0 +1,26 @@
+package com.example.toc.model.ncdr;
+
+/**
+ * 單日停班停課狀態。
+ *
+ * @param work   是否停止上班
+ * @param school 是否停止上課
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record Suspension(boolean work, boolean school) {
+
+    /** 照常上班、照常上課 */
+    public static final Suspension NONE = new Suspension(false, false);
+
+    /**
+     * 合併兩個狀態 (任一停止即視為停止)。
+     *
+     * @param other 另一個狀態
+     * @return 合併後的狀態
+     */
+    public Suspension or(Suspension other) {
+        return new Suspension(work || other.work, school || other.school);
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.toc.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 原子化 JSON 檔案寫入器。
+ *
+ * <p>
+ * Jackson 以固定 LF 換行的格式直接串流寫入同目錄下的暫存檔，fsync 後再以 rename 原子替換目標檔案，
+ * 讀取端 (含執行中的伺服器) 只會看到完整的舊檔或新檔，不會讀到寫到一半的內容。
+ * </p>
+ *
+ * <p>
+ * 多個檔案可透過 {@link Batch} 一起寫入：所有檔案先寫入暫存檔，{@link Batch#commit()} 時才依加入順序
+ * 逐一替換。將 years.json 最後加入，即可確保索引不會指向尚未寫入的年度。
+ * 除 JSON 外，也可透過 {@link Content} 寫入任意內容 (例如二進位快照)，享有相同的原子替換保證。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+class AtomicJsonWriter {
+
+    /** 新建檔案的 POSIX 權限 (rw-r--r--)，與一般建立檔案時的預設一致 */
+    private static final Set<PosixFilePermission> NEW_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+
+    /** 縮排輸出：物件以 LF 換行，不受作業系統換行符號影響 */
+    private final ObjectWriter writer;
+
+    AtomicJsonWriter(ObjectMapper objectMapper) {
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter()
+                .withObjectIndenter(new DefaultIndenter("  ", "\n"));
+        this.writer = objectMapper.writer(printer)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * 寫入檔案內容的回呼。
+     */
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * 將內容寫入輸出串流。
+         *
+         * @param out 輸出串流 (不需關閉)
+         * @throws IOException 當寫入失敗時
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 原子寫入單一 JSON 檔案。
+     *
+     * @param target 目標檔案
+     * @param data   要序列化的資料物件
+     * @throws IOException 當檔案寫入失敗時
+     */
+    void write(Path target, Object data) throws IOException {
+        try (Batch batch = begin()) {
+            batch.stage(target, data);
+            batch.commit();
+        }
+    }
+
+    /**
+     * 開始一個批次寫入。
+     *
+     * @return 批次；未 commit 即關閉時會刪除所有暫存檔
+     */
+    Batch begin() {
+        return new Batch();
+    }
+
+    /**
+     * 批次寫入：先全部寫入暫存檔，commit 時再依加入順序原子替換。
+     *
+     * <p>
+     * 可由多個執行緒同時 stage 不同的目標檔案 (暫存檔寫入不持有鎖)，commit 與 close 應由單一執行緒呼叫。
+     * </p>
+     */
+    final class Batch implements Closeable {
+
+        /** 目標檔案 → 暫存檔 (依加入順序) */
+        private final Map<Path, Path> staged = new LinkedHashMap<>();
+
+        /** 工作檔 (不替換任何目標檔案，close 時刪除)，以 staged 同步 */
+        private final List<Path> scratchFiles = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * 將資料寫入目標檔案的暫存檔。
+         *
+         * <p>
+         * 同一目標重複加入時，以最後一次的內容為準，並保留第一次加入的順序。
+         * </p>
+         *
+         * @param target 目標檔案
+         * @param data   要序列化的資料物件
+         * @return 寫入內容的 SHA-256 (十六進位)
+         * @throws IOException 當檔案寫入失敗時
+         */
+        String stage(Path target, Object data) throws IOException {
+            return stage(target, (Content) out -> writeJson(out, data));
+        }
+
+        /**
+         * 將任意內容寫入目標檔案的暫存檔。
+         *
+         * @param target  目標檔案
+         * @param content 檔案內容
+         * @return 寫入內容的 SHA-256 (十六進位)
+         * @throws IOException 當檔案寫入失敗時
+         */
+        String stage(Path target, Content content) throws IOException {
+            Path dir = target.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(dir, "." + target.getFileName() + ".", ".tmp");
+            try {
+                String hash = writeTemp(temp, content);
+                Path previous;
+                synchronized (staged) {
+                    previous = staged.put(target, temp);
+                }
+                if (previous != null) {
+                    Files.deleteIfExists(previous);
+                }
+                return hash;
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+
+        /**
+         * 放棄目標檔案已寫入的暫存內容 (例如內容與現有檔案相同時)。
+         *
+         * @param target 目標檔案
+         * @throws IOException 當暫存檔刪除失敗時
+         */
+        void discard(Path target) throws IOException {
+            Path temp;
+            synchronized (staged) {
+                temp = staged.remove(target);
+            }
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * 在目標檔案所在目錄建立工作檔，供產生目標內容前暫存中間資料。
+         *
+         * <p>
+         * 工作檔不會在 commit 時替換目標檔案，於批次關閉時刪除 (亦可提前自行刪除)。
+         * </p>
+         *
+         * @param target 目標檔案
+         * @return 空的工作檔
+         * @throws IOException 當檔案建立失敗時
+         */
+        Path createScratch(Path target) throws IOException {
+            Path dir = target.toAbsolutePath().getParent();
+            Path scratch = Files.createTempFile(dir, "." + target.getFileName() + ".", ".scratch");
+            synchronized (staged) {
+                scratchFiles.add(scratch);
+            }
+            return scratch;
+        }
+
+        /**
+         * 取得目標檔案目前應讀取的位置。
+         *
+         * @param target 目標檔案
+         * @return 本批次已寫入時為暫存檔，否則為目標檔案本身
+         */
+        Path resolve(Path target) {
+            synchronized (staged) {
+                return staged.getOrDefault(target, target);
+            }
+        }
+
+        /**
+         * 依加入順序將所有暫存檔原子替換為目標檔案。
+         *
+         * @throws IOException 當替換失敗時 (已替換的檔案維持新內容，其餘暫存檔於 close 時刪除)
+         */
+        void commit() throws IOException {
+            synchronized (staged) {
+                var iterator = staged.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Path, Path> entry = iterator.next();
+                    moveIntoPlace(entry.getValue(), entry.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (staged) {
+                for (Path temp : staged.values()) {
+                    Files.deleteIfExists(temp);
+                }
+                staged.clear();
+                for (Path scratch : scratchFiles) {
+                    Files.deleteIfExists(scratch);
+                }
+                scratchFiles.clear();
+            }
+        }
+    }
+
+    /**
+     * 串流寫入暫存檔並 fsync，同時計算內容雜湊。
+     */
+    private static String writeTemp(Path temp, Content content) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest);
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 以縮排格式寫出 JSON。
+     */
+    private void writeJson(OutputStream out, Object data) throws IOException {
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            writer.writeValue(generator, data);
+            // 確保檔案以 LF 結尾
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * 以 rename 原子替換目標檔案，並 fsync 所在目錄使 rename 持久化。
+     */
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        copyPermissions(temp, target);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("檔案系統不支援原子替換，改用一般取代: {}", target);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (FileChannel dir = FileChannel.open(target.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // 部分平台 (如 Windows) 無法對目錄 fsync，rename 本身仍為原子操作
+            log.debug("無法 fsync 目錄: {}", target.getParent(), e);
+        }
+    }
+
+    /**
+     * 將目標檔案現有的 POSIX 權限套用至暫存檔 (目標不存在時為 rw-r--r--)。
+     *
+     * <p>
+     * {@link Files#createTempFile} 建立的暫存檔權限為 rw-------，rename 後會沿用暫存檔的權限，
+     * 不處理時替換後的檔案將無法由 Web 伺服器等其他使用者讀取。不支援 POSIX 權限的檔案系統 (如 Windows) 不需處理。
+     * </p>
+     */
+    private static void copyPermissions(Path temp, Path target) throws IOException {
+        if (!temp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        Set<PosixFilePermission> permissions = Files.exists(target)
+                ? Files.getPosixFilePermissions(target)
+                : NEW_FILE_PERMISSIONS;
+        Files.setPosixFilePermissions(temp, permissions);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支援 SHA-256", e);
+        }
+    }
+}
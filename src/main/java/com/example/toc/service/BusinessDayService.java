@@ -0,0 +1,237 @@
+package com.example.toc.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.IncompleteDataException;
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.WorkdayAddResult;
+import com.example.toc.model.WorkdayCountResult;
+import com.example.toc.model.calendar.YearCalendar;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 上班日推算服務。
+ *
+ * <p>
+ * 以 {@link YearCalendar} 的上班日前綴和計算「區間內上班日數」與「N 個上班日後的日期」，
+ * 每個年度僅需 O(1) 計數與一次二分搜尋，不需逐日走訪，可跨越多個年度檔案。
+ * 各方法皆可指定資料來源，未指定時使用合併資料。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class BusinessDayService {
+
+    /** 批次請求的最大筆數 */
+    private static final int MAX_BATCH_SIZE = 100_000;
+
+    /** 上班日索引服務（由 Spring 注入） */
+    private final CalendarIndexService calendarIndexService;
+
+    /**
+     * 計算兩個日期之間 (含起訖日) 的上班日數。
+     *
+     * @param from 起始日期 (格式: yyyyMMdd)
+     * @param to   結束日期 (格式: yyyyMMdd)
+     * @return 上班日數計算結果
+     * @throws InvalidRequestException   當起始日期晚於結束日期時
+     * @throws ResourceNotFoundException 當日期格式錯誤或區間內有年度資料不存在時
+     * @throws IncompleteDataException   當區間內有年度資料不完整時
+     */
+    public WorkdayCountResult countWorkdays(String from, String to) {
+        return countWorkdays(null, from, to);
+    }
+
+    /**
+     * 依指定資料來源計算兩個日期之間 (含起訖日) 的上班日數。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param from   起始日期 (格式: yyyyMMdd)
+     * @param to     結束日期 (格式: yyyyMMdd)
+     * @return 上班日數計算結果
+     * @throws InvalidRequestException   當起始日期晚於結束日期時
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或區間內有年度資料不存在時
+     * @throws IncompleteDataException   當區間內有年度資料不完整時
+     */
+    public WorkdayCountResult countWorkdays(String source, String from, String to) {
+        LocalDate fromDate = CalendarIndexService.parseDate(from);
+        LocalDate toDate = CalendarIndexService.parseDate(to);
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidRequestException("起始日期不可晚於結束日期");
+        }
+        return new WorkdayCountResult(from, to, countWorkdays(source, fromDate, toDate));
+    }
+
+    /**
+     * 計算兩個日期之間 (含起訖日) 的上班日數。
+     *
+     * @param from 起始日期
+     * @param to   結束日期 (不可早於起始日期)
+     * @return 上班日數
+     */
+    public int countWorkdays(LocalDate from, LocalDate to) {
+        return countWorkdays(null, from, to);
+    }
+
+    /**
+     * 依指定資料來源計算兩個日期之間 (含起訖日) 的上班日數。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param from   起始日期
+     * @param to     結束日期 (不可早於起始日期)
+     * @return 上班日數
+     */
+    public int countWorkdays(String source, LocalDate from, LocalDate to) {
+        int total = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            YearCalendar calendar = calendarIndexService.getYearCalendar(source, year);
+            int start = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int end = year == to.getYear() ? to.getDayOfYear() : calendar.length();
+            total += calendar.workdaysBefore(end) - calendar.workdaysBefore(start);
+        }
+        return total;
+    }
+
+    /**
+     * 推算指定日期加上 N 個上班日後的日期。
+     *
+     * @param date 起始日期 (格式: yyyyMMdd)
+     * @param days 上班日數 (負數表示往前推算)
+     * @return 上班日推算結果
+     * @throws ResourceNotFoundException 當日期格式錯誤或推算結果超出資料範圍時
+     * @throws IncompleteDataException   當推算經過的年度資料不完整時
+     */
+    public WorkdayAddResult addWorkdays(String date, int days) {
+        return addWorkdays(null, date, days);
+    }
+
+    /**
+     * 依指定資料來源推算日期加上 N 個上班日後的日期。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param date   起始日期 (格式: yyyyMMdd)
+     * @param days   上班日數 (負數表示往前推算)
+     * @return 上班日推算結果
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或推算結果超出資料範圍時
+     * @throws IncompleteDataException   當推算經過的年度資料不完整時
+     */
+    public WorkdayAddResult addWorkdays(String source, String date, int days) {
+        LocalDate result = addWorkdays(source, CalendarIndexService.parseDate(date), days);
+        return new WorkdayAddResult(date, days, result.format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
+
+    /**
+     * 批次推算多個起始日期加上 N 個上班日後的日期。
+     *
+     * @param dates 起始日期列表 (格式: yyyyMMdd)
+     * @param days  上班日數 (負數表示往前推算)
+     * @return 依輸入順序排列的推算結果
+     * @throws InvalidRequestException   當日期列表為空或超過批次上限時
+     * @throws ResourceNotFoundException 當任一日期格式錯誤或推算結果超出資料範圍時
+     */
+    public List<WorkdayAddResult> addWorkdays(List<String> dates, int days) {
+        return addWorkdays(null, dates, days);
+    }
+
+    /**
+     * 依指定資料來源批次推算多個起始日期加上 N 個上班日後的日期。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param dates  起始日期列表 (格式: yyyyMMdd)
+     * @param days   上班日數 (負數表示往前推算)
+     * @return 依輸入順序排列的推算結果
+     * @throws InvalidRequestException   當日期列表為空或超過批次上限時
+     * @throws ResourceNotFoundException 當資料來源不存在、任一日期格式錯誤或推算結果超出資料範圍時
+     * @throws IncompleteDataException   當推算經過的年度資料不完整時
+     */
+    public List<WorkdayAddResult> addWorkdays(String source, List<String> dates, int days) {
+        if (dates == null || dates.isEmpty()) {
+            throw new InvalidRequestException("日期列表不可為空");
+        }
+        if (dates.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("單次批次最多 " + MAX_BATCH_SIZE + " 筆");
+        }
+        return dates.stream()
+                .map(date -> addWorkdays(source, date, days))
+                .toList();
+    }
+
+    /**
+     * 推算指定日期加上 N 個上班日後的日期。
+     *
+     * <p>
+     * N 為正數時回傳起始日之後 (不含當日) 的第 N 個上班日；
+     * N 為負數時回傳起始日之前的第 |N| 個上班日；N 為 0 時回傳起始日本身。
+     * </p>
+     *
+     * @param start 起始日期
+     * @param days  上班日數
+     * @return 推算後的日期
+     * @throws ResourceNotFoundException 當推算結果超出資料範圍時
+     */
+    public LocalDate addWorkdays(LocalDate start, int days) {
+        return addWorkdays(null, start, days);
+    }
+
+    /**
+     * 依指定資料來源推算日期加上 N 個上班日後的日期，推算規則同 {@link #addWorkdays(LocalDate, int)}。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param start  起始日期
+     * @param days   上班日數
+     * @return 推算後的日期
+     * @throws ResourceNotFoundException 當資料來源不存在或推算結果超出資料範圍時
+     */
+    public LocalDate addWorkdays(String source, LocalDate start, int days) {
+        calendarIndexService.requireSource(source);
+        if (days == 0) {
+            return start;
+        }
+        int year = start.getYear();
+        YearCalendar calendar = calendarIndexService.getYearCalendar(source, year);
+        int dayOfYear = start.getDayOfYear() - 1;
+
+        // 以「該年度第幾個上班日 (0 起算)」表示目標，再逐年度換算
+        long target;
+        if (days > 0) {
+            int upToStart = calendar.workdaysBefore(dayOfYear) + (calendar.isWorkday(dayOfYear) ? 1 : 0);
+            target = (long) upToStart + days - 1;
+            while (target >= calendar.workdayCount()) {
+                target -= calendar.workdayCount();
+                calendar = nextCalendar(source, ++year);
+            }
+        } else {
+            target = (long) calendar.workdaysBefore(dayOfYear) + days;
+            while (target < 0) {
+                calendar = nextCalendar(source, --year);
+                target += calendar.workdayCount();
+            }
+        }
+        return LocalDate.ofYearDay(year, calendar.nthWorkday((int) target) + 1);
+    }
+
+    /**
+     * 取得推算過程中需要的相鄰年度索引。
+     *
+     * @param source 資料來源名稱
+     * @param year   西元年份
+     * @return 位元索引
+     * @throws ResourceNotFoundException 當該年度的資料不存在時
+     */
+    private YearCalendar nextCalendar(String source, int year) {
+        try {
+            return calendarIndexService.getYearCalendar(source, year);
+        } catch (ResourceNotFoundException e) {
+            throw new ResourceNotFoundException("推算結果超出資料範圍，缺少 " + year + " 年度的假日資料", e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.toc.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.IncompleteDataException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.WorkdayStatus;
+import com.example.toc.model.calendar.HolidayTable;
+import com.example.toc.model.calendar.YearCalendar;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 上班日索引服務。
+ *
+ * <p>
+ * 透過年度快照中的 {@link YearCalendar} 位元索引與 {@link HolidayTable} 日期索引，
+ * 讓「某日是否為上班日」及「某日的假日資料」查詢不需每次掃描整年的 {@code List<Holiday>}。
+ * </p>
+ *
+ * <p>
+ * 上班日判斷需要整年的行事曆，資料尚未完整公告的年度 ({@link YearCalendar#isComplete()}) 一律拋出
+ * {@link IncompleteDataException}，不以「未列出即上班」的推測作答。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class CalendarIndexService {
+
+    /** 年度假日資料服務（由 Spring 注入） */
+    private final HolidayDataService holidayDataService;
+
+    /**
+     * 取得指定年度的上班日位元索引。
+     *
+     * @param year 西元年份
+     * @return 位元索引
+     * @throws ResourceNotFoundException 當指定年份的資料不存在時
+     * @throws IncompleteDataException   當指定年份的資料不完整時
+     */
+    public YearCalendar getYearCalendar(int year) {
+        return getYearCalendar(null, year);
+    }
+
+    /**
+     * 依指定資料來源取得年度的上班日位元索引。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份
+     * @return 位元索引
+     * @throws ResourceNotFoundException 當資料來源或指定年份的資料不存在時
+     * @throws IncompleteDataException   當指定年份的資料不完整時
+     */
+    public YearCalendar getYearCalendar(String source, int year) {
+        return requireComplete(holidayDataService.getYearSnapshot(source, year).calendar());
+    }
+
+    /**
+     * 取得指定年度的假日資料精簡存放結構 (含日期索引)。
+     *
+     * @param year 西元年份
+     * @return 精簡存放結構
+     * @throws ResourceNotFoundException 當指定年份的資料不存在時
+     */
+    public HolidayTable getHolidayTable(int year) {
+        return getHolidayTable(null, year);
+    }
+
+    /**
+     * 依指定資料來源取得年度的假日資料精簡存放結構 (含日期索引)。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份
+     * @return 精簡存放結構
+     * @throws ResourceNotFoundException 當資料來源或指定年份的資料不存在時
+     */
+    public HolidayTable getHolidayTable(String source, int year) {
+        return holidayDataService.getYearSnapshot(source, year).table();
+    }
+
+    /**
+     * 確認資料來源存在。
+     *
+     * <p>
+     * 會略過沒有資料年度的查詢 (例如日期區間、批次查詢) 需先行確認，避免不存在的來源被當成「查無資料」。
+     * </p>
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @throws ResourceNotFoundException 當資料來源不存在時
+     */
+    public void requireSource(String source) {
+        if (source != null && !holidayDataService.hasSource(source)) {
+            throw new ResourceNotFoundException("查無資料來源: " + source);
+        }
+    }
+
+    /**
+     * 判斷指定日期是否為上班日。
+     *
+     * @param date 日期
+     * @return true 若為上班日
+     * @throws ResourceNotFoundException 當該年度的資料不存在時
+     * @throws IncompleteDataException   當該年度的資料不完整時
+     */
+    public boolean isWorkday(LocalDate date) {
+        return getYearCalendar(date.getYear()).isWorkday(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * 查詢指定日期的上班日狀態。
+     *
+     * @param dateStr 日期字串 (格式: yyyyMMdd)
+     * @return 上班日狀態
+     * @throws ResourceNotFoundException 當日期格式錯誤或該年度的資料不存在時
+     * @throws IncompleteDataException   當該年度的資料不完整時
+     */
+    public WorkdayStatus getWorkdayStatus(String dateStr) {
+        return getWorkdayStatus(null, dateStr);
+    }
+
+    /**
+     * 依指定資料來源查詢日期的上班日狀態。
+     *
+     * @param source  資料來源名稱，空值表示合併資料
+     * @param dateStr 日期字串 (格式: yyyyMMdd)
+     * @return 上班日狀態
+     * @throws ResourceNotFoundException 當資料來源不存在、日期格式錯誤或該年度的資料不存在時
+     * @throws IncompleteDataException   當該年度的資料不完整時
+     */
+    public WorkdayStatus getWorkdayStatus(String source, String dateStr) {
+        LocalDate date = parseDate(dateStr);
+        YearCalendar calendar = getYearCalendar(source, date.getYear());
+        int dayOfYear = date.getDayOfYear() - 1;
+        return new WorkdayStatus(dateStr, calendar.isWorkday(dayOfYear), calendar.isMakeupWorkday(dayOfYear));
+    }
+
+    private static YearCalendar requireComplete(YearCalendar calendar) {
+        if (!calendar.isComplete()) {
+            throw new IncompleteDataException(calendar.getYear());
+        }
+        return calendar;
+    }
+
+    /**
+     * 解析 yyyy 格式的年份字串。
+     *
+     * @param year 年份字串
+     * @return 西元年份
+     * @throws ResourceNotFoundException 當年份格式錯誤時
+     */
+    public static int parseYear(String year) {
+        if (year == null || !year.matches("^\\d{4}$")) {
+            throw new ResourceNotFoundException("年份格式錯誤，僅允許 4 位數字");
+        }
+        return Integer.parseInt(year);
+    }
+
+    /**
+     * 解析 yyyyMMdd 格式的日期字串。
+     *
+     * @param dateStr 日期字串
+     * @return 日期
+     * @throws ResourceNotFoundException 當日期格式錯誤時
+     */
+    public static LocalDate parseDate(String dateStr) {
+        if (dateStr == null || !dateStr.matches("^\\d{8}$")) {
+            throw new ResourceNotFoundException("日期格式錯誤，僅允許 yyyyMMdd 格式");
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(dateStr.substring(0, 4)),
+                    Integer.parseInt(dateStr.substring(4, 6)),
+                    Integer.parseInt(dateStr.substring(6, 8)));
+        } catch (DateTimeException e) {
+            throw new ResourceNotFoundException("日期不存在: " + dateStr, e);
+        }
+    }
+}
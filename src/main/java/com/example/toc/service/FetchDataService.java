@@ -1,36 +1,67 @@
 package com.example.toc.service;
 
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.Strings;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
 import com.example.toc.config.OpendataProperties;
+import com.example.toc.model.FetchManifest;
 import com.example.toc.model.Holiday;
+import com.example.toc.model.calendar.BinarySnapshotCodec;
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -44,11 +75,10 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * 處理流程：
  * <ol>
- * <li>下載 CSV 檔案至暫存區</li>
- * <li>解析 CSV 內容並轉換為 Holiday 物件</li>
- * <li>依年份分組並輸出 JSON 檔案</li>
+ * <li>開啟資料來源的輸入串流 (不落地暫存檔)</li>
+ * <li>逐筆解析 CSV 記錄並轉換為 Holiday 物件</li>
+ * <li>依年份累積，年份切換時即處理關聯節日並輸出該年度 JSON 檔案 (與二進位快照)</li>
  * <li>產生年份索引檔 (years.json)</li>
- * <li>清理暫存檔案</li>
  * </ol>
  * </p>
  *
@@ -56,27 +86,57 @@ import lombok.extern.slf4j.Slf4j;
  * @since 1.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class FetchDataService {
 
-    /** 下載連線逾時時間 (毫秒) */
-    private static final int CONNECTION_TIMEOUT_MS = 10000;
+    /** 下載連線逾時時間 (單一來源) */
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(10);
 
-    /** 下載讀取逾時時間 (毫秒) */
-    private static final int READ_TIMEOUT_MS = 30000;
+    /** 下載讀取逾時時間 (單一來源) */
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(30);
 
     /** 表示「是」的字串常數 */
     private static final String YES_STRING = "是";
 
+    /** 任務類型 (指標標籤) */
+    private static final String JOB_FETCH = "fetch";
+    private static final String JOB_PROCESS = "process";
+    private static final String JOB_MERGE = "merge";
+
+    /** 中文數字 (索引即數值) */
+    private static final String CHINESE_DIGITS = "〇一二三四五六七八九";
+
+    /** 說明中「M月D日」的寫法：阿拉伯數字 (可補零) 或中文數字，允許中間有空白 */
+    private static final Pattern DATE_MENTION_PATTERN = Pattern.compile(
+            "(\\d{1,2}|[一二三四五六七八九十]{1,3})\\s*月\\s*(\\d{1,2}|[一二三四五六七八九十]{1,3})\\s*日");
+
     /** JSON 序列化器（由 Spring 注入） */
     private final ObjectMapper objectMapper;
 
     /** 開放資料設定屬性（由 Spring 注入） */
     private final OpendataProperties opendataProperties;
 
+    /** 原子化 JSON 寫入器 (暫存檔 + fsync + rename) */
+    private final AtomicJsonWriter jsonWriter;
+
+    /** 指標註冊中心 */
+    private final MeterRegistry meterRegistry;
+
+    public FetchDataService(ObjectMapper objectMapper, OpendataProperties opendataProperties,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.opendataProperties = opendataProperties;
+        this.jsonWriter = new AtomicJsonWriter(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * 僅處理現有 JSON 檔案，更新關聯資訊 (不重新下載)。
+     *
+     * <p>
+     * 各年度檔案彼此獨立，依 {@code opendata.holiday.process.parallelism} 以虛擬執行緒平行處理；
+     * 單一檔案失敗不影響其他檔案，完成後輸出各檔案耗時摘要。
+     * </p>
      */
     public void processExistingFiles() {
         try {
@@ -86,14 +146,12 @@ public class FetchDataService {
                 return;
             }
 
-            log.info("開始處理現有 JSON 檔案: {}", outputDir);
-
             List<Path> jsonFiles;
             try (var stream = Files.list(outputDir)) {
                 jsonFiles = stream
                         .filter(Files::isRegularFile)
-                        .filter(p -> p.toString().endsWith(".json"))
-                        .filter(p -> !p.getFileName().toString().equals("years.json"))
+                        .filter(p -> p.getFileName().toString().matches("\\d{4}\\.json"))
+                        .sorted()
                         .toList();
             }
 
@@ -102,29 +160,185 @@ public class FetchDataService {
                 return;
             }
 
-            for (Path file : jsonFiles) {
-                try {
-                    // 1. 讀取 JSON
-                    List<Holiday> holidays = loadHolidaysFromJson(file);
+            int parallelism = resolveParallelism(jsonFiles.size());
+            log.info("開始處理現有 JSON 檔案: {} (共 {} 個，平行度 {})", outputDir, jsonFiles.size(), parallelism);
+
+            // 沿用抓取清單的雜湊，內容未變更的檔案不重寫，並讓清單與實際檔案保持一致
+            FetchManifest manifest = loadManifest(outputDir);
+            long startTime = System.nanoTime();
+            PhaseTimings timings = new PhaseTimings();
+            String outcome = HolidayMetrics.OUTCOME_ERROR;
+            try (OutputSession session = new OutputSession(outputDir, manifest, timings)) {
+                List<FileReport> reports = processFiles(jsonFiles, session, parallelism);
+                session.commit(manifest.sourceUrl(), manifest.etag(), manifest.lastModified());
+                outcome = reports.stream().anyMatch(r -> r.status() == FileStatus.FAILED)
+                        ? HolidayMetrics.OUTCOME_ERROR
+                        : HolidayMetrics.OUTCOME_SUCCESS;
+                logSummary(reports, System.nanoTime() - startTime, parallelism);
+            } finally {
+                recordRun(JOB_PROCESS, timings, System.nanoTime() - startTime, outcome);
+            }
 
-                    // 1.5. 處理特定節日 (9/3 軍人節, 6/15 警察節) - 將其設定為非假日
-                    processSpecialDays(holidays);
+        } catch (IOException e) {
+            log.error("掃描目錄失敗", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("處理現有檔案時被中斷，未替換任何檔案。");
+        }
+    }
 
-                    // 2. 處理關聯節日
-                    processRelatedHolidays(holidays);
+    /**
+     * 決定處理現有檔案的平行度。
+     *
+     * @param fileCount 檔案數量
+     * @return 平行度 (設定值小於等於 0 時為 CPU 核心數，且不超過檔案數量)
+     */
+    private int resolveParallelism(int fileCount) {
+        int configured = opendataProperties.holiday().process().parallelism();
+        int parallelism = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(parallelism, fileCount));
+    }
 
-                    // 3. 寫回 JSON
-                    saveHolidaysToJson(file, holidays);
+    /**
+     * 處理所有檔案，平行度大於 1 時以虛擬執行緒搭配 Semaphore 限制同時處理的檔案數。
+     *
+     * @param files       檔案列表
+     * @param session     輸出作業
+     * @param parallelism 平行度
+     * @return 各檔案處理結果 (與輸入順序相同)
+     * @throws InterruptedException 當等待處理結果時被中斷
+     */
+    private List<FileReport> processFiles(List<Path> files, OutputSession session, int parallelism)
+            throws InterruptedException {
+        if (parallelism <= 1) {
+            return files.stream()
+                    .map(file -> processFile(file, session))
+                    .toList();
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<FileReport>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return processFile(file, session);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
 
-                    log.info("已更新檔案: {}", file.getFileName());
-                } catch (IOException e) {
-                    log.error("處理檔案失敗: {}", file, e);
+            List<FileReport> reports = new ArrayList<>(files.size());
+            for (Future<FileReport> future : futures) {
+                try {
+                    reports.add(future.get());
+                } catch (ExecutionException e) {
+                    // processFile 已攔截所有例外，僅在執行緒本身出錯時發生
+                    throw new IllegalStateException("處理檔案的執行緒發生非預期錯誤", e.getCause());
                 }
             }
-            log.info("所有現有檔案處理完成。");
+            return reports;
+        }
+    }
+
+    /**
+     * 處理單一年度檔案：特定節日、關聯節日，並寫回 JSON。
+     *
+     * @param file    年度 JSON 檔案
+     * @param session 輸出作業
+     * @return 處理結果；失敗時記錄錯誤並回傳失敗結果，不影響其他檔案
+     */
+    private FileReport processFile(Path file, OutputSession session) {
+        long startTime = System.nanoTime();
+        String fileName = file.getFileName().toString();
+        int records = 0;
+        try {
+            // 1. 讀取 JSON
+            long phaseStart = System.nanoTime();
+            List<Holiday> holidays = loadHolidaysFromJson(file);
+            records = holidays.size();
+            session.timings().add(PhaseTimings.Phase.PARSE, System.nanoTime() - phaseStart);
+
+            // 1.5. 處理特定節日 (9/3 軍人節, 6/15 警察節) - 將其設定為非假日
+            phaseStart = System.nanoTime();
+            processSpecialDays(holidays);
+
+            // 2. 處理關聯節日
+            processRelatedHolidays(holidays);
+            session.timings().add(PhaseTimings.Phase.LINK, System.nanoTime() - phaseStart);
+
+            // 3. 寫回 JSON (與二進位快照)
+            boolean changed = session.writeYear(file, Integer.parseInt(fileName.substring(0, 4)), holidays);
+            if (changed) {
+                log.info("已更新檔案: {}", fileName);
+            } else {
+                log.info("檔案內容未變更: {}", fileName);
+            }
+            return new FileReport(fileName, records, System.nanoTime() - startTime,
+                    changed ? FileStatus.UPDATED : FileStatus.UNCHANGED);
+        } catch (IOException | RuntimeException e) {
+            log.error("處理檔案失敗: {}", file, e);
+            return new FileReport(fileName, records, System.nanoTime() - startTime, FileStatus.FAILED);
+        }
+    }
 
-        } catch (IOException e) {
-            log.error("掃描目錄失敗", e);
+    /**
+     * 輸出處理摘要：各檔案筆數、耗時與結果，以及整體統計。
+     *
+     * @param reports      各檔案處理結果
+     * @param elapsedNanos 整體耗時 (奈秒)
+     * @param parallelism  平行度
+     */
+    private void logSummary(List<FileReport> reports, long elapsedNanos, int parallelism) {
+        Map<FileStatus, Long> counts = reports.stream()
+                .collect(Collectors.groupingBy(FileReport::status, () -> new EnumMap<>(FileStatus.class),
+                        Collectors.counting()));
+        long totalFileNanos = reports.stream().mapToLong(FileReport::elapsedNanos).sum();
+
+        StringBuilder summary = new StringBuilder("現有檔案處理摘要:");
+        for (FileReport report : reports) {
+            summary.append(String.format("%n  %-12s %6d 筆 %9.1f ms  %s", report.fileName(), report.records(),
+                    report.elapsedNanos() / 1_000_000.0, report.status().getLabel()));
+        }
+        summary.append(String.format("%n  共 %d 個檔案 (更新 %d、未變更 %d、失敗 %d)，總耗時 %.1f ms，"
+                + "各檔案耗時合計 %.1f ms，平行度 %d",
+                reports.size(),
+                counts.getOrDefault(FileStatus.UPDATED, 0L),
+                counts.getOrDefault(FileStatus.UNCHANGED, 0L),
+                counts.getOrDefault(FileStatus.FAILED, 0L),
+                elapsedNanos / 1_000_000.0, totalFileNanos / 1_000_000.0, parallelism));
+        log.info(summary.toString());
+    }
+
+    /**
+     * 單一檔案處理結果。
+     *
+     * @param fileName     檔名
+     * @param records      記錄筆數
+     * @param elapsedNanos 處理耗時 (奈秒)
+     * @param status       處理結果
+     */
+    private record FileReport(String fileName, int records, long elapsedNanos, FileStatus status) {
+    }
+
+    /**
+     * 單一檔案處理結果狀態。
+     */
+    private enum FileStatus {
+        UPDATED("已更新"),
+        UNCHANGED("未變更"),
+        FAILED("失敗");
+
+        private final String label;
+
+        FileStatus(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
         }
     }
 
@@ -134,44 +348,311 @@ public class FetchDataService {
      * <p>
      * 此方法會：
      * <ul>
-     * <li>從設定的 URL 下載 CSV 檔案</li>
-     * <li>解析 CSV 並建立 Holiday 物件列表</li>
-     * <li>依年份分組輸出 JSON 檔案</li>
+     * <li>從設定的 URL 以串流方式讀取 CSV 檔案</li>
+     * <li>逐筆解析 CSV 並依年份輸出 JSON 檔案</li>
      * <li>產生年份索引檔供前端讀取</li>
      * </ul>
+     * 設定了多個具名資料來源 ({@code opendata.holiday.sources}) 時改為同時抓取並合併，
+     * 詳見 {@link #fetchAndMergeSources(List)}。
      * </p>
+     *
+     * <p>
+     * 下載、解析或寫入失敗時只記錄錯誤並保留原有檔案，不會拋出例外；結果以回傳的標籤 (與指標相同) 表示。
+     * </p>
+     *
+     * @return 結果標籤：success、not_modified (來源未變更) 或 error
      */
-    public void fetchAndProcess() {
-        Path tempFile = null;
-        String dataUrl = opendataProperties.holiday().url();
+    public String fetchAndProcess() {
+        OpendataProperties.Holiday holiday = opendataProperties.holiday();
+        if (holiday.federated()) {
+            return fetchAndMergeSources(holiday.sources());
+        }
+
+        String dataUrl = holiday.url();
+        long startTime = System.nanoTime();
+        PhaseTimings timings = new PhaseTimings();
+        String outcome = HolidayMetrics.OUTCOME_ERROR;
         try {
             log.info("開始從 OpenData 抓取資料: {}", dataUrl);
+            outcome = fetchSource(dataUrl, Paths.get(holiday.outputDir()), CONNECTION_TIMEOUT, READ_TIMEOUT,
+                    timings);
+        } catch (IOException e) {
+            log.error("檔案處理過程發生 I/O 錯誤", e);
+        } catch (URISyntaxException e) {
+            log.error("資料來源 URL 格式錯誤: {}", dataUrl, e);
+        } finally {
+            recordRun(JOB_FETCH, timings, System.nanoTime() - startTime, outcome);
+        }
+        return outcome;
+    }
 
-            // 步驟 1: 下載至暫存檔
-            tempFile = downloadToTempFile(dataUrl);
+    /**
+     * 抓取單一資料來源，並將年度檔、years.json 與抓取清單輸出至指定目錄。
+     *
+     * @param dataUrl        資料來源 URL
+     * @param outputPath     輸出目錄
+     * @param connectTimeout 連線逾時
+     * @param readTimeout    讀取逾時
+     * @param timings        各階段耗時
+     * @return 結果標籤 (success 或 not_modified)
+     * @throws IOException        當下載、解析或寫入失敗時
+     * @throws URISyntaxException 當 URL 格式錯誤時
+     */
+    private String fetchSource(String dataUrl, Path outputPath, Duration connectTimeout, Duration readTimeout,
+            PhaseTimings timings) throws IOException, URISyntaxException {
+        Files.createDirectories(outputPath);
+        FetchManifest manifest = loadManifest(outputPath);
+
+        // 步驟 1: 以上次的 ETag / Last-Modified 送出條件式請求，來源未變更時直接結束
+        long phaseStart = System.nanoTime();
+        URLConnection connection = openDataConnection(dataUrl, manifest, connectTimeout, readTimeout);
+        boolean notModified = isNotModified(connection);
+        timings.add(PhaseTimings.Phase.DOWNLOAD, System.nanoTime() - phaseStart);
+        if (notModified) {
+            log.info("資料來源未變更 (HTTP 304)，略過本次處理: {}", dataUrl);
+            return HolidayMetrics.OUTCOME_NOT_MODIFIED;
+        }
 
-            // 步驟 2: 解析 CSV
-            List<Holiday> allHolidays = parseCsvFile(tempFile);
-            log.info("成功解析 {} 筆記錄。", allHolidays.size());
+        try (OutputSession session = new OutputSession(outputPath, manifest, timings)) {
+            // 步驟 2 ~ 3: 串流解析 CSV，依年份處理關聯節日並寫入暫存檔 (內容未變更的年份不重寫)
+            Set<String> years;
+            try (InputStream in = connection.getInputStream()) {
+                years = streamCsvToYearlyFiles(in, session);
+            }
 
-            // 步驟 2.5: 處理關聯節日 (補假追蹤)
-            processRelatedHolidays(allHolidays);
+            // 步驟 4: 產生年份索引檔
+            writeYearsIndex(years, session);
 
-            // 步驟 3: 依年份分組並輸出 JSON
-            Map<String, List<Holiday>> groupedByYear = groupByYear(allHolidays);
-            writeYearlyJsonFiles(groupedByYear);
+            // 步驟 5: 全部成功後才依序替換 (年度檔 → years.json → 清單)，失敗時維持原檔案
+            session.commit(dataUrl,
+                    connection.getHeaderField(HttpHeaders.ETAG),
+                    connection.getHeaderField(HttpHeaders.LAST_MODIFIED));
+        }
+        return HolidayMetrics.OUTCOME_SUCCESS;
+    }
 
-            // 步驟 4: 產生年份索引檔
-            writeYearsIndex(groupedByYear);
+    /**
+     * 同時抓取所有具名資料來源，再合併為單一份年度資料。
+     *
+     * <p>
+     * 各來源以虛擬執行緒同時下載與串流解析，分別輸出至 {@code sources/{name}/} 並各自原子替換，
+     * 條件式請求與未變更檔案的判斷也依各來源的抓取清單分開處理。
+     * 單一來源超過整體逾時 ({@code timeout}) 或失敗時只記錄錯誤並保留該來源上次成功的檔案，不影響其他來源。
+     * 所有來源結束後，以 {@link #mergeHolidays(List)} 的規則合併各來源目錄中的年度資料，輸出至輸出目錄。
+     * </p>
+     *
+     * @param sources 資料來源 (依優先順序排列)
+     * @return 結果標籤：任一來源或合併失敗時為 error，沒有來源更新時為 not_modified，否則為 success
+     */
+    private String fetchAndMergeSources(List<OpendataProperties.Source> sources) {
+        Path outputPath = Paths.get(opendataProperties.holiday().outputDir());
+        log.info("開始同時抓取 {} 個資料來源: {}", sources.size(),
+                sources.stream().map(OpendataProperties.Source::name).toList());
+        Map<String, String> outcomes;
+        try {
+            outcomes = fetchSources(sources, outputPath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("抓取資料來源時被中斷，未合併任何資料。");
+            return HolidayMetrics.OUTCOME_ERROR;
+        }
+        if (!outcomes.containsValue(HolidayMetrics.OUTCOME_SUCCESS)
+                && Files.isRegularFile(outputPath.resolve(FetchManifest.FILE_NAME))) {
+            // 沒有任何來源更新且已合併過時，合併結果不會改變
+            log.info("沒有資料來源更新，略過合併。");
+            return outcomes.containsValue(HolidayMetrics.OUTCOME_ERROR)
+                    ? HolidayMetrics.OUTCOME_ERROR
+                    : HolidayMetrics.OUTCOME_NOT_MODIFIED;
+        }
 
+        long startTime = System.nanoTime();
+        PhaseTimings timings = new PhaseTimings();
+        String outcome = HolidayMetrics.OUTCOME_ERROR;
+        try {
+            mergeSources(sources, outputPath, timings);
+            outcome = outcomes.containsValue(HolidayMetrics.OUTCOME_ERROR)
+                    ? HolidayMetrics.OUTCOME_ERROR
+                    : HolidayMetrics.OUTCOME_SUCCESS;
         } catch (IOException e) {
-            log.error("檔案處理過程發生 I/O 錯誤", e);
-        } catch (URISyntaxException e) {
-            log.error("資料來源 URL 格式錯誤: {}", dataUrl, e);
+            log.error("合併資料來源時發生 I/O 錯誤，保留原有合併結果", e);
         } finally {
-            // 步驟 5: 清理暫存檔
-            cleanupTempFile(tempFile);
+            recordRun(JOB_MERGE, timings, System.nanoTime() - startTime, outcome);
         }
+        return outcome;
+    }
+
+    /**
+     * 以虛擬執行緒同時抓取各資料來源，並依各來源的整體逾時等待結果。
+     *
+     * @param sources    資料來源
+     * @param outputPath 輸出目錄
+     * @return 來源名稱 → 結果標籤 (success、not_modified 或 error)
+     * @throws InterruptedException 當等待結果時被中斷
+     */
+    private Map<String, String> fetchSources(List<OpendataProperties.Source> sources, Path outputPath)
+            throws InterruptedException {
+        Map<String, String> outcomes = new LinkedHashMap<>();
+        long startTime = System.nanoTime();
+        // 關閉時會等待被取消的來源結束；虛擬執行緒的 socket 讀取可被中斷，且另有讀取逾時
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Map<OpendataProperties.Source, Future<String>> futures = new LinkedHashMap<>();
+            for (OpendataProperties.Source source : sources) {
+                futures.put(source, executor.submit(() -> fetchNamedSource(source, outputPath)));
+            }
+            for (Map.Entry<OpendataProperties.Source, Future<String>> entry : futures.entrySet()) {
+                OpendataProperties.Source source = entry.getKey();
+                long remaining = source.timeout().toNanos() - (System.nanoTime() - startTime);
+                String outcome;
+                try {
+                    outcome = entry.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    log.error("資料來源 {} 超過 {} 未完成，已取消並保留上次成功的資料。", source.name(), source.timeout());
+                    outcome = HolidayMetrics.OUTCOME_ERROR;
+                } catch (ExecutionException e) {
+                    log.error("資料來源 {} 抓取失敗，保留上次成功的資料。", source.name(), e.getCause());
+                    outcome = HolidayMetrics.OUTCOME_ERROR;
+                }
+                outcomes.put(source.name(), outcome);
+            }
+        }
+        log.info("資料來源抓取結果: {}", outcomes);
+        return outcomes;
+    }
+
+    /**
+     * 抓取單一具名資料來源至其輸出目錄。
+     *
+     * @param source     資料來源
+     * @param outputPath 輸出目錄
+     * @return 結果標籤 (success 或 not_modified)
+     * @throws IOException        當下載、解析或寫入失敗時
+     * @throws URISyntaxException 當 URL 格式錯誤時
+     */
+    private String fetchNamedSource(OpendataProperties.Source source, Path outputPath)
+            throws IOException, URISyntaxException {
+        long startTime = System.nanoTime();
+        PhaseTimings timings = new PhaseTimings();
+        String outcome = HolidayMetrics.OUTCOME_ERROR;
+        try {
+            log.info("開始抓取資料來源 {}: {}", source.name(), source.url());
+            outcome = fetchSource(source.url(), source.directory(outputPath), source.connectTimeout(),
+                    source.readTimeout(), timings);
+            return outcome;
+        } finally {
+            recordRun(JOB_FETCH, timings, System.nanoTime() - startTime, outcome);
+        }
+    }
+
+    /**
+     * 合併各資料來源目錄中的年度資料，並輸出至輸出目錄 (年度檔、years.json 與抓取清單)。
+     *
+     * <p>
+     * 讀取的是各來源目錄中最後一次成功的檔案，因此本次逾時或失敗的來源仍以上次的資料參與合併。
+     * </p>
+     *
+     * @param sources    資料來源 (依優先順序排列)
+     * @param outputPath 輸出目錄
+     * @param timings    各階段耗時
+     * @throws IOException 當讀取或寫入失敗時
+     */
+    private void mergeSources(List<OpendataProperties.Source> sources, Path outputPath, PhaseTimings timings)
+            throws IOException {
+        Set<String> years = new TreeSet<>();
+        for (OpendataProperties.Source source : sources) {
+            years.addAll(listYears(source.directory(outputPath)));
+        }
+
+        try (OutputSession session = new OutputSession(outputPath, loadManifest(outputPath), timings)) {
+            for (String year : years) {
+                long phaseStart = System.nanoTime();
+                List<List<Holiday>> bySource = new ArrayList<>(sources.size());
+                for (OpendataProperties.Source source : sources) {
+                    Path file = source.directory(outputPath).resolve(year + ".json");
+                    if (Files.isRegularFile(file)) {
+                        bySource.add(loadHolidaysFromJson(file));
+                    }
+                }
+                List<Holiday> merged = mergeHolidays(bySource);
+                timings.add(PhaseTimings.Phase.PARSE, System.nanoTime() - phaseStart);
+
+                Path jsonFile = outputPath.resolve(year + ".json");
+                if (session.writeYear(jsonFile, Integer.parseInt(year), merged)) {
+                    log.info("已合併 {} 年度資料 ({} 個來源，共 {} 筆): {}", year, bySource.size(), merged.size(),
+                            jsonFile.toAbsolutePath());
+                } else {
+                    log.info("{} 年度合併結果未變更，略過寫入。", year);
+                }
+            }
+            writeYearsIndex(years, session);
+            session.commit(null, null, null);
+        }
+    }
+
+    /**
+     * 依衝突規則合併多個來源的同一年度資料。
+     *
+     * <p>
+     * 合併規則：
+     * <ol>
+     * <li>來源依設定順序決定優先權；同一天在多個來源都有資料時，只採用優先權最高的來源當天的所有記錄，
+     * 不會混用不同來源對同一天的認定 (例如一個來源為補假、另一個為上班日)</li>
+     * <li>只出現在優先權較低來源的日期一併納入，例如地方政府另行公告的放假日</li>
+     * <li>結果依日期排序，同一天的多筆記錄維持來源中的順序；沒有日期的記錄略過</li>
+     * </ol>
+     * 各來源的關聯節日備註已於抓取時處理，合併時直接沿用。
+     * </p>
+     *
+     * @param bySource 各來源的年度資料 (依優先順序排列)
+     * @return 合併結果
+     */
+    static List<Holiday> mergeHolidays(List<List<Holiday>> bySource) {
+        Map<String, List<Holiday>> byDate = new TreeMap<>();
+        for (List<Holiday> holidays : bySource) {
+            Map<String, List<Holiday>> ofSource = new LinkedHashMap<>();
+            for (Holiday holiday : holidays) {
+                if (holiday.getDate() != null) {
+                    ofSource.computeIfAbsent(holiday.getDate(), key -> new ArrayList<>(1)).add(holiday);
+                }
+            }
+            ofSource.forEach(byDate::putIfAbsent);
+        }
+        List<Holiday> merged = new ArrayList<>();
+        byDate.values().forEach(merged::addAll);
+        return merged;
+    }
+
+    /**
+     * 列出目錄中的年度檔案年份。
+     *
+     * @param dir 目錄
+     * @return 年份 (目錄不存在時為空)
+     * @throws IOException 當目錄讀取失敗時
+     */
+    private static List<String> listYears(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> name.matches("\\d{4}\\.json"))
+                    .map(name -> name.substring(0, 4))
+                    .toList();
+        }
+    }
+
+    /**
+     * 輸出各階段耗時摘要並記錄至指標 (Task Mode 結束前可於日誌檢視)。
+     *
+     * @param job        任務類型
+     * @param timings    各階段耗時
+     * @param totalNanos 整體耗時 (奈秒)
+     * @param outcome    結果
+     */
+    private void recordRun(String job, PhaseTimings timings, long totalNanos, String outcome) {
+        log.info("{} 任務各階段耗時 ({}): {}", job, outcome, timings.summary(totalNanos));
+        timings.publish(meterRegistry, job, outcome, totalNanos);
     }
 
     /**
@@ -185,56 +666,237 @@ public class FetchDataService {
     }
 
     /**
-     * 將 Holiday 列表寫入 JSON 檔案。
+     * 開啟資料來源連線。
+     *
+     * <p>
+     * 若清單記錄了同一來源上次回應的 ETag / Last-Modified，
+     * 會一併送出 If-None-Match / If-Modified-Since，讓伺服器在來源未變更時回應 304。
+     * </p>
+     *
+     * @param dataUrl        資料來源 URL (支援 http(s) 與 file)
+     * @param manifest       上次抓取的清單
+     * @param connectTimeout 連線逾時
+     * @param readTimeout    讀取逾時
+     * @return 已設定逾時與條件式標頭的連線
+     * @throws IOException        當連線失敗時
+     * @throws URISyntaxException 當 URL 格式錯誤時
      */
-    private void saveHolidaysToJson(Path file, List<Holiday> holidays) throws IOException {
-        writeJsonWithLf(file, holidays);
+    private URLConnection openDataConnection(String dataUrl, FetchManifest manifest, Duration connectTimeout,
+            Duration readTimeout) throws IOException, URISyntaxException {
+        URLConnection connection = new URI(dataUrl).toURL().openConnection();
+        connection.setConnectTimeout((int) connectTimeout.toMillis());
+        connection.setReadTimeout((int) readTimeout.toMillis());
+        if (connection instanceof HttpURLConnection && manifest.hasValidatorsFor(dataUrl)) {
+            if (manifest.etag() != null) {
+                connection.setRequestProperty(HttpHeaders.IF_NONE_MATCH, manifest.etag());
+            }
+            if (manifest.lastModified() != null) {
+                connection.setRequestProperty(HttpHeaders.IF_MODIFIED_SINCE, manifest.lastModified());
+            }
+        }
+        log.info("開啟資料串流中...");
+        return connection;
     }
 
     /**
-     * 下載資料至暫存檔。
+     * 判斷連線是否回應 304 Not Modified。
      *
-     * @param dataUrl 資料來源 URL
-     * @return 暫存檔路徑
-     * @throws IOException        當下載失敗時
-     * @throws URISyntaxException 當 URL 格式錯誤時
+     * @param connection 資料來源連線
+     * @return 來源未變更時為 true (非 HTTP 來源一律為 false)
+     * @throws IOException 當連線失敗時
      */
-    private Path downloadToTempFile(String dataUrl) throws IOException, URISyntaxException {
-        Path tempFile = Files.createTempFile("holiday_data_", ".csv");
-        log.info("下載檔案中...");
-        FileUtils.copyURLToFile(
-                new URI(dataUrl).toURL(),
-                tempFile.toFile(),
-                CONNECTION_TIMEOUT_MS,
-                READ_TIMEOUT_MS);
-        log.info("檔案下載成功: {}", tempFile);
-        return tempFile;
+    private boolean isNotModified(URLConnection connection) throws IOException {
+        return connection instanceof HttpURLConnection http
+                && http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED;
     }
 
     /**
-     * 解析 CSV 檔案並轉換為 Holiday 物件列表。
+     * 以串流方式解析 CSV，並依年份輸出 JSON 檔案。
      *
-     * @param csvFile CSV 檔案路徑
-     * @return Holiday 物件列表
-     * @throws IOException 當檔案讀取失敗時
+     * <p>
+     * 僅在記憶體中保留目前年份的記錄：年份切換時即對該年度處理關聯節日並寫出檔案，
+     * 因此記憶體用量以單一年度的記錄數為上限，與來源檔案大小無關。
+     * 若來源未依日期排序 (例如依機關再依日期排序) 而使已寫出的年份再次出現，
+     * 之後該年份的記錄逐筆附加至輸出目錄中該年度的工作檔，不保留在記憶體；
+     * 讀完來源後各年度只讀回已寫出的資料並串流讀取工作檔合併、重新處理一次，
+     * 結果與一次讀入全部資料相同，且讀寫次數不隨年份交錯的次數增加。
+     * </p>
+     *
+     * @param in      CSV 輸入串流 (可含 BOM)
+     * @param session 輸出作業
+     * @return 本次輸出的年份
+     * @throws IOException 當讀取或寫入失敗時
      */
-    private List<Holiday> parseCsvFile(Path csvFile) throws IOException {
-        List<Holiday> holidays = new ArrayList<>();
+    private Set<String> streamCsvToYearlyFiles(InputStream in, OutputSession session) throws IOException {
+        // 串流時下載與解析交錯進行：扣除期間的關聯節日與寫入耗時即為讀取與解析耗時
+        PhaseTimings timings = session.timings();
+        long startTime = System.nanoTime();
+        long linkAndWriteBefore = timings.get(PhaseTimings.Phase.LINK) + timings.get(PhaseTimings.Phase.WRITE);
+
+        Set<String> writtenYears = new LinkedHashSet<>();
+        // 已寫出後再次出現的年份 → 工作檔，讀完來源後再合併，避免交錯的年份反覆讀回與重寫
+        Map<String, YearSpill> spills = new LinkedHashMap<>();
+        String currentYear = null;
+        List<Holiday> buffer = new ArrayList<>();
+        int recordCount = 0;
+        int maxBuffered = 0;
 
-        try (BOMInputStream bomIn = BOMInputStream.builder()
-                .setInputStream(new FileInputStream(csvFile.toFile()))
-                .get();
-                Reader reader = new InputStreamReader(bomIn, StandardCharsets.UTF_8);
-                CSVParser parser = CSVParser.builder()
-                        .setReader(reader)
-                        .setFormat(buildCsvFormat())
-                        .get()) {
-
-            for (CSVRecord record : parser) {
-                holidays.add(mapToHoliday(record));
+        try {
+            try (BOMInputStream bomIn = BOMInputStream.builder()
+                    .setInputStream(in)
+                    .get();
+                    Reader reader = new InputStreamReader(bomIn, StandardCharsets.UTF_8);
+                    CSVParser parser = CSVParser.builder()
+                            .setReader(reader)
+                            .setFormat(buildCsvFormat())
+                            .get()) {
+
+                for (CSVRecord record : parser) {
+                    Holiday holiday = mapToHoliday(record);
+                    recordCount++;
+                    if (writtenYears.contains(holiday.getYear())) {
+                        YearSpill spill = spills.get(holiday.getYear());
+                        if (spill == null) {
+                            spill = new YearSpill(session.createScratch(yearFile(session, holiday.getYear())));
+                            spills.put(holiday.getYear(), spill);
+                        }
+                        spill.append(holiday);
+                        continue;
+                    }
+                    if (!holiday.getYear().equals(currentYear)) {
+                        flushYear(session, currentYear, buffer, writtenYears);
+                        currentYear = holiday.getYear();
+                        buffer = new ArrayList<>();
+                    }
+                    buffer.add(holiday);
+                    maxBuffered = Math.max(maxBuffered, buffer.size());
+                }
+            }
+            flushYear(session, currentYear, buffer, writtenYears);
+            for (Map.Entry<String, YearSpill> entry : spills.entrySet()) {
+                entry.getValue().close();
+                mergeSpilledYear(session, entry.getKey(), entry.getValue().file());
+            }
+        } finally {
+            for (YearSpill spill : spills.values()) {
+                spill.close();
+            }
+        }
+
+        long linkAndWrite = timings.get(PhaseTimings.Phase.LINK) + timings.get(PhaseTimings.Phase.WRITE)
+                - linkAndWriteBefore;
+        timings.add(PhaseTimings.Phase.PARSE, System.nanoTime() - startTime - linkAndWrite);
+        DistributionSummary.builder("holiday.fetch.buffered.records")
+                .description("串流解析 CSV 時同時保留在記憶體中的最多記錄數")
+                .register(meterRegistry)
+                .record(maxBuffered);
+        if (spills.isEmpty()) {
+            log.info("成功解析 {} 筆記錄。", recordCount);
+        } else {
+            log.info("成功解析 {} 筆記錄 (來源未依日期排序，{} 個年度經工作檔合併)。", recordCount, spills.size());
+        }
+        return writtenYears;
+    }
+
+    /**
+     * 處理並輸出單一年度串流中連續的記錄。
+     *
+     * @param session      輸出作業
+     * @param year         年份
+     * @param holidays     該年度的記錄
+     * @param writtenYears 本次已輸出的年份 (會加入此年份)
+     * @throws IOException 當寫入失敗時
+     */
+    private void flushYear(OutputSession session, String year, List<Holiday> holidays, Set<String> writtenYears)
+            throws IOException {
+        if (year == null || holidays.isEmpty()) {
+            return;
+        }
+        writtenYears.add(year);
+        outputYear(session, year, holidays);
+    }
+
+    /**
+     * 將已寫出年度的資料 (可能仍在暫存檔) 與工作檔中之後出現的記錄合併後重新輸出，維持來源順序。
+     *
+     * @param session   輸出作業
+     * @param year      年份
+     * @param spillFile 該年度之後出現的記錄
+     * @throws IOException 當讀取或寫入失敗時
+     */
+    private void mergeSpilledYear(OutputSession session, String year, Path spillFile) throws IOException {
+        List<Holiday> holidays = new ArrayList<>(session.readHolidays(yearFile(session, year)));
+        try (MappingIterator<Holiday> spilled = objectMapper.readerFor(Holiday.class)
+                .readValues(spillFile.toFile())) {
+            while (spilled.hasNext()) {
+                holidays.add(spilled.next());
+            }
+        }
+        Files.deleteIfExists(spillFile);
+        outputYear(session, year, holidays);
+    }
+
+    /**
+     * 處理年度的關聯節日並寫出。
+     *
+     * @param session  輸出作業
+     * @param year     年份
+     * @param holidays 該年度的完整記錄
+     * @throws IOException 當寫入失敗時
+     */
+    private void outputYear(OutputSession session, String year, List<Holiday> holidays) throws IOException {
+        Path jsonFile = yearFile(session, year);
+
+        // 處理關聯節日 (補假追蹤)
+        long linkStart = System.nanoTime();
+        processRelatedHolidays(holidays);
+        session.timings().add(PhaseTimings.Phase.LINK, System.nanoTime() - linkStart);
+
+        if (session.writeYear(jsonFile, Integer.parseInt(year), holidays)) {
+            log.info("已產生 {} 年度 JSON: {}", year, jsonFile.toAbsolutePath());
+        } else {
+            log.info("{} 年度資料未變更，略過寫入。", year);
+        }
+    }
+
+    private static Path yearFile(OutputSession session, String year) {
+        return session.outputPath().resolve(year + ".json");
+    }
+
+    /**
+     * 未依日期排序的來源中，已寫出年份之後出現的記錄 (以換行分隔的 JSON 逐筆附加至工作檔)。
+     */
+    private final class YearSpill implements Closeable {
+
+        private final Path file;
+
+        private final SequenceWriter writer;
+
+        private boolean closed;
+
+        YearSpill(Path file) throws IOException {
+            this.file = file;
+            this.writer = objectMapper.writer()
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .withRootValueSeparator("\n")
+                    .writeValues(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        Path file() {
+            return file;
+        }
+
+        void append(Holiday holiday) throws IOException {
+            writer.write(holiday);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writer.close();
             }
         }
-        return holidays;
     }
 
     /**
@@ -295,26 +957,6 @@ public class FetchDataService {
                 .collect(Collectors.groupingBy(Holiday::getYear));
     }
 
-    /**
-     * 輸出各年份的 JSON 檔案。
-     *
-     * @param groupedByYear 依年份分組的資料
-     * @throws IOException 當檔案寫入失敗時
-     */
-    private void writeYearlyJsonFiles(Map<String, List<Holiday>> groupedByYear) throws IOException {
-        Path outputPath = Paths.get(opendataProperties.holiday().outputDir());
-        Files.createDirectories(outputPath);
-
-        for (Map.Entry<String, List<Holiday>> entry : groupedByYear.entrySet()) {
-            String year = entry.getKey();
-            List<Holiday> holidaysOfYear = entry.getValue();
-
-            Path jsonFile = outputPath.resolve(year + ".json");
-            writeJsonWithLf(jsonFile, holidaysOfYear);
-            log.info("已產生 {} 年度 JSON: {}", year, jsonFile.toAbsolutePath());
-        }
-    }
-
     /**
      * 產生年份索引檔 (years.json)。
      *
@@ -323,14 +965,15 @@ public class FetchDataService {
      * 確保索引包含所有年份，而非僅限於當次下載的資料。
      * </p>
      *
-     * @param groupedByYear 依年份分組的資料（用於確保新年份也被包含）
+     * @param years   本次輸出的年份（用於確保新年份也被包含）
+     * @param session 輸出作業
      * @throws IOException 當檔案寫入失敗時
      */
-    private void writeYearsIndex(Map<String, List<Holiday>> groupedByYear) throws IOException {
-        Path outputPath = Paths.get(opendataProperties.holiday().outputDir());
+    private void writeYearsIndex(Set<String> years, OutputSession session) throws IOException {
+        Path outputPath = session.outputPath();
 
         // 掃描目錄中所有 {year}.json 檔案，取得完整的年份列表
-        List<String> allYears = new ArrayList<>(groupedByYear.keySet());
+        List<String> allYears = new ArrayList<>(years);
 
         try (var files = Files.list(outputPath)) {
             files.filter(Files::isRegularFile)
@@ -347,46 +990,208 @@ public class FetchDataService {
                 .toList();
 
         Path yearsFile = outputPath.resolve("years.json");
-        writeJsonWithLf(yearsFile, sortedYears);
-        log.info("已產生年份索引檔 (共 {} 個年份): {}", sortedYears.size(), yearsFile.toAbsolutePath());
+        if (session.write(yearsFile, sortedYears)) {
+            log.info("已產生年份索引檔 (共 {} 個年份): {}", sortedYears.size(), yearsFile.toAbsolutePath());
+        } else {
+            log.info("年份索引未變更，略過寫入。");
+        }
     }
 
     /**
-     * 將物件寫入 JSON 檔案，使用 LF 換行符號。
+     * 讀取抓取清單。
      *
-     * @param filePath 檔案路徑
-     * @param data     要序列化的資料物件
-     * @throws IOException 當檔案寫入失敗時
+     * @param outputPath 輸出目錄
+     * @return 清單內容；檔案不存在或無法解析時回傳空白清單 (等同完整重跑)
      */
-    private void writeJsonWithLf(Path filePath, Object data) throws IOException {
-        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(filePath), StandardCharsets.UTF_8)) {
-            String json = objectMapper.writeValueAsString(data);
-            // 確保換行符號為 LF（移除可能的 CR）
-            json = json.replace("\r\n", "\n").replace("\r", "\n");
-            writer.write(json);
-            // 確保檔案以 LF 結尾
-            if (!json.endsWith("\n")) {
-                writer.write("\n");
-            }
+    private FetchManifest loadManifest(Path outputPath) {
+        Path manifestFile = outputPath.resolve(FetchManifest.FILE_NAME);
+        if (!Files.isRegularFile(manifestFile)) {
+            return FetchManifest.empty();
+        }
+        try {
+            return objectMapper.readValue(manifestFile.toFile(), FetchManifest.class);
+        } catch (IOException e) {
+            log.warn("抓取清單無法解析，將視為首次抓取: {}", manifestFile, e);
+            return FetchManifest.empty();
         }
     }
 
     /**
-     * 清理暫存檔案。
+     * 單次輸出作業。
      *
-     * @param tempFile 暫存檔路徑
+     * <p>
+     * 所有檔案以同一批次寫入暫存檔，{@link #commit} 時依加入順序原子替換 (年度檔 → years.json → 清單)，
+     * 中途失敗則不替換任何檔案，years.json 不會指向尚未寫入的年度。
+     * 內容雜湊與磁碟上現有檔案相同的檔案不替換，以保留檔案時間戳記並避免觸發不必要的重新載入與部署差異。
+     * 一律與實際檔案比對而非上次清單記錄的雜湊，檔案經手動編輯或與清單不符時仍會以本次內容替換。
+     * </p>
      */
-    private void cleanupTempFile(Path tempFile) {
-        if (tempFile == null) {
-            return;
+    private final class OutputSession implements Closeable {
+
+        private final Path outputPath;
+
+        /** 上次的抓取清單 */
+        private final FetchManifest previous;
+
+        /** 檔名 → 本次內容雜湊 (未處理的檔案沿用上次記錄；可能由多個執行緒同時更新) */
+        private final Map<String, String> fileHashes;
+
+        private final AtomicJsonWriter.Batch batch = jsonWriter.begin();
+
+        /** 各階段耗時 (寫入階段由本物件累計) */
+        private final PhaseTimings timings;
+
+        OutputSession(Path outputPath, FetchManifest previous, PhaseTimings timings) {
+            this.outputPath = outputPath;
+            this.previous = previous;
+            this.fileHashes = new ConcurrentSkipListMap<>(previous.fileHashes());
+            this.timings = timings;
         }
-        try {
-            boolean deleted = Files.deleteIfExists(tempFile);
-            if (deleted) {
-                log.info("暫存檔已刪除: {}", tempFile);
+
+        Path outputPath() {
+            return outputPath;
+        }
+
+        PhaseTimings timings() {
+            return timings;
+        }
+
+        /**
+         * 將資料寫入暫存檔，內容未變更時放棄暫存檔。
+         *
+         * @param file 目標檔案
+         * @param data 要序列化的資料物件
+         * @return 內容有變更 (commit 時會替換) 時為 true
+         * @throws IOException 當檔案讀取或寫入失敗時
+         */
+        boolean write(Path file, Object data) throws IOException {
+            long startTime = System.nanoTime();
+            try {
+                return stageIfChanged(file, data);
+            } finally {
+                timings.add(PhaseTimings.Phase.WRITE, System.nanoTime() - startTime);
             }
-        } catch (IOException e) {
-            log.warn("無法刪除暫存檔: {}", tempFile, e);
+        }
+
+        /**
+         * 寫入年度 JSON，並以 JSON 內容的雜湊輸出對應的二進位快照。
+         *
+         * <p>
+         * 二進位快照與 JSON 屬於同一批次，內容未變更時同樣不替換；
+         * 資料含有不屬於該年度或不存在的日期時不輸出快照，讀取端會改為解析 JSON。
+         * </p>
+         *
+         * @param jsonFile 年度 JSON 檔案
+         * @param year     西元年份
+         * @param holidays 該年度的假日資料
+         * @return JSON 內容有變更時為 true
+         * @throws IOException 當檔案讀取或寫入失敗時
+         */
+        boolean writeYear(Path jsonFile, int year, List<Holiday> holidays) throws IOException {
+            long startTime = System.nanoTime();
+            try {
+                String hash = batch.stage(jsonFile, holidays);
+                boolean changed = keepIfChanged(jsonFile, hash);
+                if (opendataProperties.holiday().snapshot().enabled()) {
+                    HolidayTable table = HolidayTable.of(year, holidays);
+                    if (table.size() == holidays.size()) {
+                        byte[] sourceHash = HexFormat.of().parseHex(hash);
+                        Path binFile = BinarySnapshotCodec.resolve(jsonFile);
+                        keepIfChanged(binFile,
+                                batch.stage(binFile, out -> BinarySnapshotCodec.write(table, sourceHash, out)));
+                    } else {
+                        log.warn("{} 年度資料包含不合法的日期，略過二進位快照。", year);
+                    }
+                }
+                return changed;
+            } finally {
+                timings.add(PhaseTimings.Phase.WRITE, System.nanoTime() - startTime);
+            }
+        }
+
+        private boolean stageIfChanged(Path file, Object data) throws IOException {
+            return keepIfChanged(file, batch.stage(file, data));
+        }
+
+        /**
+         * 已寫入暫存檔的內容與現有檔案相同時放棄暫存檔。
+         *
+         * <p>
+         * 年度檔案約數十 KB，每次皆讀取實際檔案計算雜湊；不以清單記錄的雜湊判斷，
+         * 避免手動編輯或不一致的檔案因與清單相符而被保留 (其二進位快照也將與 JSON 不符)。
+         * </p>
+         *
+         * @param file 目標檔案
+         * @param hash 暫存內容的雜湊
+         * @return 內容有變更 (commit 時會替換) 時為 true
+         * @throws IOException 當檔案讀取失敗時
+         */
+        private boolean keepIfChanged(Path file, String hash) throws IOException {
+            fileHashes.put(file.getFileName().toString(), hash);
+            if (Files.isRegularFile(file) && hash.equals(sha256(Files.readAllBytes(file)))) {
+                batch.discard(file);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * 在目標檔案所在目錄建立工作檔，作業結束時刪除。
+         *
+         * @param file 目標檔案
+         * @return 空的工作檔
+         * @throws IOException 當檔案建立失敗時
+         */
+        Path createScratch(Path file) throws IOException {
+            return batch.createScratch(file);
+        }
+
+        /**
+         * 讀取目標檔案目前的內容 (本次已寫入暫存檔時讀取暫存檔)。
+         *
+         * @param file 目標檔案
+         * @return Holiday 列表
+         * @throws IOException 當檔案讀取失敗時
+         */
+        List<Holiday> readHolidays(Path file) throws IOException {
+            return loadHolidaysFromJson(batch.resolve(file));
+        }
+
+        /**
+         * 寫入新的抓取清單並依序替換所有變更的檔案。
+         *
+         * @param sourceUrl    資料來源 URL
+         * @param etag         資料來源回應的 ETag
+         * @param lastModified 資料來源回應的 Last-Modified
+         * @throws IOException 當檔案寫入失敗時
+         */
+        void commit(String sourceUrl, String etag, String lastModified) throws IOException {
+            long startTime = System.nanoTime();
+            FetchManifest manifest = new FetchManifest(sourceUrl, etag, lastModified, fileHashes);
+            if (!manifest.equals(previous)) {
+                batch.stage(outputPath.resolve(FetchManifest.FILE_NAME), manifest);
+            }
+            batch.commit();
+            timings.add(PhaseTimings.Phase.WRITE, System.nanoTime() - startTime);
+        }
+
+        @Override
+        public void close() throws IOException {
+            batch.close();
+        }
+    }
+
+    /**
+     * 計算內容的 SHA-256 (十六進位)。
+     *
+     * @param content 內容
+     * @return 雜湊字串
+     */
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支援 SHA-256", e);
         }
     }
 
@@ -398,6 +1203,11 @@ public class FetchDataService {
      * 此時將 10/25 的節日名稱填入 10/24 的 note 欄位。
      * </p>
      *
+     * <p>
+     * 每個年度僅掃描一次所有說明，將其中提及的「M月D日」建立為「日期 → 來源節日」索引，
+     * 再以雜湊查詢連結目標節日，整體為線性時間。
+     * </p>
+     *
      * @param holidays 所有節日列表
      */
     private void processRelatedHolidays(List<Holiday> holidays) {
@@ -405,17 +1215,19 @@ public class FetchDataService {
         Map<String, List<Holiday>> byYear = groupByYear(holidays);
 
         for (List<Holiday> yearList : byYear.values()) {
+            Map<Integer, List<Holiday>> mentions = indexDateMentions(yearList);
+
             for (Holiday target : yearList) {
                 if (!isTargetForLinking(target)) {
                     continue;
                 }
 
-                java.util.regex.Pattern pattern = createDateSearchPattern(target.getDate());
-                if (pattern == null) {
+                int monthDay = toMonthDay(target.getDate());
+                if (monthDay < 0) {
                     continue;
                 }
 
-                findAndLinkSourceHoliday(target, yearList, pattern);
+                linkSourceHoliday(target, mentions.getOrDefault(monthDay, List.of()));
             }
         }
     }
@@ -434,73 +1246,98 @@ public class FetchDataService {
     }
 
     /**
-     * 建立日期搜尋的正則表達式 Pattern。
+     * 掃描同一年份所有節日的說明，建立「提及的日期 (MMdd) → 來源節日」索引。
+     *
+     * <p>
+     * 來源節日依原列表順序排列，同一說明重複提及相同日期時只記錄一次。
+     * </p>
+     *
+     * @param yearList 同一年份的節日列表
+     * @return 日期提及索引
      */
-    private java.util.regex.Pattern createDateSearchPattern(String dateStr) {
-        if (dateStr == null || dateStr.length() != 8) {
-            return null;
-        }
-        try {
-            int month = Integer.parseInt(dateStr.substring(4, 6));
-            int day = Integer.parseInt(dateStr.substring(6, 8));
-
-            String mStr = String.valueOf(month);
-            String mPad = String.format("%02d", month);
-            String mChi = toChineseNum(month);
-
-            String dayStr = String.valueOf(day);
-            String dPad = String.format("%02d", day);
-            String dChi = toChineseNum(day);
-
-            // 建構 Regex: (M|MM|中文) + 可能空白 + "月" + 可能空白 + (D|DD|中文) + 可能空白 + "日"
-            String regex = String.format("(%s|%s|%s)\\s*月\\s*(%s|%s|%s)\\s*日",
-                    mStr, mPad, mChi, dayStr, dPad, dChi);
-
-            return java.util.regex.Pattern.compile(regex);
-        } catch (NumberFormatException e) {
-            return null;
+    private Map<Integer, List<Holiday>> indexDateMentions(List<Holiday> yearList) {
+        Map<Integer, List<Holiday>> mentions = new HashMap<>();
+        for (Holiday source : yearList) {
+            String desc = source.getDescription();
+            if (desc == null || desc.indexOf('月') < 0) {
+                continue;
+            }
+            Matcher matcher = DATE_MENTION_PATTERN.matcher(desc);
+            while (matcher.find()) {
+                int month = parseDateNumber(matcher.group(1));
+                int day = parseDateNumber(matcher.group(2));
+                if (month < 1 || month > 12 || day < 1 || day > 31) {
+                    continue;
+                }
+                List<Holiday> sources = mentions.computeIfAbsent(month * 100 + day, key -> new ArrayList<>(1));
+                if (sources.isEmpty() || sources.get(sources.size() - 1) != source) {
+                    sources.add(source);
+                }
+            }
         }
+        return mentions;
     }
 
     /**
-     * 在同一年份清單中尋找符合 Pattern 的來源節日，並連結至目標節日。
+     * 從提及目標日期的來源節日中，取第一個有名稱的節日連結至目標節日。
+     *
+     * @param target  目標節日
+     * @param sources 提及目標日期的來源節日 (依原列表順序)
      */
-    private void findAndLinkSourceHoliday(Holiday target, List<Holiday> yearList, java.util.regex.Pattern pattern) {
-        for (Holiday source : yearList) {
-            if (source == target)
+    private void linkSourceHoliday(Holiday target, List<Holiday> sources) {
+        for (Holiday source : sources) {
+            if (source == target) {
                 continue;
-
-            String desc = source.getDescription();
-            if (desc != null) {
-                if (pattern.matcher(desc).find()) {
-                    String sourceName = source.getName();
-                    if (sourceName != null && !sourceName.isEmpty()) {
-                        target.setNote(sourceName);
-                        return; // 找到一個就停止
-                    }
-                }
             }
+            String sourceName = source.getName();
+            if (sourceName != null && !sourceName.isEmpty()) {
+                target.setNote(sourceName);
+                return; // 找到一個就停止
+            }
+        }
+    }
+
+    /**
+     * 將 yyyyMMdd 日期字串轉換為 MMdd 整數。
+     *
+     * @param dateStr 日期字串
+     * @return MMdd 整數，格式錯誤時回傳 -1
+     */
+    private int toMonthDay(String dateStr) {
+        if (dateStr == null || dateStr.length() != 8) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(dateStr.substring(4, 8));
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
     /**
-     * 將數字轉換為中文數字 (僅支援日期用途，1-31)。
+     * 將日期用途的數字 (阿拉伯數字或中文數字，1-31) 轉換為整數。
      *
-     * @param num 數字
-     * @return 中文數字字串
+     * <p>
+     * 中文數字支援「五」、「十」、「十二」、「二十」、「三十一」等寫法。
+     * </p>
+     *
+     * @param text 數字文字
+     * @return 整數，無法解析時回傳 -1
      */
-    private String toChineseNum(int num) {
-        final String[] chinese = { "", "一", "二", "三", "四", "五", "六", "七", "八", "九", "十" };
-        if (num <= 10) {
-            return chinese[num];
-        } else if (num < 20) {
-            return "十" + (num % 10 == 0 ? "" : chinese[num % 10]);
-        } else if (num < 30) {
-            return "二十" + (num % 10 == 0 ? "" : chinese[num % 10]);
-        } else if (num < 40) {
-            return "三十" + (num % 10 == 0 ? "" : chinese[num % 10]);
+    private int parseDateNumber(String text) {
+        if (Character.isDigit(text.charAt(0))) {
+            return Integer.parseInt(text);
+        }
+        int tenIndex = text.indexOf('十');
+        if (tenIndex < 0) {
+            return text.length() == 1 ? CHINESE_DIGITS.indexOf(text.charAt(0)) : -1;
+        }
+        int tens = tenIndex == 0 ? 1 : CHINESE_DIGITS.indexOf(text.charAt(0));
+        int ones = tenIndex == text.length() - 1 ? 0 : CHINESE_DIGITS.indexOf(text.charAt(tenIndex + 1));
+        if (tenIndex > 1 || tens < 1 || ones < 0 || text.length() > tenIndex + 2) {
+            return -1;
         }
-        return String.valueOf(num);
+        return tens * 10 + ones;
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.example.toc.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 年度資料預載健康檢查。
+ *
+ * <p>
+ * 預載完成且所有年度皆載入成功時回報 UP，納入 readiness 群組後，
+ * 資料未就緒的實例不會接收流量。預載失敗時每次檢查都會重試失敗的年度 ({@link HolidayPreloader#recheck()})，
+ * 檔案修正後即恢復 UP。未啟用預載時 (例如 Task Mode) 一律回報 UP。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Component
+public class HolidayDataHealthIndicator implements HealthIndicator {
+
+    /** 年度資料預載器 (未啟用預載時不存在) */
+    private final ObjectProvider<HolidayPreloader> holidayPreloader;
+
+    @Override
+    public Health health() {
+        HolidayPreloader preloader = holidayPreloader.getIfAvailable();
+        if (preloader == null) {
+            return Health.up().withDetail("preload", "disabled").build();
+        }
+        HolidayPreloader.Status status = preloader.recheck();
+        Health.Builder builder = status == HolidayPreloader.Status.COMPLETED
+                ? Health.up()
+                : Health.down();
+        return builder.withDetail("status", status)
+                .withDetail("loadedYears", preloader.getLoadedYears())
+                .withDetail("failedYears", preloader.getFailedYears())
+                .withDetail("warmUpTimeMs", preloader.getWarmUpTime().toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,576 @@
+package com.example.toc.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.config.OpendataProperties;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.Holiday;
+import com.example.toc.model.PrecomputedRepresentation;
+import com.example.toc.model.calendar.BinarySnapshotCodec;
+import com.example.toc.model.calendar.HolidayTable;
+import com.example.toc.model.calendar.IcsCalendar;
+import com.example.toc.model.calendar.YearCalendar;
+import com.example.toc.model.calendar.YearSnapshot;
+import com.example.toc.model.calendar.YearStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 年度假日資料讀取服務。
+ *
+ * <p>
+ * 負責從輸出目錄讀取預先產生的 {@code {year}.json}，並建立包含精簡資料、索引、每月統計與預先序列化回應內容 (JSON 與 iCalendar) 的
+ * {@link YearSnapshot}，供 API 與各種索引共用，避免重複解析同一份檔案。
+ * </p>
+ *
+ * <p>
+ * 若同目錄下有由目前 JSON 內容產生的二進位快照 ({@code {year}.bin})，會直接讀取欄位陣列，
+ * 不需 Jackson 解析或建立 {@link Holiday} 物件；快照不存在、損毀或與 JSON 內容不符時改為解析 JSON。
+ * </p>
+ *
+ * <p>
+ * 年度快照存放於 Caffeine 快取 ({@code opendata.holiday.cache.*})：依內容大小限制總量、移除長時間未查詢的年度，
+ * 載入一段時間後於背景比對檔案修改時間並視需要重新載入 (查詢端不等待)，不存在的年度也會短暫快取，
+ * 避免重複檢查檔案。同一年度同時只會載入一次，快照整份替換，讀取端不會看到只載入一半的年度。
+ * 快取命中、未命中與移除統計以 {@code cache.*} 指標輸出 (標籤 {@code cache}、{@code source})。
+ * 設定多個資料來源 ({@code opendata.holiday.sources}) 時，合併資料與各來源的年度快照分開存放，
+ * 各自自 {@code {outputDir}} 與 {@code {outputDir}/sources/{name}} 載入。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@Service
+public class HolidayDataService {
+
+    /** 不存在年度快取的筆數上限 */
+    private static final int MAX_MISSING_YEARS = 1024;
+
+    /** 指標中合併資料的來源標籤 */
+    private static final String DEFAULT_SOURCE_TAG = "merged";
+
+    /** JSON 反序列化器 */
+    private final ObjectMapper objectMapper;
+
+    /** 開放資料設定屬性 */
+    private final OpendataProperties opendataProperties;
+
+    /** 合併資料 (未指定資料來源) 的年度快照 */
+    private final YearStore defaultStore;
+
+    /** 各具名資料來源的年度快照 (Key: 來源名稱)，彼此獨立載入與替換 */
+    private final Map<String, YearStore> sourceStores;
+
+    /** 快取背景重新載入與維護使用的執行器 (虛擬執行緒) */
+    private final Executor cacheExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("holiday-cache-", 0).factory());
+
+    /** 指標註冊中心 */
+    private final MeterRegistry meterRegistry;
+
+    public HolidayDataService(ObjectMapper objectMapper, OpendataProperties opendataProperties,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.opendataProperties = opendataProperties;
+        this.meterRegistry = meterRegistry;
+        Path outputDir = Paths.get(opendataProperties.holiday().outputDir());
+        this.defaultStore = new YearStore(null, outputDir);
+        Map<String, YearStore> stores = new LinkedHashMap<>();
+        for (OpendataProperties.Source source : opendataProperties.holiday().sources()) {
+            stores.put(source.name(), new YearStore(source.name(), source.directory(outputDir)));
+        }
+        this.sourceStores = Collections.unmodifiableMap(stores);
+        Gauge.builder("holiday.snapshot.loaded", this, service -> service.loadedSnapshotCount())
+                .description("已載入記憶體的年度快照數 (含各資料來源)")
+                .register(meterRegistry);
+        snapshotRequests("hit", CacheStats::hitCount);
+        snapshotRequests("miss", CacheStats::missCount);
+    }
+
+    /**
+     * 依年份取得年度快照。
+     *
+     * @param year 西元年份 (例如: 2024)
+     * @return 年度快照
+     * @throws ResourceNotFoundException 當年份格式錯誤或指定年份的資料不存在時
+     */
+    public YearSnapshot getYearSnapshot(String year) {
+        return getYearSnapshot(null, year);
+    }
+
+    /**
+     * 依資料來源與年份取得年度快照。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份 (例如: 2024)
+     * @return 年度快照
+     * @throws ResourceNotFoundException 當資料來源不存在、年份格式錯誤或指定年份的資料不存在時
+     */
+    public YearSnapshot getYearSnapshot(String source, String year) {
+        // Validate input format to prevent path traversal
+        if (year == null || !year.matches("^\\d{4}$")) {
+            throw new ResourceNotFoundException("年份格式錯誤，僅允許 4 位數字");
+        }
+        return getYearSnapshot(source, Integer.parseInt(year));
+    }
+
+    /**
+     * 依年份取得年度快照，尚未載入時自檔案載入。
+     *
+     * @param year 西元年份
+     * @return 年度快照
+     * @throws ResourceNotFoundException 當指定年份的資料不存在時
+     */
+    public YearSnapshot getYearSnapshot(int year) {
+        return defaultStore.get(year);
+    }
+
+    /**
+     * 依資料來源與年份取得年度快照，尚未載入時自檔案載入。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份
+     * @return 年度快照
+     * @throws ResourceNotFoundException 當資料來源不存在或指定年份的資料不存在時
+     */
+    public YearSnapshot getYearSnapshot(String source, int year) {
+        return storeFor(source).get(year);
+    }
+
+    /**
+     * 重新載入指定年度的檔案，並以新快照整份替換。
+     *
+     * <p>
+     * 檔案已刪除時移除該年度快照；解析失敗時保留舊快照 (例如檔案仍在寫入中)，
+     * 待下一次檔案變更時再重試。
+     * </p>
+     *
+     * @param year 西元年份
+     * @return true 若已替換或移除快照
+     */
+    public boolean reload(int year) {
+        return defaultStore.reload(year);
+    }
+
+    /**
+     * 重新載入指定資料來源的年度檔案。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份
+     * @return true 若已替換或移除快照
+     * @throws ResourceNotFoundException 當資料來源不存在時
+     * @see #reload(int)
+     */
+    public boolean reload(String source, int year) {
+        return storeFor(source).reload(year);
+    }
+
+    /**
+     * 重新載入檔案已變更或已刪除的年度 (含各資料來源)，供抓取完成後一次更新記憶體中的快照。
+     *
+     * <p>
+     * 僅檢查已載入的年度，以檔案修改時間與快照比對，檔案未變更的年度維持原快照；
+     * 尚未載入的年度於第一次查詢時才自新檔案載入。已由檔案監看重新載入的年度不會重複載入。
+     * </p>
+     *
+     * @return 已替換或移除的快照數
+     */
+    public int reloadModified() {
+        int reloaded = defaultStore.reloadModified();
+        for (YearStore store : sourceStores.values()) {
+            reloaded += store.reloadModified();
+        }
+        return reloaded;
+    }
+
+    /**
+     * 判斷資料來源是否存在。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @return true 若為合併資料或已設定的資料來源
+     */
+    public boolean hasSource(String source) {
+        return source == null || source.isBlank() || sourceStores.containsKey(source);
+    }
+
+    /**
+     * 取得已設定的資料來源名稱。
+     *
+     * @return 資料來源名稱 (依設定順序)
+     */
+    public Set<String> sourceNames() {
+        return sourceStores.keySet();
+    }
+
+    /**
+     * 讀取年份索引檔 (years.json) 中列出的年份；索引檔不存在時改為掃描輸出目錄。
+     *
+     * @return 年份列表
+     * @throws IOException 當索引檔或目錄讀取失敗時
+     */
+    public List<Integer> listAvailableYears() throws IOException {
+        Path outputDir = defaultStore.dir;
+        Path yearsFile = outputDir.resolve("years.json");
+        if (Files.exists(yearsFile)) {
+            List<String> years = objectMapper.readValue(yearsFile.toFile(), new TypeReference<List<String>>() {
+            });
+            return years.stream().map(Integer::valueOf).toList();
+        }
+        try (var files = Files.list(outputDir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.matches("\\d{4}\\.json"))
+                    .map(name -> Integer.valueOf(name.substring(0, 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 取得指定年度 JSON 檔案的路徑。
+     *
+     * @param year 西元年份
+     * @return 檔案路徑
+     */
+    public Path resolveYearFile(int year) {
+        return defaultStore.resolveYearFile(year);
+    }
+
+    private YearStore storeFor(String source) {
+        if (source == null || source.isBlank()) {
+            return defaultStore;
+        }
+        YearStore store = sourceStores.get(source);
+        if (store == null) {
+            throw new ResourceNotFoundException("查無資料來源: " + source);
+        }
+        return store;
+    }
+
+    private long loadedSnapshotCount() {
+        long count = defaultStore.snapshots.estimatedSize();
+        for (YearStore store : sourceStores.values()) {
+            count += store.snapshots.estimatedSize();
+        }
+        return count;
+    }
+
+    /**
+     * 讀取年度檔案並建立快照。
+     *
+     * @param jsonFile 年度 JSON 檔案
+     * @param year     西元年份
+     * @return 年度快照
+     * @throws IOException 當檔案讀取或解析失敗時
+     */
+    private YearSnapshot loadSnapshot(Path jsonFile, int year) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable error = null;
+        try {
+            return readSnapshot(jsonFile, year);
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("holiday.year.load")
+                    .description("自檔案載入年度資料並建立快照的耗時")
+                    .tag(HolidayMetrics.TAG_YEAR, HolidayMetrics.yearBucket(year))
+                    .tag(HolidayMetrics.TAG_OUTCOME, HolidayMetrics.outcome(error))
+                    .register(meterRegistry));
+        }
+    }
+
+    private YearSnapshot readSnapshot(Path jsonFile, int year) throws IOException {
+        long lastModified = jsonFile.toFile().lastModified();
+        byte[] json = Files.readAllBytes(jsonFile);
+        HolidayTable table = readBinarySnapshot(year, jsonFile, json);
+        if (table == null) {
+            // 解析後的 Holiday 物件僅用於建立精簡結構，不會長期保留
+            List<Holiday> holidays = objectMapper.readValue(json, new TypeReference<List<Holiday>>() {
+            });
+            validate(year, holidays);
+            table = HolidayTable.of(year, holidays);
+        }
+        PrecomputedRepresentation representation = PrecomputedRepresentation.of(toCompactJson(table),
+                lastModified);
+        PrecomputedRepresentation ics = PrecomputedRepresentation.of(IcsCalendar.of(table, lastModified),
+                lastModified);
+        YearCalendar calendar = YearCalendar.of(table);
+        return new YearSnapshot(year, table, calendar, representation, ics, YearStats.of(table, calendar));
+    }
+
+    /**
+     * 讀取與 JSON 內容相符的二進位快照。
+     *
+     * @param year     西元年份
+     * @param jsonFile 年度 JSON 檔案
+     * @param json     年度 JSON 檔案內容
+     * @return 年度資料；未啟用、快照不存在、損毀或與 JSON 內容不符時回傳 {@code null}
+     */
+    private HolidayTable readBinarySnapshot(int year, Path jsonFile, byte[] json) {
+        if (!opendataProperties.holiday().snapshot().enabled()) {
+            return null;
+        }
+        Path binFile = BinarySnapshotCodec.resolve(jsonFile);
+        if (!Files.isRegularFile(binFile)) {
+            return null;
+        }
+        try {
+            HolidayTable table = BinarySnapshotCodec.read(binFile, year, sha256(json));
+            if (table == null) {
+                log.info("{} 年度二進位快照與 JSON 內容不符，改為解析 JSON。", year);
+            }
+            return table;
+        } catch (IOException e) {
+            log.warn("{} 年度二進位快照無法讀取，改為解析 JSON: {}", year, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 以串流產生器將年度資料寫出為精簡 JSON (不縮排、依日期排序)。
+     *
+     * @param table 年度資料
+     * @return JSON 內容
+     * @throws IOException 當寫出失敗時
+     */
+    private byte[] toCompactJson(HolidayTable table) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(table.size() * 160);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartArray();
+            for (int row = 0; row < table.size(); row++) {
+                table.writeRow(generator, row);
+            }
+            generator.writeEndArray();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 驗證年度資料：每筆日期皆須為該年度內的合法 yyyyMMdd 日期。
+     *
+     * @param year     西元年份
+     * @param holidays 假日資料列表
+     * @throws IOException 當資料內容不合法時
+     */
+    private void validate(int year, List<Holiday> holidays) throws IOException {
+        for (Holiday holiday : holidays) {
+            String date = holiday.getDate();
+            if (date == null || !date.matches("^\\d{8}$") || Integer.parseInt(date.substring(0, 4)) != year) {
+                throw new IOException(year + " 年度資料包含不合法的日期: " + date);
+            }
+            try {
+                LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (DateTimeParseException e) {
+                throw new IOException(year + " 年度資料包含不存在的日期: " + date, e);
+            }
+        }
+    }
+
+    private long sumSnapshotStats(ToLongFunction<CacheStats> count) {
+        long total = count.applyAsLong(defaultStore.snapshots.stats());
+        for (YearStore store : sourceStores.values()) {
+            total += count.applyAsLong(store.snapshots.stats());
+        }
+        return total;
+    }
+
+    private void snapshotRequests(String result, ToLongFunction<CacheStats> count) {
+        FunctionCounter.builder("holiday.snapshot.requests", this, service -> service.sumSnapshotStats(count))
+                .description("年度快照查詢次數，依是否已載入區分 (命中率 = hit / (hit + miss))")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支援 SHA-256", e);
+        }
+    }
+
+    /**
+     * 單一資料來源 (或合併資料) 的年度快照快取。
+     *
+     * <p>
+     * 以內容大小為權重限制總量，並於背景依檔案修改時間重新載入 (refresh-ahead)；
+     * 不存在的年度另以短期快取記錄，{@link #reload(int)} 與 {@link #reloadModified()} 時清除。
+     * </p>
+     */
+    private final class YearStore implements CacheLoader<Integer, YearSnapshot> {
+
+        /** 資料來源名稱，合併資料為 null */
+        private final String source;
+
+        /** 年度檔案所在目錄 */
+        private final Path dir;
+
+        /** 年度快照 (Key: Year) */
+        private final LoadingCache<Integer, YearSnapshot> snapshots;
+
+        /** 不存在的年度 (Key: Year) */
+        private final Cache<Integer, Boolean> missingYears;
+
+        YearStore(String source, Path dir) {
+            this.source = source;
+            this.dir = dir;
+            OpendataProperties.Cache config = opendataProperties.holiday().cache();
+            this.snapshots = Caffeine.newBuilder()
+                    .maximumWeight(config.maxWeight().toBytes())
+                    .weigher((Integer year, YearSnapshot snapshot) -> snapshot.estimatedBytes())
+                    .expireAfterAccess(config.expireAfterAccess())
+                    .refreshAfterWrite(config.refreshAfterWrite())
+                    .executor(cacheExecutor)
+                    .recordStats()
+                    .build(this);
+            this.missingYears = Caffeine.newBuilder()
+                    .maximumSize(MAX_MISSING_YEARS)
+                    .expireAfterWrite(config.negativeTtl())
+                    .executor(cacheExecutor)
+                    .recordStats()
+                    .build();
+            Tags tags = Tags.of("source", source == null ? DEFAULT_SOURCE_TAG : source);
+            CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "holiday.snapshot", tags);
+            CaffeineCacheMetrics.monitor(meterRegistry, missingYears, "holiday.missing-year", tags);
+        }
+
+        Path resolveYearFile(int year) {
+            return dir.resolve(year + ".json");
+        }
+
+        YearSnapshot get(int year) {
+            // 未載入時同一年度同時只會有一個請求執行 load，其餘請求等待同一份結果
+            return snapshots.get(year);
+        }
+
+        @Override
+        public YearSnapshot load(Integer year) {
+            if (missingYears.getIfPresent(year) != null) {
+                throw new ResourceNotFoundException("找不到 " + label(year) + " 年度的假日資料");
+            }
+            Path jsonFile = resolveYearFile(year);
+            if (!Files.exists(jsonFile)) {
+                missingYears.put(year, Boolean.TRUE);
+                log.warn("找不到 {} 年度的假日資料。", label(year));
+                throw new ResourceNotFoundException("找不到 " + label(year) + " 年度的假日資料");
+            }
+            try {
+                return loadSnapshot(jsonFile, year);
+            } catch (IOException e) {
+                log.error("讀取 {} 年度假日資料時發生錯誤", label(year), e);
+                throw new ResourceNotFoundException("無法讀取 " + label(year) + " 年度的假日資料", e);
+            }
+        }
+
+        /**
+         * 背景重新載入：檔案未變更時沿用原快照，讀取失敗時保留原快照。
+         */
+        @Override
+        public YearSnapshot reload(Integer year, YearSnapshot old) {
+            Path jsonFile = resolveYearFile(year);
+            if (!Files.exists(jsonFile)) {
+                log.info("{} 年度檔案已移除，已清除快照。", label(year));
+                return null;
+            }
+            if (!isModified(jsonFile, old)) {
+                return old;
+            }
+            try {
+                YearSnapshot loaded = loadSnapshot(jsonFile, year);
+                log.info("已重新載入 {} 年度假日資料 ({} 筆)。", label(year), loaded.table().size());
+                return loaded;
+            } catch (IOException e) {
+                log.warn("重新載入 {} 年度假日資料失敗，保留原有快照: {}", label(year), e.getMessage());
+                return old;
+            }
+        }
+
+        boolean reload(int year) {
+            missingYears.invalidate(year);
+            Path jsonFile = resolveYearFile(year);
+            AtomicBoolean changed = new AtomicBoolean();
+            // compute 與同一年度的載入互斥，完成前查詢該年度的請求會等待新快照
+            snapshots.asMap().compute(year, (key, old) -> {
+                if (!Files.exists(jsonFile)) {
+                    if (old != null) {
+                        changed.set(true);
+                        log.info("{} 年度檔案已移除，已清除快照。", label(year));
+                    }
+                    return null;
+                }
+                try {
+                    YearSnapshot loaded = loadSnapshot(jsonFile, year);
+                    changed.set(true);
+                    log.info("已重新載入 {} 年度假日資料 ({} 筆)。", label(year), loaded.table().size());
+                    return loaded;
+                } catch (IOException e) {
+                    log.warn("重新載入 {} 年度假日資料失敗，保留原有快照: {}", label(year), e.getMessage());
+                    return old;
+                }
+            });
+            return changed.get();
+        }
+
+        int reloadModified() {
+            // 抓取後可能新增年度，不存在的年度需重新檢查
+            missingYears.invalidateAll();
+            int reloaded = 0;
+            for (YearSnapshot snapshot : List.copyOf(snapshots.asMap().values())) {
+                if (isModified(resolveYearFile(snapshot.year()), snapshot) && reload(snapshot.year())) {
+                    reloaded++;
+                }
+            }
+            return reloaded;
+        }
+
+        /**
+         * 判斷檔案是否已刪除，或修改時間與快照不同。
+         */
+        private boolean isModified(Path jsonFile, YearSnapshot snapshot) {
+            return !Files.exists(jsonFile)
+                    || jsonFile.toFile().lastModified() != snapshot.representation().lastModified();
+        }
+
+        /**
+         * 日誌與錯誤訊息中的年度名稱 (具名來源加上來源名稱)。
+         */
+        private String label(int year) {
+            return source == null ? String.valueOf(year) : source + " " + year;
+        }
+    }
+}
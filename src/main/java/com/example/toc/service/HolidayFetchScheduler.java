@@ -0,0 +1,193 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import com.example.toc.config.OpendataProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server Mode 定期抓取排程。
+ *
+ * <p>
+ * 依 {@code opendata.holiday.schedule.cron} 於背景執行 {@link FetchDataService#fetchAndProcess()}，
+ * 完成後以 {@link HolidayDataService#reloadModified()} 替換檔案已變更的年度快照，不需另外執行 {@code --job=fetch}。
+ * 每輪觸發時間加上至多 {@code jitter} 的隨機延遲；抓取於獨立的虛擬執行緒執行，不佔用請求與排程執行緒。
+ * </p>
+ *
+ * <p>
+ * 多個執行個體共用同一輸出目錄時，以目錄中的 {@value #LOCK_FILE} 檔案鎖輪流執行，並於鎖檔記錄最後完成的排程時間：
+ * 取得鎖時若本輪已由其他執行個體完成，只重新載入快照而不再抓取，避免同時對資料來源發出請求。
+ * 只有抓取成功或來源未變更時才記錄本輪，失敗時其他執行個體可於隨機延遲內接手重試。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "opendata.holiday.schedule", name = "enabled", havingValue = "true")
+public class HolidayFetchScheduler implements SmartLifecycle {
+
+    /** 抓取鎖檔名稱 (位於輸出目錄) */
+    static final String LOCK_FILE = ".fetch.lock";
+
+    /** 資料抓取服務 */
+    private final FetchDataService fetchDataService;
+
+    /** 年度假日資料服務 */
+    private final HolidayDataService holidayDataService;
+
+    /** 開放資料設定屬性 */
+    private final OpendataProperties opendataProperties;
+
+    /** 排程器 */
+    private final TaskScheduler taskScheduler;
+
+    private volatile boolean running;
+
+    private volatile ScheduledFuture<?> next;
+
+    @Override
+    public void start() {
+        running = true;
+        scheduleNext();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledFuture<?> future = next;
+        if (future != null) {
+            future.cancel(false);
+        }
+        next = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 排程下一輪：觸發時間為 cron 的下一個時間點加上隨機延遲。
+     */
+    private void scheduleNext() {
+        if (!running) {
+            return;
+        }
+        OpendataProperties.Schedule schedule = opendataProperties.holiday().schedule();
+        ZonedDateTime round = CronExpression.parse(schedule.cron()).next(ZonedDateTime.now(schedule.zone()));
+        if (round == null) {
+            log.warn("排程 {} 沒有下一次執行時間，停止定期抓取。", schedule.cron());
+            return;
+        }
+        long jitterMs = ThreadLocalRandom.current().nextLong(schedule.jitter().toMillis() + 1);
+        Instant fireAt = round.toInstant().plusMillis(jitterMs);
+        Instant roundInstant = round.toInstant();
+        next = taskScheduler.schedule(() -> Thread.ofVirtual()
+                .name("holiday-scheduled-fetch")
+                .start(() -> runRound(roundInstant)), fireAt);
+        log.info("下一次定期抓取: {} (隨機延遲 {} 秒)", round, jitterMs / 1000);
+    }
+
+    /**
+     * 執行一輪抓取並排程下一輪。
+     *
+     * @param round 本輪的排程時間 (不含隨機延遲)
+     */
+    private void runRound(Instant round) {
+        try {
+            if (fetchOnce(round)) {
+                log.info("定期抓取完成。");
+            }
+            int reloaded = holidayDataService.reloadModified();
+            log.info("已重新載入 {} 個變更的年度快照。", reloaded);
+        } catch (IOException e) {
+            log.error("定期抓取無法取得抓取鎖，略過本輪", e);
+        } catch (RuntimeException e) {
+            log.error("定期抓取失敗", e);
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * 取得輸出目錄的抓取鎖後執行抓取；本輪已由其他執行個體完成時不再抓取。
+     *
+     * <p>
+     * 抓取鎖為阻塞式，等待中的執行個體會在前一個執行個體完成後才讀取鎖檔中的排程時間，
+     * 因此同一輪只會成功抓取一次，其餘執行個體直接沿用其輸出。
+     * 抓取失敗時不記錄本輪，之後取得鎖的執行個體會再次嘗試。
+     * </p>
+     *
+     * @param round 本輪的排程時間
+     * @return true 若本執行個體抓取成功 (含來源未變更)
+     * @throws IOException 當鎖檔無法開啟或鎖定時
+     */
+    boolean fetchOnce(Instant round) throws IOException {
+        Path outputDir = Paths.get(opendataProperties.holiday().outputDir());
+        Files.createDirectories(outputDir);
+        try (FileChannel channel = FileChannel.open(outputDir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            long lastRound = readLastRound(channel);
+            if (lastRound >= round.toEpochMilli()) {
+                log.info("本輪 ({}) 已由其他執行個體抓取，略過抓取。", round);
+                return false;
+            }
+            log.info("開始定期抓取 (排程時間 {})。", round);
+            String outcome = fetchDataService.fetchAndProcess();
+            if (!HolidayMetrics.OUTCOME_SUCCESS.equals(outcome)
+                    && !HolidayMetrics.OUTCOME_NOT_MODIFIED.equals(outcome)) {
+                log.warn("定期抓取未成功 ({})，不記錄本輪，其他執行個體可接手重試。", outcome);
+                return false;
+            }
+            writeLastRound(channel, round.toEpochMilli());
+            return true;
+        }
+    }
+
+    private static long readLastRound(FileChannel channel) throws IOException {
+        if (channel.size() < Long.BYTES) {
+            return Long.MIN_VALUE;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return Long.MIN_VALUE;
+            }
+        }
+        return buffer.flip().getLong();
+    }
+
+    private static void writeLastRound(FileChannel channel, long round) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(round).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.truncate(Long.BYTES);
+        channel.force(false);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.toc.config.OpendataProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 年度 JSON 檔案監看器。
+ *
+ * <p>
+ * 於 Server Mode 以 {@link WatchService} 監看 {@code opendata.holiday.output-dir}，
+ * 當 {@code {year}.json} 或其二進位快照 {@code {year}.bin} 被新增、修改或刪除時，於背景執行緒重新載入該年度，
+ * 讓 {@code --job=fetch} 更新檔案後不需重新啟動伺服器。
+ * 設定多個資料來源時，啟動時已存在的各來源目錄 ({@code sources/{name}}) 也一併監看，變更時重新載入該來源的年度。
+ * </p>
+ *
+ * <p>
+ * 檔案寫入通常會觸發多次事件，因此會等待設定的靜止時間後才一次重新載入所有變更的年度。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "opendata.holiday.watch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HolidayFileWatcher implements SmartLifecycle {
+
+    /** 年度檔案名稱格式 */
+    private static final Pattern YEAR_FILE = Pattern.compile("^(\\d{4})\\.(?:json|bin)$");
+
+    /** 年度假日資料服務 */
+    private final HolidayDataService holidayDataService;
+
+    /** 開放資料設定屬性 */
+    private final OpendataProperties opendataProperties;
+
+    private volatile WatchService watchService;
+
+    private volatile Thread watcherThread;
+
+    /** 監看目錄 → 資料來源名稱 (輸出目錄本身為 null，表示合併資料) */
+    private final Map<Path, String> sourceByDir = new HashMap<>();
+
+    @Override
+    public void start() {
+        Path outputDir = Paths.get(opendataProperties.holiday().outputDir());
+        if (!Files.isDirectory(outputDir)) {
+            log.warn("輸出目錄不存在，略過檔案監看: {}", outputDir);
+            return;
+        }
+        sourceByDir.clear();
+        sourceByDir.put(outputDir, null);
+        for (OpendataProperties.Source source : opendataProperties.holiday().sources()) {
+            Path dir = source.directory(outputDir);
+            if (Files.isDirectory(dir)) {
+                sourceByDir.put(dir, source.name());
+            } else {
+                log.warn("資料來源 {} 的目錄不存在，略過監看: {}", source.name(), dir);
+            }
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path dir : sourceByDir.keySet()) {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            log.error("無法監看輸出目錄: {}", outputDir, e);
+            return;
+        }
+        watcherThread = Thread.ofPlatform()
+                .name("holiday-file-watcher")
+                .daemon()
+                .start(this::watchLoop);
+        log.info("開始監看年度檔案變更: {} (共 {} 個目錄)", outputDir.toAbsolutePath(), sourceByDir.size());
+    }
+
+    @Override
+    public void stop() {
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("關閉檔案監看失敗", e);
+            }
+        }
+        Thread thread = watcherThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        watchService = null;
+        watcherThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        Thread thread = watcherThread;
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     * 監看迴圈：累積變更的年度，靜止時間內沒有新事件時才重新載入。
+     */
+    private void watchLoop() {
+        long debounceMs = opendataProperties.holiday().watch().debounce().toMillis();
+        Set<PendingYear> pendingYears = new LinkedHashSet<>();
+        try {
+            while (true) {
+                WatchKey key = pendingYears.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(debounceMs, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    pendingYears.forEach(p -> holidayDataService.reload(p.source(), p.year()));
+                    pendingYears.clear();
+                    continue;
+                }
+
+                Path dir = (Path) key.watchable();
+                collectEvents(dir, key.pollEvents(), pendingYears);
+                if (!key.reset()) {
+                    log.warn("目錄已無法監看，停止監看該目錄: {}", dir);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("檔案監看已關閉。");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 將監看目錄的事件轉為待重新載入的年度 (同一年度的 JSON 與快照事件合併為一筆)。
+     *
+     * @param dir          監看目錄
+     * @param events       目錄的事件
+     * @param pendingYears 待重新載入的年度
+     */
+    void collectEvents(Path dir, List<WatchEvent<?>> events, Set<PendingYear> pendingYears) {
+        String source = sourceByDir.get(dir);
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                collectAllYears(dir, source, pendingYears);
+            } else if (event.context() instanceof Path path) {
+                Matcher matcher = YEAR_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    pendingYears.add(new PendingYear(source, Integer.parseInt(matcher.group(1))));
+                }
+            }
+        }
+    }
+
+    /**
+     * 事件溢位時無法得知哪些檔案變更，改為重新載入目錄中所有年度。
+     *
+     * @param dir          監看目錄
+     * @param source       資料來源名稱 (合併資料為 null)
+     * @param pendingYears 待重新載入的年度
+     */
+    private void collectAllYears(Path dir, String source, Set<PendingYear> pendingYears) {
+        try (var files = Files.list(dir)) {
+            files.map(p -> YEAR_FILE.matcher(p.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .forEach(m -> pendingYears.add(new PendingYear(source, Integer.parseInt(m.group(1)))));
+        } catch (IOException e) {
+            log.warn("掃描目錄失敗: {}", dir, e);
+        }
+    }
+
+    /**
+     * 待重新載入的年度。
+     *
+     * @param source 資料來源名稱 (合併資料為 null)
+     * @param year   西元年份
+     */
+    record PendingYear(String source, int year) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.toc.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.IncompleteDataException;
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.HolidayLookupResult;
+import com.example.toc.model.calendar.HolidayTable;
+import com.example.toc.model.calendar.YearCalendar;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 批次日期查詢服務。
+ *
+ * <p>
+ * 以串流方式逐筆讀取輸入的日期，透過 {@link HolidayTable} 與 {@link YearCalendar}
+ * 以 O(1) 查詢每一筆，並依輸入順序逐筆寫出結果，
+ * 輸入與輸出皆不需將整批資料保留於記憶體中。
+ * </p>
+ *
+ * <p>
+ * 資料不完整的年度只回傳已列於資料中的日期，其餘日期回傳錯誤訊息，不推測是否放假。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class HolidayLookupService {
+
+    /** JSON 序列化器（由 Spring 注入） */
+    private final ObjectMapper objectMapper;
+
+    /** 上班日索引服務（由 Spring 注入） */
+    private final CalendarIndexService calendarIndexService;
+
+    /**
+     * 逐筆查詢輸入的日期並寫出結果。
+     *
+     * @param source          資料來源名稱，空值表示合併資料
+     * @param in              輸入串流 (JSON 陣列，或每行一個日期)
+     * @param lineDelimited   輸入是否為每行一個日期的格式
+     * @param out             輸出串流
+     * @param ndjsonOutput    輸出是否為 NDJSON (否則為 JSON 陣列)
+     * @throws InvalidRequestException   當輸入不是 JSON 陣列時
+     * @throws ResourceNotFoundException 當資料來源不存在時
+     * @throws IOException               當讀寫串流失敗時
+     */
+    public void lookup(String source, InputStream in, boolean lineDelimited, OutputStream out, boolean ndjsonOutput)
+            throws IOException {
+        calendarIndexService.requireSource(source);
+        ObjectWriter writer = objectMapper.writerFor(HolidayLookupResult.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        Lookup lookup = new Lookup(source);
+
+        if (lineDelimited) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            try (SequenceWriter sequence = open(writer, out, ndjsonOutput)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String date = StringUtils.strip(line.trim(), "\",");
+                    if (!date.isEmpty()) {
+                        sequence.write(lookup.find(date));
+                    }
+                }
+            }
+            return;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("請求內容必須為日期字串陣列");
+            }
+            try (SequenceWriter sequence = open(writer, out, ndjsonOutput)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    if (token.isStructStart()) {
+                        parser.skipChildren();
+                        sequence.write(HolidayLookupResult.error(null, "不支援的陣列元素"));
+                    } else {
+                        sequence.write(lookup.find(parser.getText()));
+                    }
+                }
+            }
+        }
+    }
+
+    private SequenceWriter open(ObjectWriter writer, OutputStream out, boolean ndjsonOutput) throws IOException {
+        return ndjsonOutput ? writer.writeValues(out) : writer.writeValuesAsArray(out);
+    }
+
+    /**
+     * 單次批次查詢的狀態，保留上一筆所屬年度的索引，連續同年度的日期不需再查快取。
+     */
+    private class Lookup {
+
+        private final String source;
+        private int year = Integer.MIN_VALUE;
+        private YearCalendar calendar;
+        private HolidayTable table;
+        private String yearError;
+
+        Lookup(String source) {
+            this.source = source;
+        }
+
+        HolidayLookupResult find(String dateStr) {
+            LocalDate date;
+            try {
+                date = CalendarIndexService.parseDate(dateStr);
+            } catch (ResourceNotFoundException e) {
+                return HolidayLookupResult.error(dateStr, e.getMessage());
+            }
+
+            if (date.getYear() != year) {
+                year = date.getYear();
+                calendar = null;
+                table = null;
+                yearError = null;
+                try {
+                    table = calendarIndexService.getHolidayTable(source, year);
+                    calendar = calendarIndexService.getYearCalendar(source, year);
+                } catch (ResourceNotFoundException | IncompleteDataException e) {
+                    yearError = e.getMessage();
+                }
+            }
+
+            int dayOfYear = date.getDayOfYear() - 1;
+            int row = table == null ? -1 : table.rowOf(dayOfYear);
+            if (row < 0 && yearError != null) {
+                return HolidayLookupResult.error(dateStr, yearError);
+            }
+            // 已列於資料中的日期直接採用該列，資料不完整的年度也能回答
+            return HolidayLookupResult.of(dateStr, table, row, row < 0 && calendar.isOffDay(dayOfYear));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.toc.service;
+
+import java.time.Year;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+
+/**
+ * 指標 (Micrometer) 共用的低基數標籤值。
+ *
+ * <p>
+ * 年份不直接作為標籤 (每個年份一組時間序列)，而是依與今年的相對位置分為少數幾組；
+ * 結果以 success / not_found / bad_request / error 表示。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class HolidayMetrics {
+
+    /** 標籤名稱：年份分組 */
+    public static final String TAG_YEAR = "year";
+
+    /** 標籤名稱：結果 */
+    public static final String TAG_OUTCOME = "outcome";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_NOT_FOUND = "not_found";
+    public static final String OUTCOME_BAD_REQUEST = "bad_request";
+    public static final String OUTCOME_ERROR = "error";
+
+    /** 結果標籤：資料來源未變更 (HTTP 304)，僅用於資料抓取 */
+    public static final String OUTCOME_NOT_MODIFIED = "not_modified";
+
+    private HolidayMetrics() {
+    }
+
+    /**
+     * 將年份分組為 past / previous / current / next / future。
+     *
+     * @param year 西元年份
+     * @return 年份分組
+     */
+    public static String yearBucket(int year) {
+        int offset = year - Year.now().getValue();
+        if (offset < -1) {
+            return "past";
+        }
+        return switch (offset) {
+            case -1 -> "previous";
+            case 0 -> "current";
+            case 1 -> "next";
+            default -> "future";
+        };
+    }
+
+    /**
+     * 將年份字串分組，格式錯誤時為 invalid。
+     *
+     * @param year 年份字串
+     * @return 年份分組
+     */
+    public static String yearBucket(String year) {
+        if (year == null || !year.matches("^\\d{4}$")) {
+            return "invalid";
+        }
+        return yearBucket(Integer.parseInt(year));
+    }
+
+    /**
+     * 依例外類型決定結果標籤。
+     *
+     * @param error 例外 (null 表示成功)
+     * @return 結果標籤
+     */
+    public static String outcome(Throwable error) {
+        if (error == null) {
+            return OUTCOME_SUCCESS;
+        }
+        if (error instanceof ResourceNotFoundException) {
+            return OUTCOME_NOT_FOUND;
+        }
+        if (error instanceof InvalidRequestException) {
+            return OUTCOME_BAD_REQUEST;
+        }
+        return OUTCOME_ERROR;
+    }
+}
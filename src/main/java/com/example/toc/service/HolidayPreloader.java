@@ -0,0 +1,185 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 啟動時預先載入所有年度資料。
+ *
+ * <p>
+ * 於 Server Mode 的 {@link ApplicationStartedEvent} 階段讀取 {@code years.json}，
+ * 以虛擬執行緒平行載入並驗證每個 {@code {year}.json}。Spring Boot 於此事件處理完畢後
+ * 才會將 Readiness 狀態切換為 ACCEPTING_TRAFFIC，因此預載完成前探針不會回報 READY；
+ * 預載結果另由 {@link HolidayDataHealthIndicator} 納入 readiness 群組。
+ * </p>
+ *
+ * <p>
+ * 預載失敗的年度於每次健康檢查時以 {@link #recheck()} 重試，檔案經檔案監看、重新載入或定期抓取更新為正確內容後
+ * 即恢復為 COMPLETED，單一年度的錯誤檔案不會使實例永久維持 NOT READY。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "opendata.holiday.preload", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class HolidayPreloader {
+
+    /** 預載狀態 */
+    public enum Status {
+        /** 尚未完成 */
+        PENDING,
+        /** 全部年度載入成功 */
+        COMPLETED,
+        /** 部分年度載入失敗 (健康檢查時重試) */
+        FAILED
+    }
+
+    /** 年度假日資料服務 */
+    private final HolidayDataService holidayDataService;
+
+    /** 指標註冊器 */
+    private final MeterRegistry meterRegistry;
+
+    /** 預載狀態 */
+    @Getter
+    private volatile Status status = Status.PENDING;
+
+    /** 已載入的年度數 */
+    @Getter
+    private volatile int loadedYears;
+
+    /** 載入失敗的年度 */
+    @Getter
+    private volatile List<Integer> failedYears = List.of();
+
+    /** 預載耗時 */
+    @Getter
+    private volatile Duration warmUpTime = Duration.ZERO;
+
+    /** 年份索引讀取失敗 (重試時需重新載入所有年度)，以 this 同步 */
+    private boolean indexFailed;
+
+    /**
+     * 平行載入所有年度資料。
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void preload() {
+        TimeGauge.builder("holiday.preload.duration", this, TimeUnit.MILLISECONDS,
+                p -> p.getWarmUpTime().toMillis())
+                .description("啟動時預載所有年度資料的耗時")
+                .register(meterRegistry);
+        Gauge.builder("holiday.preload.years", this, HolidayPreloader::getLoadedYears)
+                .description("預載成功的年度數 (含健康檢查重試後恢復的年度)")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        List<Integer> years;
+        try {
+            years = holidayDataService.listAvailableYears();
+        } catch (IOException e) {
+            log.error("讀取年份索引失敗，略過預載", e);
+            indexFailed = true;
+            status = Status.FAILED;
+            return;
+        }
+
+        ConcurrentLinkedQueue<Integer> failed = new ConcurrentLinkedQueue<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Integer year : years) {
+                executor.submit(() -> {
+                    try {
+                        holidayDataService.getYearSnapshot(year);
+                    } catch (RuntimeException e) {
+                        log.error("預載 {} 年度假日資料失敗: {}", year, e.getMessage());
+                        failed.add(year);
+                    }
+                });
+            }
+        }
+
+        warmUpTime = Duration.ofNanos(System.nanoTime() - start);
+        failedYears = failed.stream().sorted().toList();
+        loadedYears = years.size() - failedYears.size();
+        status = failedYears.isEmpty() ? Status.COMPLETED : Status.FAILED;
+
+        log.info("已預載 {} 個年度假日資料，耗時 {} ms{}", loadedYears, warmUpTime.toMillis(),
+                failedYears.isEmpty() ? "" : "，失敗年度: " + failedYears);
+    }
+
+    /**
+     * 重試先前預載失敗的年度，全部載入成功時狀態改為 COMPLETED。
+     *
+     * <p>
+     * 依目前的年份索引重試：已不在索引中的年度不再視為失敗；年份索引先前讀取失敗時重試索引中的所有年度。
+     * 已載入的年度直接由快取取得，不會重新讀檔。未失敗時不做任何事。
+     * </p>
+     *
+     * @return 重試後的預載狀態
+     */
+    public Status recheck() {
+        // 預載進行中 (PENDING) 或已完成時不需取得鎖，健康檢查不會等待預載
+        if (status != Status.FAILED) {
+            return status;
+        }
+        synchronized (this) {
+            return retryFailedYears();
+        }
+    }
+
+    private Status retryFailedYears() {
+        if (status != Status.FAILED) {
+            return status;
+        }
+        List<Integer> available;
+        try {
+            available = holidayDataService.listAvailableYears();
+        } catch (IOException e) {
+            log.debug("讀取年份索引失敗，稍後再重試: {}", e.getMessage());
+            return status;
+        }
+        List<Integer> retried = indexFailed
+                ? available
+                : failedYears.stream().filter(available::contains).toList();
+
+        List<Integer> stillFailed = new ArrayList<>();
+        for (Integer year : retried) {
+            try {
+                holidayDataService.getYearSnapshot(year);
+            } catch (RuntimeException e) {
+                stillFailed.add(year);
+            }
+        }
+        indexFailed = false;
+        failedYears = List.copyOf(stillFailed);
+        loadedYears = available.size() - stillFailed.size();
+        if (stillFailed.isEmpty()) {
+            status = Status.COMPLETED;
+            log.info("先前預載失敗的年度已可載入，共 {} 個年度就緒。", loadedYears);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.HolidayCategory;
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 跨年度日期區間查詢服務。
+ *
+ * <p>
+ * 以 {@link HolidayTable} 已排序的日期二分搜尋區間起訖，指定類別時改用各類別預先建立的列號索引，
+ * 再以 Jackson 串流產生器逐筆寫出符合條件的資料，不需合併各年度列表或建立 {@code Holiday} 物件。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class HolidayRangeService {
+
+    /** 單次查詢可跨越的最大年數 */
+    private static final int MAX_RANGE_YEARS = 100;
+
+    /** JSON 序列化器（由 Spring 注入） */
+    private final ObjectMapper objectMapper;
+
+    /** 上班日索引服務（由 Spring 注入） */
+    private final CalendarIndexService calendarIndexService;
+
+    /**
+     * 查詢日期區間 (含起訖日) 內的假日資料並以 JSON 陣列寫出。
+     *
+     * <p>
+     * 參數與年度資料皆於寫出前驗證及取得，錯誤時不會寫出任何內容；區間內沒有資料的年度會被略過。
+     * 輸出欄位與 {@code GET /api/holidays/{year}} 相同，依日期排序。
+     * </p>
+     *
+     * @param source       資料來源名稱，空值表示合併資料
+     * @param from         起始日期 (格式: yyyyMMdd)
+     * @param to           結束日期 (格式: yyyyMMdd)
+     * @param categories   假日類別 (類別文字或列舉名稱，例如 {@code 補假} 或 {@code COMPENSATORY_DAY_OFF})，空值表示不篩選
+     * @param onlyHolidays 是否只回傳放假日
+     * @param out          輸出串流
+     * @throws InvalidRequestException   當起始日期晚於結束日期、區間過長或類別無法辨識時
+     * @throws ResourceNotFoundException 當資料來源不存在或日期格式錯誤時
+     * @throws IOException               當寫出失敗時
+     */
+    public void writeRange(String source, String from, String to, List<String> categories, boolean onlyHolidays,
+            OutputStream out) throws IOException {
+        LocalDate fromDate = CalendarIndexService.parseDate(from);
+        LocalDate toDate = CalendarIndexService.parseDate(to);
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidRequestException("起始日期不可晚於結束日期");
+        }
+        if (toDate.getYear() - fromDate.getYear() >= MAX_RANGE_YEARS) {
+            throw new InvalidRequestException("查詢區間最多 " + MAX_RANGE_YEARS + " 年");
+        }
+        HolidayCategory[] filter = parseCategories(categories);
+        calendarIndexService.requireSource(source);
+        List<HolidayTable> tables = resolveTables(source, fromDate.getYear(), toDate.getYear());
+
+        int fromKey = Integer.parseInt(from);
+        int toKey = Integer.parseInt(to);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (HolidayTable table : tables) {
+                new RowWriter(generator, table, onlyHolidays).write(filter, fromKey, toKey);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * 取得區間內各年度的資料，略過沒有資料的年度。
+     */
+    private List<HolidayTable> resolveTables(String source, int fromYear, int toYear) {
+        List<HolidayTable> tables = new ArrayList<>(toYear - fromYear + 1);
+        for (int year = fromYear; year <= toYear; year++) {
+            try {
+                tables.add(calendarIndexService.getHolidayTable(source, year));
+            } catch (ResourceNotFoundException e) {
+                // 區間可涵蓋尚未公告或已不提供的年度
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 解析類別參數。
+     *
+     * @param categories 類別文字或列舉名稱
+     * @return 類別陣列，未指定時為 {@code null}
+     * @throws InvalidRequestException 當類別無法辨識時
+     */
+    static HolidayCategory[] parseCategories(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        Set<HolidayCategory> parsed = EnumSet.noneOf(HolidayCategory.class);
+        for (String value : categories) {
+            String trimmed = value.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            HolidayCategory category = HolidayCategory.fromLabel(trimmed);
+            if (category == HolidayCategory.OTHER) {
+                try {
+                    category = HolidayCategory.valueOf(trimmed.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidRequestException("無法辨識的假日類別: " + trimmed);
+                }
+            }
+            parsed.add(category);
+        }
+        return parsed.isEmpty() ? null : parsed.toArray(HolidayCategory[]::new);
+    }
+
+    /**
+     * 寫出單一年度中符合條件的資料。
+     */
+    private static final class RowWriter {
+
+        private final JsonGenerator generator;
+        private final HolidayTable table;
+        private final boolean onlyHolidays;
+
+        RowWriter(JsonGenerator generator, HolidayTable table, boolean onlyHolidays) {
+            this.generator = generator;
+            this.table = table;
+            this.onlyHolidays = onlyHolidays;
+        }
+
+        void write(HolidayCategory[] filter, int fromKey, int toKey) throws IOException {
+            if (filter == null) {
+                int end = table.lowerBound(toKey + 1);
+                for (int row = table.lowerBound(fromKey); row < end; row++) {
+                    writeRow(row);
+                }
+                return;
+            }
+
+            // 各類別的列號皆依日期排序，以多路合併維持輸出順序
+            int[] cursors = new int[filter.length];
+            int[] ends = new int[filter.length];
+            for (int i = 0; i < filter.length; i++) {
+                cursors[i] = table.categoryLowerBound(filter[i], fromKey);
+                ends[i] = table.categoryLowerBound(filter[i], toKey + 1);
+            }
+            while (true) {
+                int next = -1;
+                int nextRow = Integer.MAX_VALUE;
+                for (int i = 0; i < filter.length; i++) {
+                    if (cursors[i] < ends[i]) {
+                        int row = table.categoryRow(filter[i], cursors[i]);
+                        if (row < nextRow) {
+                            next = i;
+                            nextRow = row;
+                        }
+                    }
+                }
+                if (next < 0) {
+                    return;
+                }
+                cursors[next]++;
+                writeRow(nextRow);
+            }
+        }
+
+        private void writeRow(int row) throws IOException {
+            if (!onlyHolidays || table.isHoliday(row)) {
+                table.writeRow(generator, row);
+            }
+        }
+    }
+}
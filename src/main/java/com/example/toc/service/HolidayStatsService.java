@@ -0,0 +1,102 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.calendar.YearSnapshot;
+import com.example.toc.model.calendar.YearStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 年度與每月統計查詢服務。
+ *
+ * <p>
+ * 各年度的統計於載入年度快照時即已計算 ({@link YearSnapshot#stats()})，並隨年度重新載入一併替換；
+ * 查詢時只讀取各年度的統計陣列並以 Jackson 串流產生器寫出，不需掃描假日資料。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class HolidayStatsService {
+
+    /** 單次查詢可跨越的最大年數 */
+    private static final int MAX_RANGE_YEARS = 100;
+
+    /** JSON 序列化器（由 Spring 注入） */
+    private final ObjectMapper objectMapper;
+
+    /** 年度假日資料服務（由 Spring 注入） */
+    private final HolidayDataService holidayDataService;
+
+    /**
+     * 查詢年份區間 (含起訖年) 的年度與每月統計並以 JSON 陣列寫出，區間內沒有資料的年度會被略過。
+     *
+     * <p>
+     * 參數與年度資料皆於寫出前驗證及取得，錯誤時不會寫出任何內容。輸出格式見 {@link YearStats#write(JsonGenerator)}。
+     * </p>
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param from   起始年份 (例如: 2024)
+     * @param to     結束年份 (例如: 2026)
+     * @param out    輸出串流
+     * @throws InvalidRequestException   當起始年份晚於結束年份或區間過長時
+     * @throws ResourceNotFoundException 當資料來源不存在或年份格式錯誤時
+     * @throws IOException               當寫出失敗時
+     */
+    public void writeStats(String source, String from, String to, OutputStream out) throws IOException {
+        List<YearStats> stats = getStats(source, from, to);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (YearStats year : stats) {
+                year.write(generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * 取得年份區間 (含起訖年) 內各年度的統計，區間內沒有資料的年度會被略過。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param from   起始年份 (例如: 2024)
+     * @param to     結束年份 (例如: 2026)
+     * @return 各年度的統計 (依年份排序)
+     * @throws InvalidRequestException   當起始年份晚於結束年份或區間過長時
+     * @throws ResourceNotFoundException 當資料來源不存在或年份格式錯誤時
+     */
+    public List<YearStats> getStats(String source, String from, String to) {
+        int fromYear = CalendarIndexService.parseYear(from);
+        int toYear = CalendarIndexService.parseYear(to);
+        if (fromYear > toYear) {
+            throw new InvalidRequestException("起始年份不可晚於結束年份");
+        }
+        if (toYear - fromYear >= MAX_RANGE_YEARS) {
+            throw new InvalidRequestException("查詢區間最多 " + MAX_RANGE_YEARS + " 年");
+        }
+        if (!holidayDataService.hasSource(source)) {
+            throw new ResourceNotFoundException("查無資料來源: " + source);
+        }
+
+        List<YearStats> stats = new ArrayList<>(toYear - fromYear + 1);
+        for (int year = fromYear; year <= toYear; year++) {
+            try {
+                stats.add(holidayDataService.getYearSnapshot(source, year).stats());
+            } catch (ResourceNotFoundException e) {
+                // 區間可涵蓋尚未公告或已不提供的年度
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.toc.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.PrecomputedRepresentation;
+import com.example.toc.model.calendar.IcsFeed;
+import com.example.toc.model.calendar.YearSnapshot;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * iCalendar (ICS) 訂閱服務。
+ *
+ * <p>
+ * 各年度的日曆於載入年度快照時即已產生 ({@link YearSnapshot#ics()})，
+ * 單一年度直接回傳預先產生的內容；多年度則串接各年度的事件區段，請求時不需重新建立任何事件。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@RequiredArgsConstructor
+@Service
+public class IcsFeedService {
+
+    /** 單次查詢可跨越的最大年數 */
+    private static final int MAX_RANGE_YEARS = 100;
+
+    /** 年度假日資料服務（由 Spring 注入） */
+    private final HolidayDataService holidayDataService;
+
+    /**
+     * 取得單一年度的日曆。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param year   西元年份 (例如: 2024)
+     * @return 預先產生的日曆內容
+     * @throws ResourceNotFoundException 當資料來源不存在、年份格式錯誤或指定年份的資料不存在時
+     */
+    public PrecomputedRepresentation getYearCalendar(String source, String year) {
+        return holidayDataService.getYearSnapshot(source, year).ics();
+    }
+
+    /**
+     * 取得年份區間 (含起訖年) 的合併日曆，區間內沒有資料的年度會被略過。
+     *
+     * @param source 資料來源名稱，空值表示合併資料
+     * @param from   起始年份 (例如: 2024)
+     * @param to     結束年份 (例如: 2026)
+     * @return 合併日曆
+     * @throws InvalidRequestException   當起始年份晚於結束年份或區間過長時
+     * @throws ResourceNotFoundException 當資料來源不存在或年份格式錯誤時
+     */
+    public IcsFeed getCalendar(String source, String from, String to) {
+        int fromYear = CalendarIndexService.parseYear(from);
+        int toYear = CalendarIndexService.parseYear(to);
+        if (fromYear > toYear) {
+            throw new InvalidRequestException("起始年份不可晚於結束年份");
+        }
+        if (toYear - fromYear >= MAX_RANGE_YEARS) {
+            throw new InvalidRequestException("查詢區間最多 " + MAX_RANGE_YEARS + " 年");
+        }
+        if (!holidayDataService.hasSource(source)) {
+            throw new ResourceNotFoundException("查無資料來源: " + source);
+        }
+
+        List<byte[]> calendars = new ArrayList<>(toYear - fromYear + 1);
+        MessageDigest digest = sha256();
+        long lastModified = 0;
+        for (int year = fromYear; year <= toYear; year++) {
+            PrecomputedRepresentation ics;
+            try {
+                ics = holidayDataService.getYearSnapshot(source, year).ics();
+            } catch (ResourceNotFoundException e) {
+                // 區間可涵蓋尚未公告或已不提供的年度
+                continue;
+            }
+            calendars.add(ics.identity());
+            digest.update(ics.etag().getBytes(StandardCharsets.US_ASCII));
+            lastModified = Math.max(lastModified, ics.lastModified());
+        }
+        // 合併內容完全由各年度內容決定，以各年度 ETag 計算即可，不需雜湊整份內容
+        String etag = "\"ics-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        return new IcsFeed(List.copyOf(calendars), etag, lastModified);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支援 SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.toc.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NCDR 即時停班停課資料背景輪詢器。
+ *
+ * <p>
+ * 於 Server Mode 啟動後立即更新一次，之後依 {@link RealTimeHolidayService#nextPollDelay()}
+ * 排程下一次更新 (正常時為固定間隔，斷路時為指數退避)。同一時間只有一個更新在執行，
+ * API 請求不會觸發上游呼叫。排程使用 Spring 的 {@link TaskScheduler}，
+ * 啟用 {@code spring.threads.virtual.enabled} 時於虛擬執行緒執行。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "ncdr.poll", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NcdrPoller implements SmartLifecycle {
+
+    /** 即時假日服務 */
+    private final RealTimeHolidayService realTimeHolidayService;
+
+    /** 排程器 */
+    private final TaskScheduler taskScheduler;
+
+    private volatile boolean running;
+
+    private volatile ScheduledFuture<?> next;
+
+    @Override
+    public void start() {
+        running = true;
+        next = taskScheduler.schedule(this::poll, Instant.now());
+        log.info("開始於背景更新 NCDR 即時停班停課資料。");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledFuture<?> future = next;
+        if (future != null) {
+            future.cancel(true);
+        }
+        next = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 更新一次並排程下一次更新。
+     */
+    private void poll() {
+        try {
+            realTimeHolidayService.refresh();
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    private void scheduleNext() {
+        if (!running) {
+            return;
+        }
+        Duration delay = realTimeHolidayService.nextPollDelay();
+        if (realTimeHolidayService.isCircuitOpen()) {
+            log.info("NCDR 斷路中，{} 秒後重試。", delay.toSeconds());
+        }
+        next = taskScheduler.schedule(this::poll, Instant.now().plus(delay));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.toc.service;
+
+import com.example.toc.model.ncdr.NcdrSnapshot;
+
+/**
+ * NCDR 資料更新成功事件 (不論內容是否變更)。
+ *
+ * @param snapshot 更新後的快照
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public record NcdrRefreshedEvent(NcdrSnapshot snapshot) {
+}
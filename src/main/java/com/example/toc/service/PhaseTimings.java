@@ -0,0 +1,110 @@
+package com.example.toc.service;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 資料抓取與處理各階段的累計耗時。
+ *
+ * <p>
+ * CSV 為串流處理，下載、解析、關聯節日與寫入會交錯進行，因此各階段分別累計；
+ * 平行處理時為各執行緒耗時的總和。可多執行緒同時累計。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+final class PhaseTimings {
+
+    /**
+     * 處理階段。
+     */
+    enum Phase {
+        /** 連線與等待回應 (含條件式請求) */
+        DOWNLOAD("download", "下載"),
+        /** 讀取並解析 CSV / JSON */
+        PARSE("parse", "解析"),
+        /** 特定節日與關聯節日處理 */
+        LINK("link", "關聯節日"),
+        /** 序列化、寫入暫存檔與替換 */
+        WRITE("write", "寫入");
+
+        private final String tag;
+        private final String label;
+
+        Phase(String tag, String label) {
+            this.tag = tag;
+            this.label = label;
+        }
+    }
+
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+
+    /**
+     * 累計指定階段的耗時。
+     *
+     * @param phase        階段
+     * @param elapsedNanos 耗時 (奈秒)
+     */
+    void add(Phase phase, long elapsedNanos) {
+        nanos.addAndGet(phase.ordinal(), elapsedNanos);
+    }
+
+    /**
+     * 取得指定階段的累計耗時。
+     *
+     * @param phase 階段
+     * @return 累計耗時 (奈秒)
+     */
+    long get(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    /**
+     * 產生供日誌輸出的摘要，例如「下載 12.0 ms、解析 35.2 ms、關聯節日 3.1 ms、寫入 20.4 ms，總計 71.0 ms」。
+     *
+     * @param totalNanos 整體耗時 (奈秒)
+     * @return 摘要字串
+     */
+    String summary(long totalNanos) {
+        StringJoiner joiner = new StringJoiner("、");
+        for (Phase phase : Phase.values()) {
+            joiner.add(String.format("%s %.1f ms", phase.label, get(phase) / 1_000_000.0));
+        }
+        return String.format("%s，總計 %.1f ms", joiner, totalNanos / 1_000_000.0);
+    }
+
+    /**
+     * 將各階段與整體耗時記錄至指標。
+     *
+     * <ul>
+     * <li>{@code holiday.fetch.phase}：依 job、phase 分組的階段耗時</li>
+     * <li>{@code holiday.fetch}：依 job、outcome 分組的整體耗時</li>
+     * </ul>
+     *
+     * @param meterRegistry 指標註冊中心
+     * @param job           任務類型 (fetch / process)
+     * @param outcome       結果
+     * @param totalNanos    整體耗時 (奈秒)
+     */
+    void publish(MeterRegistry meterRegistry, String job, String outcome, long totalNanos) {
+        for (Phase phase : Phase.values()) {
+            Timer.builder("holiday.fetch.phase")
+                    .description("資料抓取與處理各階段的耗時")
+                    .tag("job", job)
+                    .tag("phase", phase.tag)
+                    .register(meterRegistry)
+                    .record(get(phase), TimeUnit.NANOSECONDS);
+        }
+        Timer.builder("holiday.fetch")
+                .description("資料抓取與處理的整體耗時")
+                .tag("job", job)
+                .tag(HolidayMetrics.TAG_OUTCOME, outcome)
+                .register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.toc.service;
 
-import java.util.Collections;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import com.example.toc.config.NcdrProperties;
+import com.example.toc.model.ncdr.CitySuspension;
 import com.example.toc.model.ncdr.NcdrEntry;
 import com.example.toc.model.ncdr.NcdrHolidayResponse;
+import com.example.toc.model.ncdr.NcdrSnapshot;
+import com.example.toc.model.ncdr.NcdrSuspensionIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,85 +34,206 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * <p>
  * 負責串接國家災害防救科技中心 (NCDR) 的即時警報 API，
- * 查詢特定縣市（目前鎖定台北市/臺北市）的停班停課資訊。
+ * 查詢各縣市與鄉鎮市區的停班停課資訊。每次更新時將通知摘要解析為
+ * 「縣市 → 鄉鎮市區 → 今明兩天停班 / 停課」索引 ({@link NcdrSuspensionIndex})，查詢時只需查表。
+ * </p>
+ *
+ * <p>
+ * NCDR 僅由背景輪詢 ({@link NcdrPoller}) 透過 {@link #refresh()} 呼叫 (含連線與讀取逾時)，
+ * 讀取端一律直接取用記憶體中最後一次成功取得的快照，不會因上游緩慢或失敗而等待。
+ * 連續失敗達門檻後斷路，改以指數退避 (含隨機抖動) 重試，成功一次即恢復正常間隔。
  * </p>
  */
 @Slf4j
 @Service
 public class RealTimeHolidayService {
 
-    private static final String NCDR_API_URL = "https://alerts.ncdr.nat.gov.tw/JSONAtomFeed.ashx?AlertType=33";
-    private static final String TARGET_CITY_1 = "臺北市";
-    private static final String TARGET_CITY_2 = "台北市";
+    /** {@link #getRealTimeHolidays()} 預設查詢的縣市 */
+    private static final String DEFAULT_CITY = "臺北市";
+
+    /** 指數退避的最大次方，避免位移溢位 */
+    private static final int MAX_BACKOFF_EXPONENT = 16;
 
     private final RestClient restClient;
 
-    public RealTimeHolidayService(@NonNull ObjectMapper objectMapper) {
+    /** NCDR 設定屬性 */
+    private final NcdrProperties ncdrProperties;
+
+    /** 指標註冊中心 */
+    private final MeterRegistry meterRegistry;
+
+    /** 更新成功時發布 {@link NcdrRefreshedEvent} */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 最後一次成功取得的快照 */
+    private volatile NcdrSnapshot snapshot = NcdrSnapshot.empty();
+
+    /** 連續失敗次數 */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    public RealTimeHolidayService(@NonNull ObjectMapper objectMapper, @NonNull NcdrProperties ncdrProperties,
+            @NonNull MeterRegistry meterRegistry, @NonNull ApplicationEventPublisher eventPublisher) {
+        NcdrProperties.Poll poll = ncdrProperties.poll();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(poll.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(poll.readTimeout());
+
         this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
                 .messageConverters(converters -> converters.add(new MappingJackson2HttpMessageConverter(objectMapper)))
                 .build();
+        this.ncdrProperties = ncdrProperties;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("ncdr.snapshot.age", this, RealTimeHolidayService::snapshotAgeSeconds)
+                .description("NCDR 快照距最後一次成功更新的秒數")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("ncdr.circuit.open", this, service -> service.isCircuitOpen() ? 1 : 0)
+                .description("NCDR 斷路狀態 (1 為斷路中)")
+                .register(meterRegistry);
     }
 
     /**
-     * 查詢即時停班停課資訊。
+     * 查詢臺北市全區的即時停班停課資訊。
      *
-     * @return 符合條件的 NcdrEntry 列表，若無或發生錯誤則回傳空列表。
+     * @return 臺北市全區通知的 NcdrEntry 列表，若尚未取得資料則回傳空列表。
      */
-    @Cacheable(value = "realTimeHolidays", unless = "#result == null || #result.isEmpty()")
     public List<NcdrEntry> getRealTimeHolidays() {
-        try {
-            NcdrHolidayResponse response = restClient.get()
-                    .uri(NCDR_API_URL)
-                    .retrieve()
-                    .body(NcdrHolidayResponse.class);
+        return getRealTimeHolidays(snapshot);
+    }
 
-            if (response == null || response.getEntry() == null) {
-                return Collections.emptyList();
-            }
+    /**
+     * 自指定快照取得臺北市全區的即時停班停課資訊。
+     *
+     * @param snapshot NCDR 快照
+     * @return 臺北市全區通知的 NcdrEntry 列表
+     */
+    public List<NcdrEntry> getRealTimeHolidays(@NonNull NcdrSnapshot snapshot) {
+        return snapshot.index().cityWideEntries(DEFAULT_CITY);
+    }
 
-            return response.getEntry().stream()
-                    .filter(this::isTaipeiCityAllArea)
-                    .toList();
+    /**
+     * 自指定快照查詢縣市的停班停課狀態。
+     *
+     * @param snapshot NCDR 快照
+     * @param city     縣市名稱 (接受「台 / 臺」異體字，可省略「市 / 縣」字尾)
+     * @return 縣市狀態，無法辨識的縣市時為 empty
+     */
+    public Optional<CitySuspension> getCitySuspension(@NonNull NcdrSnapshot snapshot, String city) {
+        return snapshot.index().city(city);
+    }
 
-        } catch (Exception e) {
-            log.error("查詢 NCDR 即時停班停課 API 失敗: {}", e.getMessage());
-            return Collections.emptyList();
-        }
+    /**
+     * 取得目前的 NCDR 快照。
+     *
+     * @return 最後一次成功取得的快照 (更新失敗時標記為過期)
+     */
+    public NcdrSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
-     * 判斷是否為台北市全區停班停課。
-     * 
+     * 向 NCDR 重新取得資料並更新快照。
+     *
      * <p>
-     * 判斷邏輯：
-     * 1. 檢查 summary text 是否包含「臺北市」或「台北市」。
-     * 2. 確保不包含其他更細的行政區名稱（這裡簡化為檢查是否直接接冒號，
-     * 例如 "[停班停課通知]臺北市:" 表示全區）。
+     * 成功時發布 {@link NcdrRefreshedEvent}；失敗時保留原快照並標記為過期，不會拋出例外。
      * </p>
-     * 
-     * @param entry NCDR 資料項目
-     * @return true 若判定為全區停班停課
+     *
+     * @return 是否更新成功
      */
-    private boolean isTaipeiCityAllArea(NcdrEntry entry) {
-        if (entry.getSummary() == null || entry.getSummary().getText() == null) {
+    public boolean refresh() {
+        NcdrSnapshot refreshed;
+        try {
+            NcdrHolidayResponse response = fetchFromNcdr();
+            List<NcdrEntry> entries = response == null || response.getEntry() == null
+                    ? List.of()
+                    : response.getEntry().stream().filter(Objects::nonNull).toList();
+            refreshed = NcdrSnapshot.of(entries, Instant.now());
+        } catch (Exception e) {
+            snapshot = snapshot.markStale();
+            int failures = consecutiveFailures.incrementAndGet();
+            if (failures == ncdrProperties.poll().failureThreshold()) {
+                log.error("查詢 NCDR 即時停班停課 API 連續失敗 {} 次，斷路並改以指數退避重試: {}", failures,
+                        e.getMessage());
+            } else {
+                log.warn("查詢 NCDR 即時停班停課 API 失敗 (連續 {} 次): {}", failures, e.getMessage());
+            }
             return false;
         }
 
-        String text = entry.getSummary().getText();
+        snapshot = refreshed;
+        int failures = consecutiveFailures.getAndSet(0);
+        if (failures >= ncdrProperties.poll().failureThreshold()) {
+            log.info("NCDR 即時停班停課 API 已恢復，解除斷路 (先前連續失敗 {} 次)", failures);
+        }
+        eventPublisher.publishEvent(new NcdrRefreshedEvent(refreshed));
+        return true;
+    }
 
-        // 檢查是否包含目標城市
-        boolean hasCityName = text.contains(TARGET_CITY_1) || text.contains(TARGET_CITY_2);
-        if (!hasCityName) {
-            return false;
+    /**
+     * 計算下一次更新前應等待的時間。
+     *
+     * <p>
+     * 未斷路時為固定間隔；斷路後為間隔 × 2^n (n 為超過門檻的失敗次數)，不超過上限，
+     * 並加上最多 10% 的隨機抖動，避免多個實例同時重試。
+     * </p>
+     *
+     * @return 等待時間
+     */
+    public Duration nextPollDelay() {
+        NcdrProperties.Poll poll = ncdrProperties.poll();
+        int failures = consecutiveFailures.get();
+        if (failures < poll.failureThreshold()) {
+            return poll.interval();
+        }
+        int exponent = Math.min(failures - poll.failureThreshold() + 1, MAX_BACKOFF_EXPONENT);
+        Duration backoff = poll.interval().multipliedBy(1L << exponent);
+        if (backoff.compareTo(poll.maxBackoff()) > 0) {
+            backoff = poll.maxBackoff();
         }
+        long jitterMs = ThreadLocalRandom.current().nextLong(backoff.toMillis() / 10 + 1);
+        return backoff.plusMillis(jitterMs);
+    }
 
-        // 全區判斷邏輯：
-        // 根據觀察，NCDR 格式通常為 "[停班停課通知]臺北市:..." (全區)
-        // 或 "[停班停課通知]新北市瑞芳區:..." (特定區)
-        // 因此我們檢查 "臺北市:" 或 "台北市:" 是否存在
-        boolean isAllArea1 = text.contains(TARGET_CITY_1 + ":") || text.contains(TARGET_CITY_1 + "：");
-        boolean isAllArea2 = text.contains(TARGET_CITY_2 + ":") || text.contains(TARGET_CITY_2 + "：");
+    /**
+     * 是否處於斷路狀態 (連續失敗次數已達門檻)。
+     *
+     * @return 斷路中時為 true
+     */
+    public boolean isCircuitOpen() {
+        return consecutiveFailures.get() >= ncdrProperties.poll().failureThreshold();
+    }
+
+    /**
+     * 呼叫 NCDR API，並記錄上游呼叫耗時 ({@code ncdr.request}，依結果分組)。
+     *
+     * @return NCDR 回應
+     */
+    private NcdrHolidayResponse fetchFromNcdr() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = HolidayMetrics.OUTCOME_ERROR;
+        try {
+            NcdrHolidayResponse response = restClient.get()
+                    .uri(ncdrProperties.url())
+                    .retrieve()
+                    .body(NcdrHolidayResponse.class);
+            outcome = HolidayMetrics.OUTCOME_SUCCESS;
+            return response;
+        } finally {
+            sample.stop(Timer.builder("ncdr.request")
+                    .description("NCDR 即時停班停課 API 的呼叫耗時")
+                    .tag(HolidayMetrics.TAG_OUTCOME, outcome)
+                    .register(meterRegistry));
+        }
+    }
 
-        return isAllArea1 || isAllArea2;
+    private double snapshotAgeSeconds() {
+        Duration age = snapshot.age(Instant.now());
+        return age == null ? Double.NaN : age.toMillis() / 1000.0;
     }
 }
@@ -0,0 +1,316 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.toc.config.NcdrProperties;
+import com.example.toc.model.ncdr.AreaSuspension;
+import com.example.toc.model.ncdr.NcdrSuspensionIndex;
+import com.example.toc.model.ncdr.RealtimeDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 即時停班停課變更推播服務 (SSE 與 long-poll)。
+ *
+ * <p>
+ * 上游只有 {@link NcdrPoller} 一個輪詢者；每次更新後與前一份索引比較，有變更時產生新版本並推播給所有訂閱者。
+ * 連線以 Servlet 非同步模式保持 ({@link SseEmitter} / {@link DeferredResult})，閒置連線不佔用執行緒；
+ * 推播時每個訂閱者由各自的虛擬執行緒寫出，個別用戶端緩慢不會影響其他訂閱者。
+ * </p>
+ *
+ * <p>
+ * 版本號以服務啟動時間 (epoch 毫秒) 為起點遞增，重新啟動後仍大於先前的版本。訂閱者帶回最後收到的版本時，
+ * 保留範圍內的變更會合併為一個增量補送，否則改送完整狀態。
+ * </p>
+ *
+ * <p>
+ * SSE 心跳於第一個訂閱建立時才排程，Task Mode 等不會有訂閱者的執行環境不佔用排程器。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+@Slf4j
+@Service
+public class RealtimePushService implements DisposableBean {
+
+    /** SSE 事件名稱：增量 */
+    static final String EVENT_DELTA = "delta";
+
+    /** SSE 事件名稱：完整狀態 */
+    static final String EVENT_RESET = "reset";
+
+    /** 推播配置 */
+    private final NcdrProperties.Push properties;
+
+    /** SSE 事件內容以單行 JSON 輸出 (不受全域縮排設定影響) */
+    private final ObjectWriter eventWriter;
+
+    /** SSE 訂閱者 */
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /** 等待變更的 long-poll 請求 */
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    /** 推播寫出 (每個訂閱者一個虛擬執行緒) */
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** 心跳排程器 */
+    private final TaskScheduler taskScheduler;
+
+    /** SSE 心跳排程 (第一個訂閱建立前為 null)，以 this 同步 */
+    private ScheduledFuture<?> heartbeat;
+
+    /** 最近的增量 (依版本遞增)，以 this 同步 */
+    private final Deque<RealtimeDelta> history = new ArrayDeque<>();
+
+    /** 目前版本，以 this 同步 */
+    private long version = System.currentTimeMillis();
+
+    /** 目前的停班停課索引，以 this 同步 */
+    private NcdrSuspensionIndex index = NcdrSuspensionIndex.EMPTY;
+
+    public RealtimePushService(@NonNull ObjectMapper objectMapper, @NonNull NcdrProperties ncdrProperties,
+            @NonNull MeterRegistry meterRegistry, @NonNull TaskScheduler taskScheduler) {
+        this.properties = ncdrProperties.push();
+        this.eventWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.taskScheduler = taskScheduler;
+
+        Gauge.builder("ncdr.push.subscribers", subscribers, Set::size)
+                .description("即時停班停課變更推播的連線數")
+                .tag("transport", "sse")
+                .register(meterRegistry);
+        Gauge.builder("ncdr.push.subscribers", waiters, Set::size)
+                .description("即時停班停課變更推播的連線數")
+                .tag("transport", "long-poll")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 建立 SSE 訂閱，連線後先補送指定版本之後的變更 (未指定時送出完整狀態)。
+     *
+     * @param lastVersion 用戶端最後收到的版本 (Last-Event-ID)，可為 null
+     * @return SSE 連線
+     */
+    public SseEmitter subscribe(Long lastVersion) {
+        SseEmitter emitter = new SseEmitter(properties.sseTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastVersion);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        startHeartbeat();
+        dispatch(subscriber::catchUp);
+        return emitter;
+    }
+
+    /**
+     * 等待指定版本之後的變更 (long-poll)。
+     *
+     * <p>
+     * 已有變更時立即回應；否則等待至下一次變更或逾時，逾時回傳目前版本與空的變更列表。
+     * </p>
+     *
+     * @param sinceVersion 用戶端最後收到的版本，未指定時立即回傳完整狀態
+     * @return 非同步結果
+     */
+    public DeferredResult<RealtimeDelta> poll(Long sinceVersion) {
+        DeferredResult<RealtimeDelta> result = new DeferredResult<>(properties.longPollTimeout().toMillis());
+        Waiter waiter = new Waiter(sinceVersion, result);
+        result.onTimeout(() -> result.setResult(unchanged()));
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // 加入後再檢查，避免檢查與加入之間發生的變更被遺漏
+        RealtimeDelta delta = since(sinceVersion);
+        if (delta != null) {
+            result.setResult(delta);
+        }
+        return result;
+    }
+
+    /**
+     * NCDR 更新成功時比較索引，有變更則產生新版本並推播。
+     *
+     * @param event 更新事件
+     */
+    @EventListener
+    public void onRefreshed(NcdrRefreshedEvent event) {
+        NcdrSuspensionIndex updated = event.snapshot().index();
+        RealtimeDelta delta;
+        synchronized (this) {
+            List<AreaSuspension> changes = updated.changesSince(index);
+            index = updated;
+            if (changes.isEmpty()) {
+                return;
+            }
+            delta = new RealtimeDelta(++version, false, changes);
+            history.addLast(delta);
+            while (history.size() > Math.max(properties.history(), 1)) {
+                history.removeFirst();
+            }
+        }
+        log.info("即時停班停課狀態變更 (版本 {}，{} 個地區)，推播給 {} 個 SSE 與 {} 個 long-poll 連線。",
+                delta.version(), delta.changes().size(), subscribers.size(), waiters.size());
+
+        for (Waiter waiter : waiters) {
+            RealtimeDelta pending = since(waiter.sinceVersion());
+            if (pending != null) {
+                waiter.result().setResult(pending);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            dispatch(subscriber::catchUp);
+        }
+    }
+
+    /**
+     * 取得指定版本之後的變更。
+     *
+     * @param sinceVersion 用戶端最後收到的版本，可為 null
+     * @return 合併後的增量；版本無法補送時為完整狀態；沒有新變更時為 null
+     */
+    synchronized RealtimeDelta since(Long sinceVersion) {
+        if (sinceVersion != null && sinceVersion == version) {
+            return null;
+        }
+        // 保留的歷史可補送 oldest - 1 之後的變更；沒有歷史時只有目前版本可接續
+        long oldest = history.isEmpty() ? version + 1 : history.getFirst().version();
+        if (sinceVersion == null || sinceVersion > version || sinceVersion < oldest - 1) {
+            return new RealtimeDelta(version, true, List.copyOf(index.areas().values()));
+        }
+        // 同一地區以最新狀態為準
+        Map<String, AreaSuspension> changes = new LinkedHashMap<>();
+        for (RealtimeDelta delta : history) {
+            if (delta.version() > sinceVersion) {
+                delta.changes().forEach(area -> changes.put(NcdrSuspensionIndex.key(area), area));
+            }
+        }
+        return new RealtimeDelta(version, false, List.copyOf(changes.values()));
+    }
+
+    private synchronized RealtimeDelta unchanged() {
+        return new RealtimeDelta(version, false, List.of());
+    }
+
+    private synchronized void startHeartbeat() {
+        if (heartbeat == null && !fanOut.isShutdown()) {
+            heartbeat = taskScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                    Instant.now().plus(properties.heartbeat()), properties.heartbeat());
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            dispatch(subscriber::heartbeat);
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            fanOut.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("推播已停止。");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        fanOut.shutdownNow();
+        synchronized (this) {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+            }
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        waiters.forEach(waiter -> waiter.result().setResult(unchanged()));
+    }
+
+    /**
+     * long-poll 請求。
+     */
+    private record Waiter(Long sinceVersion, DeferredResult<RealtimeDelta> result) {
+    }
+
+    /**
+     * SSE 訂閱者。
+     *
+     * <p>
+     * 寫出時以訂閱者本身同步並記錄已送出的版本，每次都補送該版本之後的所有變更，
+     * 因此即使多個推播的寫出順序交錯，用戶端收到的版本仍會遞增且不會缺漏。
+     * </p>
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        /** 已送出的版本 (null 表示尚未送出任何內容) */
+        private Long sentVersion;
+
+        Subscriber(SseEmitter emitter, Long lastVersion) {
+            this.emitter = emitter;
+            this.sentVersion = lastVersion;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        synchronized void catchUp() {
+            RealtimeDelta delta = since(sentVersion);
+            if (delta == null) {
+                return;
+            }
+            String json;
+            try {
+                json = eventWriter.writeValueAsString(delta);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("無法序列化推播內容", e);
+            }
+            send(SseEmitter.event()
+                    .id(String.valueOf(delta.version()))
+                    .name(delta.reset() ? EVENT_RESET : EVENT_DELTA)
+                    .data(json, MediaType.APPLICATION_JSON));
+            sentVersion = delta.version();
+        }
+
+        synchronized void heartbeat() {
+            send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // 用戶端已中斷連線，連線由容器關閉
+                subscribers.remove(this);
+            }
+        }
+    }
+}
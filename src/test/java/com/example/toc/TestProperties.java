@@ -0,0 +1,149 @@
+package com.example.toc;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.util.unit.DataSize;
+
+import com.example.toc.config.OpendataProperties;
+
+/**
+ * 測試用的 {@link OpendataProperties} 建構器。
+ *
+ * <p>
+ * 預設不監看目錄、處理平行度為 CPU 核心數、輸出二進位快照、不啟用定期抓取，快取設定與 application.yml 相同。
+ * 測試只需指定與預設不同的項目，設定屬性新增欄位時也只需調整此處。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class TestProperties {
+
+    private final Path outputDir;
+    private String url;
+    private List<OpendataProperties.Source> sources = List.of();
+    private int parallelism;
+    private boolean snapshot = true;
+    private OpendataProperties.Watch watch = new OpendataProperties.Watch(false, Duration.ZERO);
+    private OpendataProperties.Schedule schedule = new OpendataProperties.Schedule(false, "0 0 3 * * *",
+            ZoneId.of("Asia/Taipei"), Duration.ofMinutes(10));
+    private OpendataProperties.Cache cache = new OpendataProperties.Cache(DataSize.ofMegabytes(64),
+            Duration.ofHours(24), Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    private TestProperties(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * 以指定的輸出目錄開始建立假日資料設定。
+     *
+     * @param outputDir 輸出目錄
+     * @return 建構器
+     */
+    public static TestProperties holiday(Path outputDir) {
+        return new TestProperties(outputDir);
+    }
+
+    /**
+     * 建立整體逾時皆相同的具名資料來源。
+     *
+     * @param name    來源名稱
+     * @param url     資料來源 URL
+     * @param timeout 連線、讀取與整體逾時
+     * @return 具名資料來源
+     */
+    public static OpendataProperties.Source source(String name, String url, Duration timeout) {
+        return new OpendataProperties.Source(name, url, timeout, timeout, timeout);
+    }
+
+    /**
+     * 設定單一資料來源 URL。
+     *
+     * @param url 資料來源 URL
+     * @return 建構器
+     */
+    public TestProperties url(String url) {
+        this.url = url;
+        return this;
+    }
+
+    /**
+     * 設定具名資料來源。
+     *
+     * @param sources 具名資料來源 (依優先順序)
+     * @return 建構器
+     */
+    public TestProperties sources(OpendataProperties.Source... sources) {
+        this.sources = List.of(sources);
+        return this;
+    }
+
+    /**
+     * 設定現有檔案處理的平行度。
+     *
+     * @param parallelism 同時處理的檔案數
+     * @return 建構器
+     */
+    public TestProperties parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 設定是否輸出與讀取二進位快照。
+     *
+     * @param enabled 是否啟用
+     * @return 建構器
+     */
+    public TestProperties snapshot(boolean enabled) {
+        this.snapshot = enabled;
+        return this;
+    }
+
+    /**
+     * 啟用目錄監看並設定靜止時間。
+     *
+     * @param debounce 最後一次事件後等待的靜止時間
+     * @return 建構器
+     */
+    public TestProperties watch(Duration debounce) {
+        this.watch = new OpendataProperties.Watch(true, debounce);
+        return this;
+    }
+
+    /**
+     * 設定定期抓取配置。
+     *
+     * @param schedule 定期抓取配置
+     * @return 建構器
+     */
+    public TestProperties schedule(OpendataProperties.Schedule schedule) {
+        this.schedule = schedule;
+        return this;
+    }
+
+    /**
+     * 設定年度快照快取配置。
+     *
+     * @param cache 快取配置
+     * @return 建構器
+     */
+    public TestProperties cache(OpendataProperties.Cache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * 建立設定屬性。
+     *
+     * @return 設定屬性
+     */
+    public OpendataProperties build() {
+        return new OpendataProperties(new OpendataProperties.Holiday(url, sources, outputDir.toString(),
+                watch, new OpendataProperties.Process(parallelism),
+                new OpendataProperties.Snapshot(snapshot), schedule, cache));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.toc.model;
+
+/**
+ * 測試用的假日資料建立工具。
+ *
+ * <p>
+ * 年份取自日期前 4 碼，名稱與說明預設為空字串 (與開放資料中的週末列相同)，
+ * 其餘欄位可透過 {@link #holiday(String)} 回傳的建構器指定。
+ * </p>
+ *
+ * @author Taiwan Office Calendar
+ * @since 1.1.1
+ */
+public final class HolidayFixtures {
+
+    private HolidayFixtures() {
+    }
+
+    /**
+     * 建立已填入日期與年份的假日資料建構器。
+     *
+     * @param date 日期 (格式: yyyyMMdd)
+     * @return 建構器
+     */
+    public static Holiday.HolidayBuilder holiday(String date) {
+        return Holiday.builder()
+                .date(date)
+                .year(date.substring(0, 4))
+                .name("")
+                .description("");
+    }
+
+    /**
+     * 建立只含放假與類別的假日資料。
+     *
+     * @param date      日期 (格式: yyyyMMdd)
+     * @param isHoliday 是否為放假日
+     * @param category  假日類別
+     * @return 假日資料
+     */
+    public static Holiday holiday(String date, boolean isHoliday, String category) {
+        return holiday(date).isHoliday(isHoliday).holidayCategory(category).build();
+    }
+
+    /**
+     * 建立含名稱與備註的假日資料。
+     *
+     * @param date      日期 (格式: yyyyMMdd)
+     * @param isHoliday 是否為放假日
+     * @param category  假日類別
+     * @param name      節日名稱
+     * @param note      備註
+     * @return 假日資料
+     */
+    public static Holiday holiday(String date, boolean isHoliday, String category, String name, String note) {
+        return holiday(date).isHoliday(isHoliday).holidayCategory(category).name(name).note(note).build();
+    }
+}
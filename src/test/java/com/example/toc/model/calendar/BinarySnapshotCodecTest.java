@@ -0,0 +1,65 @@
+package com.example.toc.model.calendar;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.model.HolidayCategory;
+
+class BinarySnapshotCodecTest {
+
+    private static final byte[] SOURCE_HASH = new byte[32];
+
+    @Test
+    void testRoundTrip() throws Exception {
+        HolidayTable table = HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null),
+                holiday("20250208", false, "補行上班日", "", "農曆除夕"),
+                holiday("20250405", true, "自訂類別", "兒童節", null),
+                holiday("20250406", true, null, "", null)));
+
+        HolidayTable decoded = BinarySnapshotCodec.decode(encode(table), 2025, SOURCE_HASH);
+
+        assertEquals(table.toHolidays(), decoded.toHolidays());
+        assertEquals("自訂類別", decoded.categoryLabel(2));
+        assertEquals(1, decoded.categorySize(HolidayCategory.MAKEUP_WORKDAY));
+        assertEquals(1, decoded.rowOf(38));
+        // 字串經 intern，與 JSON 載入的資料共用
+        assertSame(table.name(0), decoded.name(0));
+    }
+
+    @Test
+    void testDecode_StaleOrInvalid() throws Exception {
+        HolidayTable table = HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null)));
+        byte[] otherHash = Arrays.copyOf(SOURCE_HASH, SOURCE_HASH.length);
+        otherHash[0] = 1;
+
+        assertNull(BinarySnapshotCodec.decode(encode(table), 2025, otherHash));
+        assertThrows(IOException.class, () -> BinarySnapshotCodec.decode(encode(table), 2024, SOURCE_HASH));
+        assertThrows(IOException.class,
+                () -> BinarySnapshotCodec.decode(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 }), 2025, SOURCE_HASH));
+    }
+
+    @Test
+    void testResolve() {
+        assertEquals(Path.of("out", "2025.bin"), BinarySnapshotCodec.resolve(Path.of("out", "2025.json")));
+    }
+
+    private static ByteBuffer encode(HolidayTable table) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinarySnapshotCodec.write(table, SOURCE_HASH, out);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.toc.model.calendar;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.model.Holiday;
+import com.example.toc.model.HolidayCategory;
+
+class HolidayTableTest {
+
+    @Test
+    void testRoundTrip() {
+        List<Holiday> holidays = List.of(
+                holiday("20250208", false, "補行上班日", "", "農曆除夕"),
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null),
+                holiday("20250405", true, "自訂類別", "兒童節", null));
+
+        HolidayTable table = HolidayTable.of(2025, holidays);
+
+        // 依日期排序，且還原後與原始資料相同
+        assertEquals(List.of(holidays.get(1), holidays.get(0), holidays.get(2)), table.toHolidays());
+        assertEquals(20250101, table.date(0));
+        assertEquals(HolidayCategory.MAKEUP_WORKDAY, table.category(1));
+        assertEquals(HolidayCategory.OTHER, table.category(2));
+        assertEquals("自訂類別", table.categoryLabel(2));
+    }
+
+    @Test
+    void testRowOf() {
+        HolidayTable table = HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null),
+                holiday("20241231", true, "調整放假日", "", null),
+                holiday("2025xxxx", true, "補假", "", null)));
+
+        assertEquals(1, table.size());
+        assertEquals(0, table.rowOf(0));
+        assertEquals(-1, table.rowOf(1));
+    }
+
+    @Test
+    void testLowerBoundAndCategoryIndex() {
+        HolidayTable table = HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null),
+                holiday("20250208", false, "補行上班日", "", null),
+                holiday("20250403", true, "調整放假日", "", null),
+                holiday("20250404", true, "放假之紀念日及節日", "兒童節", null)));
+
+        assertEquals(0, table.lowerBound(20241231));
+        assertEquals(1, table.lowerBound(20250102));
+        assertEquals(3, table.lowerBound(20250404));
+        assertEquals(4, table.lowerBound(20250405));
+
+        assertEquals(2, table.categorySize(HolidayCategory.NATIONAL_HOLIDAY));
+        assertEquals(3, table.categoryRow(HolidayCategory.NATIONAL_HOLIDAY, 1));
+        assertEquals(1, table.categoryLowerBound(HolidayCategory.NATIONAL_HOLIDAY, 20250102));
+        assertEquals(0, table.categorySize(HolidayCategory.COMPENSATORY_DAY_OFF));
+        assertEquals(0, table.categoryLowerBound(HolidayCategory.COMPENSATORY_DAY_OFF, 20250101));
+    }
+
+    @Test
+    void testStringsAreInterned() {
+        HolidayTable table2024 = HolidayTable.of(2024, List.of(
+                holiday("20240101", true, "放假之紀念日及節日", new String("中華民國開國紀念日"), null)));
+        HolidayTable table2025 = HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", new String("中華民國開國紀念日"), null)));
+
+        assertSame(table2024.name(0), table2025.name(0));
+    }
+}
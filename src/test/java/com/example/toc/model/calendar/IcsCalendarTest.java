@@ -0,0 +1,82 @@
+package com.example.toc.model.calendar;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+class IcsCalendarTest {
+
+    private static final long LAST_MODIFIED = 1735689600000L; // 2025-01-01T00:00:00Z
+
+    @Test
+    void testOf() {
+        HolidayTable table = HolidayTable.of(2025, List.of(
+                holiday("20250101").isHoliday(true).holidayCategory("放假之紀念日及節日").name("中華民國開國紀念日")
+                        .description("中華民國開國紀念日(1月1日)").build(),
+                holiday("20250104", true, "星期六、星期日"),
+                holiday("20250208", false, "補行上班日", "", "春節")));
+
+        String ics = new String(IcsCalendar.of(table, LAST_MODIFIED), StandardCharsets.UTF_8);
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+        // 沒有名稱的一般週末不產生事件
+        assertFalse(ics.contains("20250104"));
+        assertTrue(ics.contains("UID:20250101-0@taiwan-office-calendar\r\n"
+                + "DTSTAMP:20250101T000000Z\r\n"
+                + "DTSTART;VALUE=DATE:20250101\r\n"
+                + "DTEND;VALUE=DATE:20250102\r\n"
+                + "SUMMARY:中華民國開國紀念日\r\n"));
+        assertTrue(ics.contains("SUMMARY:補行上班日 (春節)\r\n"
+                + "CATEGORIES:補行上班日,上班日\r\n"
+                + "TRANSP:OPAQUE\r\n"
+                + "X-MICROSOFT-CDO-BUSYSTATUS:BUSY\r\n"));
+    }
+
+    @Test
+    void testWriteLine_FoldsLongLines() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsCalendar.writeLine(out, "DESCRIPTION:" + "放假".repeat(30));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertTrue(lines.length > 1);
+        StringBuilder unfolded = new StringBuilder(lines[0]);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].getBytes(StandardCharsets.UTF_8).length <= 75);
+            if (i > 0) {
+                assertTrue(lines[i].startsWith(" "));
+                unfolded.append(lines[i].substring(1));
+            }
+        }
+        assertEquals("DESCRIPTION:" + "放假".repeat(30), unfolded.toString());
+        assertEquals("a\\,b\\;c\\\\d\\ne", IcsCalendar.escape("a,b;c\\d\ne"));
+    }
+
+    @Test
+    void testFeed_ConcatenatesYears() throws Exception {
+        byte[] first = IcsCalendar.of(HolidayTable.of(2024, List.of(
+                holiday("20241231", true, "調整放假日"))), LAST_MODIFIED);
+        byte[] second = IcsCalendar.of(HolidayTable.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日", "中華民國開國紀念日", null))), LAST_MODIFIED);
+        IcsFeed feed = new IcsFeed(List.of(first, second), "\"etag\"", LAST_MODIFIED);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feed.writeTo(out);
+        String ics = out.toString(StandardCharsets.UTF_8);
+
+        assertEquals(feed.contentLength(), out.size());
+        assertEquals(1, ics.split("BEGIN:VCALENDAR", -1).length - 1);
+        assertEquals(1, ics.split("END:VCALENDAR", -1).length - 1);
+        assertTrue(ics.indexOf("DTSTART;VALUE=DATE:20241231") < ics.indexOf("DTSTART;VALUE=DATE:20250101"));
+        assertTrue(ics.contains("SUMMARY:調整放假日\r\n"));
+    }
+}
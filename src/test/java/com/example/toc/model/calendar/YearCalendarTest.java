@@ -0,0 +1,63 @@
+package com.example.toc.model.calendar;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.model.Holiday;
+
+class YearCalendarTest {
+
+    private static final List<Holiday> HOLIDAYS_2025 = List.of(
+            holiday("20250101", true, "放假之紀念日及節日"),
+            holiday("20250208", false, "補行上班日"),
+            holiday("20250615", false, "特定節日"),
+            holiday("20250903", false, "特定節日"));
+
+    @Test
+    void testIsWorkday() {
+        YearCalendar calendar = YearCalendar.of(2025, HOLIDAYS_2025);
+
+        // 國定假日
+        assertFalse(calendar.isWorkday(dayIndex("2025-01-01")));
+        // 一般平日
+        assertTrue(calendar.isWorkday(dayIndex("2025-01-02")));
+        // 補行上班日 (星期六)
+        assertTrue(calendar.isWorkday(dayIndex("2025-02-08")));
+        assertTrue(calendar.isMakeupWorkday(dayIndex("2025-02-08")));
+        // 特定節日適逢星期日，仍為非上班日
+        assertFalse(calendar.isWorkday(dayIndex("2025-06-15")));
+        // 特定節日適逢平日，照常上班
+        assertTrue(calendar.isWorkday(dayIndex("2025-09-03")));
+    }
+
+    @Test
+    void testWeekendWithoutData() {
+        // 資料未列出的週末仍應視為非上班日
+        YearCalendar calendar = YearCalendar.of(2028, List.of());
+
+        assertFalse(calendar.isWorkday(dayIndex("2028-01-01")));
+        assertFalse(calendar.isWorkday(dayIndex("2028-12-31")));
+        assertTrue(calendar.isWorkday(dayIndex("2028-01-03")));
+        assertFalse(calendar.isMakeupWorkday(dayIndex("2028-01-03")));
+    }
+
+    @Test
+    void testIsComplete() {
+        // 資料只到 9 月，尚未涵蓋整個年度
+        assertFalse(YearCalendar.of(2025, HOLIDAYS_2025).isComplete());
+        assertFalse(YearCalendar.of(2028, List.of()).isComplete());
+        assertTrue(YearCalendar.of(2025, List.of(
+                holiday("20250101", true, "放假之紀念日及節日"),
+                holiday("20251227", true, "星期六、星期日"))).isComplete());
+    }
+
+    private static int dayIndex(String isoDate) {
+        return LocalDate.parse(isoDate).getDayOfYear() - 1;
+    }
+}
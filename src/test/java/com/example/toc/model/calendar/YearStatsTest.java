@@ -0,0 +1,56 @@
+package com.example.toc.model.calendar;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class YearStatsTest {
+
+    private static final HolidayTable TABLE_2025 = HolidayTable.of(2025, List.of(
+            holiday("20250101", true, "放假之紀念日及節日"),
+            holiday("20250203", true, "補假"),
+            holiday("20250208", false, "補行上班日")));
+
+    @Test
+    void testOf() {
+        YearStats stats = YearStats.of(TABLE_2025, YearCalendar.of(TABLE_2025));
+
+        // 1 月：23 個平日扣除元旦
+        assertEquals(22, stats.workdays(1));
+        assertEquals(9, stats.holidays(1));
+        // 2 月：20 個平日扣除補假，加上星期六補行上班
+        assertEquals(20, stats.workdays(2));
+        assertEquals(8, stats.holidays(2));
+        assertEquals(1, stats.compensatoryDaysOff(2));
+        assertEquals(1, stats.makeupWorkdays(2));
+        assertEquals(0, stats.makeupWorkdays(3));
+        // 資料未涵蓋至 12 月
+        assertFalse(stats.isComplete());
+    }
+
+    @Test
+    void testWrite() throws Exception {
+        YearStats stats = YearStats.of(TABLE_2025, YearCalendar.of(TABLE_2025));
+
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(out)) {
+            stats.write(generator);
+        }
+
+        String json = out.toString();
+        assertTrue(json.startsWith("{\"year\":2025,\"complete\":false,\"days\":365,\"workdays\":260,"
+                + "\"holidays\":105,\"compensatoryDaysOff\":1,\"makeupWorkdays\":1,\"months\":["));
+        assertTrue(json.contains("{\"month\":2,\"days\":28,\"workdays\":20,\"holidays\":8,"
+                + "\"compensatoryDaysOff\":1,\"makeupWorkdays\":1}"));
+        assertEquals(12, json.split("\"month\":", -1).length - 1);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.toc.model.ncdr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NcdrSuspensionIndexTest {
+
+    private final NcdrSuspensionIndex index = NcdrSuspensionIndex.of(List.of(
+            entry("[停班停課通知]台北市:今天停止上班、停止上課。"),
+            entry("[停班停課通知]新北市瑞芳區:今天停止上課，照常上班。明天停止上班、停止上課。"),
+            entry("[停班停課通知]新北市瑞芳區：今天停止上班。"),
+            entry("[停班停課通知]臺東縣蘭嶼鄉:明天停止上班、停止上課。"),
+            entry("無法辨識的內容"),
+            new NcdrEntry()));
+
+    @Test
+    void testCity_NormalizesVariantSpellings() {
+        CitySuspension taipei = index.city("台北").orElseThrow();
+
+        assertEquals("臺北市", taipei.city());
+        assertEquals(new Suspension(true, true), taipei.cityWide().today());
+        assertEquals(Suspension.NONE, taipei.cityWide().tomorrow());
+        assertEquals(taipei, index.city("臺北市").orElseThrow());
+        assertEquals(1, index.cityWideEntries("台北市").size());
+    }
+
+    @Test
+    void testDistrict_MergesNoticesAndFallsBackToCityWide() {
+        CitySuspension newTaipei = index.city("新北市").orElseThrow();
+
+        // 同一區的兩筆通知合併
+        AreaSuspension ruifang = newTaipei.district("瑞芳");
+        assertEquals("瑞芳區", ruifang.district());
+        assertEquals(new Suspension(true, true), ruifang.today());
+        assertEquals(new Suspension(true, true), ruifang.tomorrow());
+        assertEquals(2, ruifang.notices().size());
+
+        // 沒有個別發布的區沿用全區 (照常)
+        AreaSuspension banqiao = newTaipei.district("板橋區");
+        assertEquals(Suspension.NONE, banqiao.today());
+        assertTrue(banqiao.notices().isEmpty());
+        assertTrue(index.cityWideEntries("新北市").isEmpty());
+
+        // 全區停班停課時，各區皆沿用
+        AreaSuspension beitou = index.city("臺北市").orElseThrow().district("北投區");
+        assertEquals(new Suspension(true, true), beitou.today());
+    }
+
+    @Test
+    void testParse_TodayAndTomorrow() {
+        AreaSuspension lanyu = index.city("台東縣").orElseThrow().district("蘭嶼鄉");
+
+        assertEquals(Suspension.NONE, lanyu.today());
+        assertEquals(new Suspension(true, true), lanyu.tomorrow());
+        assertNull(NcdrSuspensionIndex.parse(entry("無法辨識的內容")));
+        assertTrue(index.city("火星市").isEmpty());
+        assertEquals(NcdrSuspensionIndex.CITIES.size(), NcdrSuspensionIndex.CITIES.stream()
+                .filter(city -> index.city(city).isPresent()).count());
+    }
+
+    @Test
+    void testParse_OnlyItemsFollowingStop() {
+        // 同一子句中的「照常上班」不視為停止
+        AreaSuspension mixed = NcdrSuspensionIndex.parse(entry("[停班停課通知]臺南市:今天停止上課、照常上班。"));
+        assertEquals(new Suspension(false, true), mixed.today());
+
+        AreaSuspension combined = NcdrSuspensionIndex.parse(entry("[停班停課通知]臺南市:明天停止上班上課。"));
+        assertEquals(new Suspension(true, true), combined.tomorrow());
+
+        AreaSuspension listed = NcdrSuspensionIndex.parse(entry("[停班停課通知]臺南市:今天停止上班、上課。"));
+        assertEquals(new Suspension(true, true), listed.today());
+
+        AreaSuspension normal = NcdrSuspensionIndex.parse(entry("[停班停課通知]臺南市:今天照常上班、照常上課。"));
+        assertEquals(Suspension.NONE, normal.today());
+    }
+
+    @Test
+    void testParse_ResolvesRelativeDaysAgainstPublishedTime() {
+        // 前一晚 (Asia/Taipei) 發布的「明天」通知，對應到發布隔天
+        NcdrEntry evening = entry("[停班停課通知]高雄市:明天停止上班、停止上課。");
+        evening.setUpdated("2025-07-24T21:30:00+08:00");
+        AreaSuspension kaohsiung = NcdrSuspensionIndex.of(List.of(evening), Instant.parse("2025-07-25T00:10:00Z"))
+                .city("高雄市").orElseThrow().cityWide();
+
+        assertEquals(Map.of(LocalDate.of(2025, 7, 25), new Suspension(true, true)), kaohsiung.days());
+        assertEquals(new Suspension(true, true), kaohsiung.on(LocalDate.of(2025, 7, 25)));
+        assertEquals(Suspension.NONE, kaohsiung.on(LocalDate.of(2025, 7, 24)));
+
+        // UTC 時間換算為 Asia/Taipei 日期；無法辨識的發布時間改以取得時間換算
+        NcdrEntry utc = entry("[停班停課通知]高雄市:今天停止上班。");
+        utc.setUpdated("2025-07-24T16:30:00Z");
+        assertEquals(LocalDate.of(2025, 7, 25), NcdrSuspensionIndex.parse(utc).days().keySet().iterator().next());
+        NcdrEntry invalid = entry("[停班停課通知]高雄市:今天停止上班。");
+        invalid.setUpdated("昨天晚上");
+        assertEquals(Map.of(LocalDate.of(2025, 7, 25), new Suspension(true, false)),
+                NcdrSuspensionIndex.parse(invalid, LocalDate.of(2025, 7, 25)).days());
+    }
+
+    @Test
+    void testJson_TodayAndTomorrowAtQueryTime() {
+        LocalDate today = LocalDate.now(NcdrSuspensionIndex.ZONE);
+        AreaSuspension area = new AreaSuspension("臺北市", null,
+                Map.of(today.minusDays(1), new Suspension(true, true), today.plusDays(1), new Suspension(false, true)),
+                List.of("通知"));
+
+        JsonNode json = new ObjectMapper().valueToTree(area);
+
+        assertFalse(json.get("today").get("work").asBoolean());
+        assertTrue(json.get("tomorrow").get("school").asBoolean());
+        assertTrue(json.get("days").get(today.plusDays(1).toString()).get("school").asBoolean());
+    }
+
+    private static NcdrEntry entry(String text) {
+        NcdrSummary summary = new NcdrSummary();
+        summary.setText(text);
+        NcdrEntry entry = new NcdrEntry();
+        entry.setSummary(summary);
+        return entry;
+    }
+}
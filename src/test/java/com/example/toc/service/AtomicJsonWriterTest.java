@@ -0,0 +1,93 @@
+package com.example.toc.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AtomicJsonWriterTest {
+
+    private final AtomicJsonWriter writer = new AtomicJsonWriter(new ObjectMapper());
+
+    @Test
+    void testWrite_LfOnlyWithTrailingNewline(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("2025.json");
+
+        writer.write(file, List.of(Map.of("date", "20250101")));
+
+        String json = Files.readString(file);
+        assertEquals("[ {\n  \"date\" : \"20250101\"\n} ]\n", json);
+        assertEquals(List.of(file), listFiles(dir));
+    }
+
+    @Test
+    void testBatch_NotCommittedLeavesTargetsUntouched(@TempDir Path dir) throws Exception {
+        Path year = dir.resolve("2025.json");
+        Path index = dir.resolve("years.json");
+        Files.writeString(index, "[ \"2024\" ]\n");
+
+        try (AtomicJsonWriter.Batch batch = writer.begin()) {
+            batch.stage(year, List.of());
+            batch.stage(index, List.of("2025", "2024"));
+            // 未 commit：模擬寫入途中失敗
+            assertTrue(Files.isRegularFile(batch.resolve(year)));
+        }
+
+        assertFalse(Files.exists(year));
+        assertEquals("[ \"2024\" ]\n", Files.readString(index));
+        assertEquals(List.of(index), listFiles(dir));
+    }
+
+    @Test
+    void testBatch_CommitReplacesAllAndRestageKeepsLatest(@TempDir Path dir) throws Exception {
+        Path year = dir.resolve("2025.json");
+        Path index = dir.resolve("years.json");
+
+        try (AtomicJsonWriter.Batch batch = writer.begin()) {
+            batch.stage(year, List.of("first"));
+            batch.stage(index, List.of("2025"));
+            batch.stage(year, List.of("second"));
+            batch.commit();
+        }
+
+        assertEquals("[ \"second\" ]\n", Files.readString(year));
+        assertEquals("[ \"2025\" ]\n", Files.readString(index));
+        assertEquals(List.of(year, index), listFiles(dir));
+    }
+
+    @Test
+    void testBatch_CommitKeepsPosixPermissions(@TempDir Path dir) throws Exception {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path year = dir.resolve("2025.json");
+        Path index = dir.resolve("years.json");
+        Files.writeString(index, "[ \"2024\" ]\n");
+        Files.setPosixFilePermissions(index, PosixFilePermissions.fromString("rw-rw-r--"));
+
+        try (AtomicJsonWriter.Batch batch = writer.begin()) {
+            batch.stage(year, List.of());
+            batch.stage(index, List.of("2025", "2024"));
+            batch.commit();
+        }
+
+        // 新檔案為 rw-r--r--，既有檔案保留原本的權限，而非暫存檔的 rw-------
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(year)));
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(index)));
+    }
+
+    private static List<Path> listFiles(Path dir) throws Exception {
+        try (var files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+}
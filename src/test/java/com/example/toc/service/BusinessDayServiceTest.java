@@ -0,0 +1,103 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.calendar.YearCalendar;
+
+class BusinessDayServiceTest {
+
+    private BusinessDayService service;
+
+    @BeforeEach
+    void setUp() {
+        Map<Integer, YearCalendar> calendars = Map.of(
+                2024, YearCalendar.of(2024, List.of(holiday("20241231", true, "調整放假日"))),
+                2025, YearCalendar.of(2025, List.of(
+                        holiday("20250101", true, "放假之紀念日及節日"),
+                        holiday("20250208", false, "補行上班日"))));
+
+        CalendarIndexService calendarIndexService = new CalendarIndexService(null) {
+            @Override
+            public YearCalendar getYearCalendar(String source, int year) {
+                YearCalendar calendar = calendars.get(year);
+                if (calendar == null) {
+                    throw new ResourceNotFoundException("找不到 " + year + " 年度的假日資料");
+                }
+                return calendar;
+            }
+        };
+        service = new BusinessDayService(calendarIndexService);
+    }
+
+    @Test
+    void testCountWorkdays() {
+        // 2025/01: 23 個平日扣除元旦
+        assertEquals(22, service.countWorkdays("20250101", "20250131").workdays());
+        // 2025/02/08 補行上班 (星期六)
+        assertEquals(1, service.countWorkdays("20250208", "20250209").workdays());
+        // 跨年度: 2024/12/30 (一)、2024/12/31 (調整放假)、2025/01/01 (元旦)、2025/01/02 (四)
+        assertEquals(2, service.countWorkdays("20241230", "20250102").workdays());
+        assertEquals(261, service.countWorkdays("20240101", "20241231").workdays());
+    }
+
+    @Test
+    void testCountWorkdays_Invalid() {
+        assertThrows(InvalidRequestException.class, () -> service.countWorkdays("20250102", "20250101"));
+        assertThrows(ResourceNotFoundException.class, () -> service.countWorkdays("20230101", "20250101"));
+    }
+
+    @Test
+    void testAddWorkdays() {
+        // 2024/12/30 (一) + 1 個上班日 -> 跳過 12/31 調整放假與 1/1 元旦
+        assertEquals(LocalDate.of(2025, 1, 2), service.addWorkdays(LocalDate.of(2024, 12, 30), 1));
+        // 週末起算 + 1 -> 下週一
+        assertEquals(LocalDate.of(2025, 1, 6), service.addWorkdays(LocalDate.of(2025, 1, 4), 1));
+        // 補行上班日 2025/02/08 (六) 應被計入
+        assertEquals(LocalDate.of(2025, 2, 8), service.addWorkdays(LocalDate.of(2025, 2, 7), 1));
+        // 往前推算跨年度
+        assertEquals(LocalDate.of(2024, 12, 30), service.addWorkdays(LocalDate.of(2025, 1, 2), -1));
+        assertEquals(LocalDate.of(2025, 1, 4), service.addWorkdays(LocalDate.of(2025, 1, 4), 0));
+    }
+
+    @Test
+    void testAddWorkdays_MatchesDayByDayWalk() {
+        LocalDate start = LocalDate.of(2024, 3, 15);
+        for (int days = -40; days <= 300; days += 7) {
+            assertEquals(walk(start, days), service.addWorkdays(start, days), "days=" + days);
+        }
+        assertThrows(ResourceNotFoundException.class, () -> service.addWorkdays(start, 600));
+    }
+
+    @Test
+    void testAddWorkdays_Batch() {
+        List<String> results = service.addWorkdays(List.of("20241230", "20250207"), 1).stream()
+                .map(r -> r.result())
+                .toList();
+        assertEquals(List.of("20250102", "20250208"), results);
+        assertThrows(InvalidRequestException.class, () -> service.addWorkdays(List.of(), 1));
+    }
+
+    /** 逐日走訪的參考實作 */
+    private LocalDate walk(LocalDate start, int days) {
+        LocalDate date = start;
+        int step = days >= 0 ? 1 : -1;
+        for (int remaining = Math.abs(days); remaining > 0;) {
+            date = date.plusDays(step);
+            if (service.countWorkdays(date, date) == 1) {
+                remaining--;
+            }
+        }
+        return date;
+    }
+}
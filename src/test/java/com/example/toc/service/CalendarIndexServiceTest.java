@@ -0,0 +1,120 @@
+package com.example.toc.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.example.toc.exception.IncompleteDataException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.calendar.YearStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CalendarIndexServiceTest {
+
+    @TempDir
+    Path outputDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HolidayDataService holidayDataService;
+
+    private CalendarIndexService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 實際資料：2027 年為完整年度，2028 年僅含前一年度資料附帶的元旦
+        for (String year : new String[] { "2027", "2028" }) {
+            try (InputStream in = getClass().getResourceAsStream("/static/opendata/holiday/" + year + ".json")) {
+                Files.copy(in, outputDir.resolve(year + ".json"));
+            }
+        }
+        holidayDataService = new HolidayDataService(objectMapper, TestProperties.holiday(outputDir).build(),
+                new SimpleMeterRegistry());
+        service = new CalendarIndexService(holidayDataService);
+    }
+
+    @Test
+    void testGetWorkdayStatus_IncompleteYear() {
+        assertTrue(holidayDataService.getYearSnapshot(2027).calendar().isComplete());
+        assertFalse(holidayDataService.getYearSnapshot(2028).calendar().isComplete());
+
+        assertTrue(service.getWorkdayStatus("20271230").workday());
+        assertFalse(service.getWorkdayStatus("20271231").workday());
+        // 2028/01/03 (一) 未列於資料中，無法確定是否上班
+        assertThrows(IncompleteDataException.class, () -> service.getWorkdayStatus("20280103"));
+        assertThrows(IncompleteDataException.class, () -> service.isWorkday(LocalDate.of(2028, 1, 1)));
+    }
+
+    @Test
+    void testBusinessDays_IncompleteYear() {
+        BusinessDayService businessDayService = new BusinessDayService(service);
+
+        assertThrows(IncompleteDataException.class,
+                () -> businessDayService.countWorkdays("20271201", "20280131"));
+        // 推算跨入不完整年度時不以推測作答
+        assertThrows(IncompleteDataException.class,
+                () -> businessDayService.addWorkdays(LocalDate.of(2027, 12, 30), 5));
+    }
+
+    @Test
+    void testLookup_IncompleteYearAnswersListedDatesOnly() throws Exception {
+        HolidayLookupService lookupService = new HolidayLookupService(objectMapper, service);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        byte[] body = "[\"20280101\",\"20280103\"]".getBytes(StandardCharsets.UTF_8);
+        lookupService.lookup(null, new ByteArrayInputStream(body), false, out, true);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"holiday\":true"));
+        assertTrue(lines[1].contains("\"error\""));
+    }
+
+    @Test
+    void testUnknownSource() {
+        BusinessDayService businessDayService = new BusinessDayService(service);
+        HolidayRangeService rangeService = new HolidayRangeService(objectMapper, service);
+        HolidayLookupService lookupService = new HolidayLookupService(objectMapper, service);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getWorkdayStatus("unknown", "20271230"));
+        assertThrows(ResourceNotFoundException.class,
+                () -> businessDayService.countWorkdays("unknown", "20270101", "20270131"));
+        assertThrows(ResourceNotFoundException.class,
+                () -> businessDayService.addWorkdays("unknown", "20270104", 0));
+        // 區間與批次查詢會略過沒有資料的年度，不存在的來源須於查詢前回報
+        assertThrows(ResourceNotFoundException.class,
+                () -> rangeService.writeRange("unknown", "20270101", "20271231", null, false, out));
+        assertThrows(ResourceNotFoundException.class, () -> lookupService.lookup("unknown",
+                new ByteArrayInputStream("[\"20270101\"]".getBytes(StandardCharsets.UTF_8)), false, out, true));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testStats_FlagsIncompleteYear() {
+        HolidayStatsService statsService = new HolidayStatsService(objectMapper, holidayDataService);
+
+        List<YearStats> stats = statsService.getStats(null, "2027", "2028");
+
+        assertEquals(2, stats.size());
+        assertTrue(stats.get(0).isComplete());
+        assertFalse(stats.get(1).isComplete());
+    }
+}
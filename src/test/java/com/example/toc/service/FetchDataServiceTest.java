@@ -0,0 +1,283 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.example.toc.model.FetchManifest;
+import com.example.toc.model.Holiday;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FetchDataServiceTest {
+
+    private FetchDataService service;
+    private Method processRelatedHolidaysMethod;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new FetchDataService(new ObjectMapper(), null, new SimpleMeterRegistry());
+
+        // 使用反射存取 private 方法進行測試
+        processRelatedHolidaysMethod = FetchDataService.class.getDeclaredMethod("processRelatedHolidays",
+                List.class);
+        processRelatedHolidaysMethod.setAccessible(true);
+    }
+
+    @Test
+    void testProcessRelatedHolidays_ChineseNumerals() throws Exception {
+        Holiday source = holiday("20250404").name("兒童節").holidayCategory("放假之紀念日及節日")
+                .description("全國各機關學校放假一日，兒童節與民族掃墓節同一日，於四月三日補假一日。").build();
+        Holiday target = holiday("20250403", false, "補假");
+
+        processRelatedHolidaysMethod.invoke(service, List.of(source, target));
+
+        assertEquals("兒童節", target.getNote());
+        assertNull(source.getNote());
+    }
+
+    @Test
+    void testProcessRelatedHolidays_ArabicAndPadded() throws Exception {
+        Holiday makeup = holiday("20241222", false, "補行上班日");
+        Holiday adjusted = holiday("20241231", false, "調整放假日");
+        Holiday source = holiday("20240101").name("開國紀念日").holidayCategory("放假之紀念日及節日")
+                .description("調整 12 月 31 日為放假日，並於12月22日補行上班。").build();
+
+        processRelatedHolidaysMethod.invoke(service, List.of(makeup, adjusted, source));
+
+        assertEquals("開國紀念日", makeup.getNote());
+        assertEquals("開國紀念日", adjusted.getNote());
+    }
+
+    @Test
+    void testProcessRelatedHolidays_FirstNamedSourceWins() throws Exception {
+        Holiday target = holiday("20250208", false, "補行上班日");
+        Holiday unnamed = holiday("20250127").holidayCategory("調整放假日").description("於2月8日補行上班。").build();
+        Holiday first = holiday("20250128").name("農曆除夕").holidayCategory("放假之紀念日及節日")
+                .description("於二月八日補行上班。").build();
+        Holiday second = holiday("20250129").name("春節").holidayCategory("放假之紀念日及節日")
+                .description("於02月08日補行上班。").build();
+        // 不同年度不應互相連結
+        Holiday otherYear = holiday("20240208", false, "補行上班日");
+
+        processRelatedHolidaysMethod.invoke(service, List.of(target, unnamed, first, second, otherYear));
+
+        assertEquals("農曆除夕", target.getNote());
+        assertNull(otherYear.getNote());
+    }
+
+    @Test
+    void testProcessRelatedHolidays_NoPartialMonthMatch() throws Exception {
+        // 「十一月五日」不應被視為「一月五日」
+        Holiday target = holiday("20250105", false, "補假");
+        Holiday source = holiday("20251101").name("某節日").holidayCategory("放假之紀念日及節日")
+                .description("於十一月五日補假一日。").build();
+
+        processRelatedHolidaysMethod.invoke(service, List.of(target, source));
+
+        assertNull(target.getNote());
+    }
+
+    @Test
+    void testFetchAndProcess_SkipsUnchangedYears(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("holiday.csv");
+        Path output = dir.resolve("out");
+        String header = "Date,name,isHoliday,holidayCategory,description\n";
+        Files.writeString(csv, header
+                + "20240101,開國紀念日,是,放假之紀念日及節日,\n"
+                + "20250101,開國紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+
+        FetchDataService fetcher = new FetchDataService(new ObjectMapper(),
+                TestProperties.holiday(output).url(csv.toUri().toString()).build(), new SimpleMeterRegistry());
+        fetcher.fetchAndProcess();
+
+        Path file2024 = output.resolve("2024.json");
+        Path file2025 = output.resolve("2025.json");
+        Path yearsFile = output.resolve("years.json");
+        assertTrue(Files.isRegularFile(output.resolve(FetchManifest.FILE_NAME)));
+        assertTrue(Files.isRegularFile(output.resolve("2024.bin")));
+        FileTime old = FileTime.fromMillis(0);
+        for (Path file : List.of(file2024, file2025, yearsFile)) {
+            Files.setLastModifiedTime(file, old);
+        }
+
+        // 僅 2025 年內容變更
+        Files.writeString(csv, header
+                + "20240101,開國紀念日,是,放假之紀念日及節日,\n"
+                + "20250101,開國紀念日,是,放假之紀念日及節日,全國各機關學校放假一日。\n", StandardCharsets.UTF_8);
+        fetcher.fetchAndProcess();
+
+        assertEquals(old, Files.getLastModifiedTime(file2024));
+        assertEquals(old, Files.getLastModifiedTime(yearsFile));
+        assertNotEquals(old, Files.getLastModifiedTime(file2025));
+        assertTrue(Files.readString(file2025).contains("全國各機關學校放假一日"));
+    }
+
+    @Test
+    void testFetchAndProcess_RestoresEditedFileMatchingManifest(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("holiday.csv");
+        Path output = dir.resolve("out");
+        Files.writeString(csv, "Date,name,isHoliday,holidayCategory,description\n"
+                + "20250101,開國紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+        FetchDataService fetcher = new FetchDataService(new ObjectMapper(),
+                TestProperties.holiday(output).url(csv.toUri().toString()).build(), new SimpleMeterRegistry());
+        fetcher.fetchAndProcess();
+        Path file2025 = output.resolve("2025.json");
+        String generated = Files.readString(file2025);
+
+        // 手動編輯後，輸出內容雖與清單記錄的雜湊相同，仍須以實際檔案比對並還原
+        Files.writeString(file2025, "[]\n", StandardCharsets.UTF_8);
+        fetcher.fetchAndProcess();
+
+        assertEquals(generated, Files.readString(file2025));
+    }
+
+    @Test
+    void testFetchAndProcess_InterleavedYears(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("holiday.csv");
+        Path output = dir.resolve("out");
+        Files.writeString(csv, "Date,name,isHoliday,holidayCategory,description\n"
+                + "20240210,春節,是,放假之紀念日及節日,於2月14日補假。\n"
+                + "20250101,開國紀念日,是,放假之紀念日及節日,\n"
+                + "20240214,,是,補假,\n"
+                + "20250208,,否,補行上班日,\n"
+                + "20240228,和平紀念日,是,放假之紀念日及節日,\n"
+                + "20250228,和平紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+
+        ObjectMapper mapper = new ObjectMapper();
+        FetchDataService fetcher = new FetchDataService(mapper,
+                TestProperties.holiday(output).url(csv.toUri().toString()).build(), new SimpleMeterRegistry());
+        fetcher.fetchAndProcess();
+
+        // 交錯出現的年份合併為完整年度，維持來源順序並跨批次連結補假
+        List<Holiday> holidays2024 = List.of(mapper.readValue(output.resolve("2024.json").toFile(),
+                Holiday[].class));
+        List<Holiday> holidays2025 = List.of(mapper.readValue(output.resolve("2025.json").toFile(),
+                Holiday[].class));
+        assertEquals(List.of("20240210", "20240214", "20240228"),
+                holidays2024.stream().map(Holiday::getDate).toList());
+        assertEquals(List.of("20250101", "20250208", "20250228"),
+                holidays2025.stream().map(Holiday::getDate).toList());
+        assertEquals("春節", holidays2024.get(1).getNote());
+        assertTrue(Files.isRegularFile(output.resolve("2024.bin")));
+    }
+
+    @Test
+    void testFetchAndProcess_AgencySortedSourceKeepsMemoryBounded(@TempDir Path dir) throws Exception {
+        // 依機關再依日期排序：每個年度於每個機關各出現一次
+        int agencies = 12;
+        int years = 20;
+        int rowsPerBlock = 30;
+        StringBuilder csv = new StringBuilder("Date,name,isHoliday,holidayCategory,description\n");
+        for (int agency = 0; agency < agencies; agency++) {
+            for (int year = 2000; year < 2000 + years; year++) {
+                for (int i = 0; i < rowsPerBlock; i++) {
+                    LocalDate date = LocalDate.ofYearDay(year, agency * rowsPerBlock + i + 1);
+                    csv.append(date.format(DateTimeFormatter.BASIC_ISO_DATE)).append(",機關").append(agency)
+                            .append(",是,放假之紀念日及節日,\n");
+                }
+            }
+        }
+        Path source = dir.resolve("holiday.csv");
+        Files.writeString(source, csv, StandardCharsets.UTF_8);
+        Path output = dir.resolve("out");
+
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FetchDataService fetcher = new FetchDataService(mapper,
+                TestProperties.holiday(output).url(source.toUri().toString()).build(), registry);
+        fetcher.fetchAndProcess();
+
+        // 記憶體中最多只保留一個連續區塊，其餘交錯的記錄經工作檔合併
+        assertEquals(rowsPerBlock, registry.get("holiday.fetch.buffered.records").summary().max());
+        for (int year = 2000; year < 2000 + years; year++) {
+            List<Holiday> holidays = List.of(mapper.readValue(output.resolve(year + ".json").toFile(),
+                    Holiday[].class));
+            assertEquals(agencies * rowsPerBlock, holidays.size());
+            assertEquals(year + "0101", holidays.get(0).getDate());
+            assertEquals("機關" + (agencies - 1), holidays.get(holidays.size() - 1).getName());
+        }
+        try (Stream<Path> files = Files.list(output)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".scratch")));
+        }
+    }
+
+    @Test
+    void testProcessExistingFiles_ParallelIsolatesFailures(@TempDir Path dir) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        for (int year = 2020; year <= 2025; year++) {
+            mapper.writeValue(dir.resolve(year + ".json").toFile(), List.of(
+                    holiday(year + "0101").name("開國紀念日").holidayCategory("放假之紀念日及節日")
+                            .description("於1月2日補假。").build(),
+                    holiday(year + "0102", false, "補假")));
+        }
+        Files.writeString(dir.resolve("2019.json"), "[ {", StandardCharsets.UTF_8);
+
+        FetchDataService processor = new FetchDataService(mapper,
+                TestProperties.holiday(dir).parallelism(4).build(), new SimpleMeterRegistry());
+        processor.processExistingFiles();
+
+        for (int year = 2020; year <= 2025; year++) {
+            List<Holiday> holidays = List.of(mapper.readValue(dir.resolve(year + ".json").toFile(), Holiday[].class));
+            assertEquals("開國紀念日", holidays.get(1).getNote());
+        }
+        // 格式錯誤的檔案維持原狀
+        assertEquals("[ {", Files.readString(dir.resolve("2019.json")));
+    }
+
+    @Test
+    void testFetchAndProcess_MergesSourcesAndIsolatesFailures(@TempDir Path dir) throws Exception {
+        String header = "Date,name,isHoliday,holidayCategory,description\n";
+        Path primary = dir.resolve("primary.csv");
+        Path secondary = dir.resolve("secondary.csv");
+        Files.writeString(primary, header
+                + "20250101,開國紀念日,是,放假之紀念日及節日,\n"
+                + "20250208,,否,補行上班日,\n", StandardCharsets.UTF_8);
+        Files.writeString(secondary, header
+                + "20250208,,是,星期六、星期日,\n"
+                + "20250210,地方節日,是,放假之紀念日及節日,\n"
+                + "20240101,開國紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+        Path output = dir.resolve("out");
+        Duration timeout = Duration.ofSeconds(30);
+
+        ObjectMapper mapper = new ObjectMapper();
+        FetchDataService fetcher = new FetchDataService(mapper, TestProperties.holiday(output)
+                .sources(TestProperties.source("primary", primary.toUri().toString(), timeout),
+                        TestProperties.source("missing", dir.resolve("missing.csv").toUri().toString(), timeout),
+                        TestProperties.source("secondary", secondary.toUri().toString(), timeout))
+                .build(), new SimpleMeterRegistry());
+        fetcher.fetchAndProcess();
+
+        // 各來源分別輸出，失敗的來源不影響其他來源
+        assertTrue(Files.isRegularFile(output.resolve("sources/primary/2025.json")));
+        assertTrue(Files.isRegularFile(output.resolve("sources/secondary/2024.json")));
+        assertTrue(Files.notExists(output.resolve("sources/missing/2025.json")));
+
+        // 同一天採用順序較前的來源，只出現在其他來源的日期一併納入
+        List<Holiday> merged = List.of(mapper.readValue(output.resolve("2025.json").toFile(), Holiday[].class));
+        assertEquals(List.of("20250101", "20250208", "20250210"), merged.stream().map(Holiday::getDate).toList());
+        assertEquals("補行上班日", merged.get(1).getHolidayCategory());
+        assertTrue(Files.isRegularFile(output.resolve("2024.json")));
+        assertEquals(List.of("2025", "2024"), List.of(mapper.readValue(output.resolve("years.json").toFile(),
+                String[].class)));
+    }
+}
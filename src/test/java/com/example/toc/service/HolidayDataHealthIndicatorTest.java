@@ -0,0 +1,67 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import com.example.toc.TestProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HolidayDataHealthIndicatorTest {
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void testHealth_PreloadDisabled() {
+        HolidayDataHealthIndicator indicator = new HolidayDataHealthIndicator(
+                new StaticListableBeanFactory().getBeanProvider(HolidayPreloader.class));
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("disabled", health.getDetails().get("preload"));
+    }
+
+    @Test
+    void testHealth_RecoversWhenFailedYearIsFixed() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HolidayPreloader preloader = new HolidayPreloader(new HolidayDataService(mapper,
+                TestProperties.holiday(outputDir).build(), meterRegistry), meterRegistry);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("holidayPreloader", preloader);
+        HolidayDataHealthIndicator indicator = new HolidayDataHealthIndicator(
+                beanFactory.getBeanProvider(HolidayPreloader.class));
+
+        // 預載前不接收流量
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+
+        mapper.writeValue(outputDir.resolve("years.json").toFile(), List.of("2025"));
+        Files.writeString(outputDir.resolve("2025.json"), "[ {", StandardCharsets.UTF_8);
+        preloader.preload();
+        Health failed = indicator.health();
+        assertEquals(Status.DOWN, failed.getStatus());
+        assertEquals(List.of(2025), failed.getDetails().get("failedYears"));
+
+        // 錯誤的年度檔案修正後，下一次檢查即恢復 UP
+        mapper.writeValue(outputDir.resolve("2025.json").toFile(),
+                List.of(holiday("20250101", true, "放假之紀念日及節日")));
+        Health recovered = indicator.health();
+        assertEquals(Status.UP, recovered.getStatus());
+        assertEquals(HolidayPreloader.Status.COMPLETED, recovered.getDetails().get("status"));
+        assertEquals(1, recovered.getDetails().get("loadedYears"));
+    }
+}
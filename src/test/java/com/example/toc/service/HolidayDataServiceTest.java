@@ -0,0 +1,162 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.example.toc.config.OpendataProperties;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.calendar.BinarySnapshotCodec;
+import com.example.toc.model.calendar.HolidayTable;
+import com.example.toc.model.calendar.YearSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HolidayDataServiceTest {
+
+    private static final String NEW_YEAR = """
+            {"date":"20250101","year":"2025","name":"中華民國開國紀念日","holidayCategory":"放假之紀念日及節日",\
+            "description":"","note":null,"holiday":true}""";
+
+    private static final String MAKEUP_DAY = """
+            {"date":"20250208","year":"2025","name":"","holidayCategory":"補行上班日",\
+            "description":"","note":null,"holiday":false}""";
+
+    @TempDir
+    Path outputDir;
+
+    private HolidayDataService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HolidayDataService(new ObjectMapper(), TestProperties.holiday(outputDir).build(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGetYearSnapshot() throws Exception {
+        writeYear("[" + NEW_YEAR + "]");
+
+        YearSnapshot snapshot = service.getYearSnapshot("2025");
+
+        assertEquals(1, snapshot.table().size());
+        assertFalse(snapshot.calendar().isWorkday(0));
+        assertEquals("中華民國開國紀念日", snapshot.table().name(snapshot.table().rowOf(0)));
+        assertSame(snapshot, service.getYearSnapshot(2025));
+        assertThrows(ResourceNotFoundException.class, () -> service.getYearSnapshot("2024"));
+        assertThrows(ResourceNotFoundException.class, () -> service.getYearSnapshot("../x"));
+    }
+
+    @Test
+    void testReload() throws Exception {
+        writeYear("[" + NEW_YEAR + "]");
+        YearSnapshot before = service.getYearSnapshot(2025);
+
+        writeYear("[" + NEW_YEAR + "," + MAKEUP_DAY + "]");
+        assertTrue(service.reload(2025));
+
+        YearSnapshot after = service.getYearSnapshot(2025);
+        assertEquals(2, after.table().size());
+        assertTrue(after.calendar().isMakeupWorkday(38));
+        // 舊快照不受影響
+        assertEquals(1, before.table().size());
+        assertFalse(before.calendar().isMakeupWorkday(38));
+    }
+
+    @Test
+    void testReload_KeepsSnapshotWhenFileIsIncomplete() throws Exception {
+        writeYear("[" + NEW_YEAR + "]");
+        YearSnapshot before = service.getYearSnapshot(2025);
+
+        // 模擬檔案寫入到一半
+        writeYear("[" + NEW_YEAR + ", {\"date\":");
+        assertFalse(service.reload(2025));
+        assertSame(before, service.getYearSnapshot(2025));
+
+        Files.delete(outputDir.resolve("2025.json"));
+        assertTrue(service.reload(2025));
+        assertThrows(ResourceNotFoundException.class, () -> service.getYearSnapshot(2025));
+    }
+
+    @Test
+    void testGetYearSnapshot_CachesMissingYears() throws Exception {
+        assertThrows(ResourceNotFoundException.class, () -> service.getYearSnapshot(2025));
+
+        // 不存在的年度於快取期間內不再檢查檔案，重新載入時才清除
+        writeYear("[" + NEW_YEAR + "]");
+        assertThrows(ResourceNotFoundException.class, () -> service.getYearSnapshot(2025));
+        assertTrue(service.reload(2025));
+        assertEquals(1, service.getYearSnapshot(2025).table().size());
+    }
+
+    @Test
+    void testGetYearSnapshot_PrefersMatchingBinarySnapshot() throws Exception {
+        writeYear("[" + NEW_YEAR + "]");
+        byte[] json = Files.readAllBytes(outputDir.resolve("2025.json"));
+        // 快照內容刻意與 JSON 不同，以確認實際讀取的是快照
+        HolidayTable table = HolidayTable.of(2025, List.of(holiday("20250208", false, "補行上班日")));
+        try (OutputStream out = Files.newOutputStream(outputDir.resolve("2025.bin"))) {
+            BinarySnapshotCodec.write(table, MessageDigest.getInstance("SHA-256").digest(json), out);
+        }
+
+        YearSnapshot snapshot = service.getYearSnapshot(2025);
+        assertTrue(snapshot.calendar().isMakeupWorkday(38));
+        assertTrue(new String(snapshot.representation().identity(), StandardCharsets.UTF_8).contains("20250208"));
+
+        // JSON 變更後快照雜湊不符，改為解析 JSON
+        writeYear("[" + NEW_YEAR + "," + MAKEUP_DAY + "]");
+        assertTrue(service.reload(2025));
+        assertEquals(2, service.getYearSnapshot(2025).table().size());
+
+        // 損毀的快照不影響載入
+        Files.writeString(outputDir.resolve("2025.bin"), "broken", StandardCharsets.UTF_8);
+        assertTrue(service.reload(2025));
+        assertEquals(2, service.getYearSnapshot(2025).table().size());
+    }
+
+    @Test
+    void testGetYearSnapshot_SeparateIndexPerSource() throws Exception {
+        OpendataProperties properties = TestProperties.holiday(outputDir)
+                .sources(TestProperties.source("taipei", "file:///dev/null", Duration.ofSeconds(1)))
+                .build();
+        HolidayDataService federated = new HolidayDataService(new ObjectMapper(), properties,
+                new SimpleMeterRegistry());
+        writeYear("[" + NEW_YEAR + "]");
+        Path sourceDir = Files.createDirectories(outputDir.resolve("sources").resolve("taipei"));
+        Files.writeString(sourceDir.resolve("2025.json"), "[" + NEW_YEAR + "," + MAKEUP_DAY + "]",
+                StandardCharsets.UTF_8);
+
+        assertEquals(1, federated.getYearSnapshot(null, "2025").table().size());
+        assertEquals(2, federated.getYearSnapshot("taipei", "2025").table().size());
+        assertThrows(ResourceNotFoundException.class, () -> federated.getYearSnapshot("unknown", "2025"));
+        assertTrue(federated.hasSource("taipei"));
+        assertFalse(federated.hasSource("unknown"));
+
+        // 重新載入只影響該來源
+        Files.delete(sourceDir.resolve("2025.json"));
+        assertTrue(federated.reload("taipei", 2025));
+        assertThrows(ResourceNotFoundException.class, () -> federated.getYearSnapshot("taipei", 2025));
+        assertEquals(1, federated.getYearSnapshot(2025).table().size());
+    }
+
+    private void writeYear(String json) throws Exception {
+        Files.writeString(outputDir.resolve("2025.json"), json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.toc.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.example.toc.config.OpendataProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HolidayFetchSchedulerTest {
+
+    private static final String HEADER = "Date,name,isHoliday,holidayCategory,description\n";
+
+    @Test
+    void testFetchOnce_SingleFlightPerRound(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("holiday.csv");
+        Path output = dir.resolve("out");
+        Files.writeString(csv, HEADER + "20250101,開國紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+        OpendataProperties properties = TestProperties.holiday(output)
+                .url(csv.toUri().toString())
+                .schedule(new OpendataProperties.Schedule(true, "0 0 3 * * *", ZoneId.of("Asia/Taipei"), Duration.ZERO))
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FetchDataService fetcher = new FetchDataService(mapper, properties, registry);
+        HolidayDataService holidays = new HolidayDataService(mapper, properties, registry);
+        // 模擬共用同一輸出目錄的兩個執行個體
+        HolidayFetchScheduler first = new HolidayFetchScheduler(fetcher, holidays, properties, null);
+        HolidayFetchScheduler second = new HolidayFetchScheduler(fetcher, holidays, properties, null);
+
+        Instant round = Instant.parse("2025-01-01T19:00:00Z");
+        assertTrue(first.fetchOnce(round));
+        // 避免檔案系統時間精度不足時，重寫後的修改時間與第一次相同
+        Files.setLastModifiedTime(output.resolve("2025.json"), FileTime.fromMillis(0));
+        assertEquals(1, holidays.getYearSnapshot(2025).table().size());
+
+        // 同一輪已由其他執行個體完成，不再抓取
+        Files.writeString(csv, HEADER
+                + "20250101,開國紀念日,是,放假之紀念日及節日,\n"
+                + "20250208,,否,補行上班日,\n", StandardCharsets.UTF_8);
+        assertFalse(second.fetchOnce(round));
+        assertEquals(0, holidays.reloadModified());
+
+        // 下一輪抓取後，已載入的年度改為新內容
+        assertTrue(second.fetchOnce(round.plus(Duration.ofDays(1))));
+        assertEquals(1, holidays.reloadModified());
+        assertEquals(2, holidays.getYearSnapshot(2025).table().size());
+    }
+
+    @Test
+    void testFetchOnce_FailedRoundCanBeRetried(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("holiday.csv");
+        Path output = dir.resolve("out");
+        OpendataProperties properties = TestProperties.holiday(output)
+                .url(csv.toUri().toString())
+                .schedule(new OpendataProperties.Schedule(true, "0 0 3 * * *", ZoneId.of("Asia/Taipei"), Duration.ZERO))
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FetchDataService fetcher = new FetchDataService(mapper, properties, registry);
+        HolidayDataService holidays = new HolidayDataService(mapper, properties, registry);
+        HolidayFetchScheduler first = new HolidayFetchScheduler(fetcher, holidays, properties, null);
+        HolidayFetchScheduler second = new HolidayFetchScheduler(fetcher, holidays, properties, null);
+
+        // 資料來源無法讀取：不記錄本輪
+        Instant round = Instant.parse("2025-01-01T19:00:00Z");
+        assertFalse(first.fetchOnce(round));
+        assertTrue(Files.notExists(output.resolve("2025.json")));
+
+        // 其他執行個體於同一輪重試成功
+        Files.writeString(csv, HEADER + "20250101,開國紀念日,是,放假之紀念日及節日,\n", StandardCharsets.UTF_8);
+        assertTrue(second.fetchOnce(round));
+        assertEquals(1, holidays.getYearSnapshot(2025).table().size());
+        assertFalse(first.fetchOnce(round));
+    }
+}
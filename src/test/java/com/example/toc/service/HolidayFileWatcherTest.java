@@ -0,0 +1,203 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.example.toc.config.OpendataProperties;
+import com.example.toc.model.Holiday;
+import com.example.toc.model.calendar.BinarySnapshotCodec;
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HolidayFileWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path outputDir;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private HolidayFileWatcher watcher;
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    @Test
+    void testWatch_ReloadsYearAfterDebounce() throws Exception {
+        writeYear(outputDir, holiday("20250101", true, "放假之紀念日及節日"));
+        CountingDataService dataService = start(TestProperties.holiday(outputDir).watch(DEBOUNCE).build());
+        assertEquals(1, dataService.getYearSnapshot(2025).table().size());
+
+        // 靜止時間內的連續寫入只在最後一次寫入後重新載入一次
+        writeYear(outputDir, holiday("20250101", true, "放假之紀念日及節日"),
+                holiday("20250208", false, "補行上班日"));
+        Thread.sleep(DEBOUNCE.toMillis() / 3);
+        assertEquals(0, dataService.reloads(null, 2025));
+        writeYear(outputDir, holiday("20250101", true, "放假之紀念日及節日"),
+                holiday("20250208", false, "補行上班日"), holiday("20250228", true, "放假之紀念日及節日"));
+
+        awaitUntil(() -> dataService.reloads(null, 2025) > 0);
+        assertEquals(3, dataService.getYearSnapshot(2025).table().size());
+        Thread.sleep(DEBOUNCE.toMillis() * 2);
+        assertEquals(1, dataService.reloads(null, 2025));
+    }
+
+    @Test
+    void testWatch_JsonAndBinaryEventsCoalesce() throws Exception {
+        writeYear(outputDir, holiday("20250101", true, "放假之紀念日及節日"));
+        CountingDataService dataService = start(TestProperties.holiday(outputDir).watch(DEBOUNCE).build());
+        assertEquals(1, dataService.getYearSnapshot(2025).table().size());
+
+        // 抓取時先寫 JSON 再寫快照，同一年度只重新載入一次
+        List<Holiday> holidays = List.of(holiday("20250101", true, "放假之紀念日及節日"),
+                holiday("20250208", false, "補行上班日"));
+        byte[] json = writeYear(outputDir, holidays.toArray(Holiday[]::new));
+        try (OutputStream out = Files.newOutputStream(outputDir.resolve("2025.bin"))) {
+            BinarySnapshotCodec.write(HolidayTable.of(2025, holidays),
+                    MessageDigest.getInstance("SHA-256").digest(json), out);
+        }
+
+        awaitUntil(() -> dataService.reloads(null, 2025) > 0);
+        assertEquals(2, dataService.getYearSnapshot(2025).table().size());
+        Thread.sleep(DEBOUNCE.toMillis() * 2);
+        assertEquals(1, dataService.reloads(null, 2025));
+    }
+
+    @Test
+    void testWatch_SourceDirectoryReloadsOwnSource() throws Exception {
+        Path sourceDir = Files.createDirectories(outputDir.resolve("sources").resolve("taipei"));
+        writeYear(outputDir, holiday("20250101", true, "放假之紀念日及節日"));
+        writeYear(sourceDir, holiday("20250101", true, "放假之紀念日及節日"));
+        CountingDataService dataService = start(TestProperties.holiday(outputDir).watch(DEBOUNCE)
+                .sources(TestProperties.source("taipei", "file:///dev/null", Duration.ofSeconds(1)))
+                .build());
+        assertEquals(1, dataService.getYearSnapshot("taipei", 2025).table().size());
+
+        writeYear(sourceDir, holiday("20250101", true, "放假之紀念日及節日"),
+                holiday("20250208", false, "補行上班日"));
+
+        awaitUntil(() -> dataService.reloads("taipei", 2025) > 0);
+        assertEquals(2, dataService.getYearSnapshot("taipei", 2025).table().size());
+        assertEquals(1, dataService.getYearSnapshot(2025).table().size());
+        assertEquals(0, dataService.reloads(null, 2025));
+    }
+
+    @Test
+    void testCollectEvents_OverflowRescansDirectory() throws Exception {
+        Path sourceDir = Files.createDirectories(outputDir.resolve("sources").resolve("taipei"));
+        Files.createFile(outputDir.resolve("2024.json"));
+        Files.createFile(outputDir.resolve("2025.bin"));
+        Files.createFile(outputDir.resolve("years.json"));
+        Files.createFile(sourceDir.resolve("2025.json"));
+        start(TestProperties.holiday(outputDir).watch(DEBOUNCE)
+                .sources(TestProperties.source("taipei", "file:///dev/null", Duration.ofSeconds(1)))
+                .build());
+
+        // 事件溢位時無法得知變更的檔案，改為重新載入該目錄中所有年度
+        Set<HolidayFileWatcher.PendingYear> pending = new LinkedHashSet<>();
+        watcher.collectEvents(outputDir, List.of(overflow()), pending);
+        assertEquals(Set.of(new HolidayFileWatcher.PendingYear(null, 2024),
+                new HolidayFileWatcher.PendingYear(null, 2025)), pending);
+
+        pending.clear();
+        watcher.collectEvents(sourceDir, List.of(overflow()), pending);
+        assertEquals(Set.of(new HolidayFileWatcher.PendingYear("taipei", 2025)), pending);
+    }
+
+    private CountingDataService start(OpendataProperties properties) {
+        CountingDataService dataService = new CountingDataService(mapper, properties);
+        watcher = new HolidayFileWatcher(dataService, properties);
+        watcher.start();
+        assertTrue(watcher.isRunning());
+        return dataService;
+    }
+
+    private byte[] writeYear(Path dir, Holiday... holidays) throws Exception {
+        byte[] json = mapper.writeValueAsBytes(List.of(holidays));
+        Files.write(dir.resolve("2025.json"), json);
+        return json;
+    }
+
+    private static WatchEvent<?> overflow() {
+        return new WatchEvent<Object>() {
+
+            @Override
+            public Kind<Object> kind() {
+                return StandardWatchEventKinds.OVERFLOW;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Object context() {
+                return null;
+            }
+        };
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("逾時仍未重新載入");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 記錄各年度重新載入次數的資料服務。
+     */
+    private static class CountingDataService extends HolidayDataService {
+
+        private final Map<String, Integer> reloads = new ConcurrentHashMap<>();
+
+        CountingDataService(ObjectMapper objectMapper, OpendataProperties properties) {
+            super(objectMapper, properties, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public boolean reload(String source, int year) {
+            boolean reloaded = super.reload(source, year);
+            reloads.merge(source + "/" + year, 1, Integer::sum);
+            return reloaded;
+        }
+
+        int reloads(String source, int year) {
+            return reloads.getOrDefault(source + "/" + year, 0);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.toc.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Year;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+
+class HolidayMetricsTest {
+
+    @Test
+    void testYearBucket() {
+        int current = Year.now().getValue();
+
+        assertEquals("past", HolidayMetrics.yearBucket(current - 5));
+        assertEquals("previous", HolidayMetrics.yearBucket(current - 1));
+        assertEquals("current", HolidayMetrics.yearBucket(String.valueOf(current)));
+        assertEquals("next", HolidayMetrics.yearBucket(current + 1));
+        assertEquals("future", HolidayMetrics.yearBucket(current + 2));
+        assertEquals("invalid", HolidayMetrics.yearBucket("abc"));
+        assertEquals("invalid", HolidayMetrics.yearBucket((String) null));
+    }
+
+    @Test
+    void testOutcome() {
+        assertEquals("success", HolidayMetrics.outcome(null));
+        assertEquals("not_found", HolidayMetrics.outcome(new ResourceNotFoundException("x")));
+        assertEquals("bad_request", HolidayMetrics.outcome(new InvalidRequestException("x")));
+        assertEquals("error", HolidayMetrics.outcome(new IllegalStateException("x")));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.toc.TestProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HolidayPreloaderTest {
+
+    @TempDir
+    Path outputDir;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private HolidayPreloader preloader;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HolidayDataService dataService = new HolidayDataService(mapper, TestProperties.holiday(outputDir).build(),
+                meterRegistry);
+        preloader = new HolidayPreloader(dataService, meterRegistry);
+    }
+
+    @Test
+    void testPreload_AllYearsLoaded() throws Exception {
+        writeIndex("2024", "2025");
+        writeYear(2024);
+        writeYear(2025);
+
+        preloader.preload();
+
+        assertEquals(HolidayPreloader.Status.COMPLETED, preloader.getStatus());
+        assertEquals(2, preloader.getLoadedYears());
+        assertEquals(List.of(), preloader.getFailedYears());
+    }
+
+    @Test
+    void testRecheck_RecoversAfterFileFixed() throws Exception {
+        writeIndex("2024", "2025");
+        writeYear(2024);
+        Files.writeString(outputDir.resolve("2025.json"), "[ {", StandardCharsets.UTF_8);
+
+        preloader.preload();
+        assertEquals(HolidayPreloader.Status.FAILED, preloader.getStatus());
+        assertEquals(List.of(2025), preloader.getFailedYears());
+        assertEquals(1, preloader.getLoadedYears());
+
+        // 檔案仍錯誤時維持失敗
+        assertEquals(HolidayPreloader.Status.FAILED, preloader.recheck());
+
+        // 檔案修正後 (例如定期抓取或檔案監看) 恢復
+        writeYear(2025);
+        assertEquals(HolidayPreloader.Status.COMPLETED, preloader.recheck());
+        assertEquals(List.of(), preloader.getFailedYears());
+        assertEquals(2, preloader.getLoadedYears());
+    }
+
+    @Test
+    void testRecheck_YearRemovedFromIndex() throws Exception {
+        writeIndex("2024", "2025");
+        writeYear(2024);
+        Files.writeString(outputDir.resolve("2025.json"), "[ {", StandardCharsets.UTF_8);
+        preloader.preload();
+
+        // 已不提供的年度不再視為失敗
+        writeIndex("2024");
+        assertEquals(HolidayPreloader.Status.COMPLETED, preloader.recheck());
+        assertEquals(1, preloader.getLoadedYears());
+    }
+
+    @Test
+    void testRecheck_IndexFailureRetriesAllYears() throws Exception {
+        Files.writeString(outputDir.resolve("years.json"), "[", StandardCharsets.UTF_8);
+        writeYear(2025);
+
+        preloader.preload();
+        assertEquals(HolidayPreloader.Status.FAILED, preloader.getStatus());
+        assertEquals(HolidayPreloader.Status.FAILED, preloader.recheck());
+
+        writeIndex("2025");
+        assertEquals(HolidayPreloader.Status.COMPLETED, preloader.recheck());
+        assertEquals(1, preloader.getLoadedYears());
+    }
+
+    private void writeIndex(String... years) throws Exception {
+        mapper.writeValue(outputDir.resolve("years.json").toFile(), List.of(years));
+    }
+
+    private void writeYear(int year) throws Exception {
+        mapper.writeValue(outputDir.resolve(year + ".json").toFile(),
+                List.of(holiday(year + "0101", true, "放假之紀念日及節日")));
+    }
+}
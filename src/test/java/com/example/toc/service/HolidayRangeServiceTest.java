@@ -0,0 +1,99 @@
+package com.example.toc.service;
+
+import static com.example.toc.model.HolidayFixtures.holiday;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.toc.exception.InvalidRequestException;
+import com.example.toc.exception.ResourceNotFoundException;
+import com.example.toc.model.Holiday;
+import com.example.toc.model.calendar.HolidayTable;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HolidayRangeServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HolidayRangeService service;
+
+    @BeforeEach
+    void setUp() {
+        Map<Integer, HolidayTable> tables = Map.of(
+                2024, HolidayTable.of(2024, List.of(
+                        holiday("20241231", true, "調整放假日"),
+                        holiday("20241228", true, "星期六、星期日"))),
+                2025, HolidayTable.of(2025, List.of(
+                        holiday("20250101", true, "放假之紀念日及節日"),
+                        holiday("20250208", false, "補行上班日"),
+                        holiday("20250404", true, "放假之紀念日及節日"),
+                        holiday("20250403", true, "調整放假日"))));
+
+        CalendarIndexService calendarIndexService = new CalendarIndexService(null) {
+            @Override
+            public HolidayTable getHolidayTable(String source, int year) {
+                HolidayTable table = tables.get(year);
+                if (table == null) {
+                    throw new ResourceNotFoundException("找不到 " + year + " 年度的假日資料");
+                }
+                return table;
+            }
+        };
+        service = new HolidayRangeService(objectMapper, calendarIndexService);
+    }
+
+    @Test
+    void testWriteRange() throws Exception {
+        // 跨年度並略過沒有資料的年度
+        assertEquals(List.of("20241231", "20250101", "20250208"), dates("20231201", "20250208", null, false));
+        assertEquals(List.of("20250403", "20250404"), dates("20250403", "20260101", null, false));
+        assertEquals(List.of(), dates("20250102", "20250207", null, false));
+    }
+
+    @Test
+    void testWriteRange_Filters() throws Exception {
+        assertEquals(List.of("20241231", "20250403"), dates("20240101", "20251231", List.of("調整放假日"), false));
+        // 多個類別依日期合併
+        assertEquals(List.of("20241231", "20250208", "20250403"),
+                dates("20240101", "20251231", List.of("ADJUSTED_DAY_OFF", "補行上班日"), false));
+        assertEquals(List.of("20241228", "20241231", "20250101"), dates("20241201", "20250331", null, true));
+    }
+
+    @Test
+    void testWriteRange_MatchesHolidayJson() throws Exception {
+        List<Holiday> holidays = read("20250101", "20250101", null, false);
+        assertEquals(List.of(holiday("20250101", true, "放假之紀念日及節日")), holidays);
+    }
+
+    @Test
+    void testWriteRange_Invalid() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(InvalidRequestException.class,
+                () -> service.writeRange(null, "20250102", "20250101", null, false, out));
+        assertThrows(InvalidRequestException.class,
+                () -> service.writeRange(null, "20250101", "20250102", List.of("不存在"), false, out));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.writeRange(null, "2025-01-01", "20250102", null, false, out));
+        assertEquals(0, out.size());
+    }
+
+    private List<String> dates(String from, String to, List<String> categories, boolean onlyHolidays)
+            throws Exception {
+        return read(from, to, categories, onlyHolidays).stream().map(Holiday::getDate).toList();
+    }
+
+    private List<Holiday> read(String from, String to, List<String> categories, boolean onlyHolidays)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeRange(null, from, to, categories, onlyHolidays, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<List<Holiday>>() {
+        });
+    }
+}
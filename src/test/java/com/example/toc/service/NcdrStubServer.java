@@ -0,0 +1,98 @@
+package com.example.toc.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 測試用的本機 NCDR 模擬伺服器。
+ *
+ * <p>
+ * 以 JDK 內建的 {@link HttpServer} 於隨機埠回應 {@value #PATH}，可切換回應狀態碼、內容與延遲，
+ * 讓逾時、斷路與過期快照等行為可在離線環境驗證。
+ * </p>
+ */
+final class NcdrStubServer implements AutoCloseable {
+
+    static final String PATH = "/JSONAtomFeed.ashx";
+
+    private final HttpServer server;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile int status = 200;
+
+    private volatile String body = feed();
+
+    private volatile Duration delay = Duration.ZERO;
+
+    NcdrStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    /**
+     * 產生 NCDR 格式的 Feed 內容。
+     *
+     * @param summaries 各警報項目的摘要文字
+     * @return JSON 字串
+     */
+    static String feed(String... summaries) {
+        StringBuilder entries = new StringBuilder();
+        for (int i = 0; i < summaries.length; i++) {
+            if (i > 0) {
+                entries.append(',');
+            }
+            entries.append("{\"id\":\"").append(i).append("\",\"title\":\"停班停課\",")
+                    .append("\"summary\":{\"#text\":\"").append(summaries[i]).append("\"}}");
+        }
+        return "{\"title\":\"NCDR\",\"entry\":[" + entries + "]}";
+    }
+
+    String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + PATH;
+    }
+
+    void respond(int status, String body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    void delay(Duration delay) {
+        this.delay = delay;
+    }
+
+    int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            Thread.sleep(delay.toMillis());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -1,34 +1,36 @@
 package com.example.toc.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.example.toc.config.NcdrProperties;
 import com.example.toc.model.ncdr.NcdrEntry;
+import com.example.toc.model.ncdr.NcdrSnapshot;
 import com.example.toc.model.ncdr.NcdrSummary;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class RealTimeHolidayServiceTest {
 
     private RealTimeHolidayService service;
-    private Method isTaipeiCityAllAreaMethod;
 
     @BeforeEach
-    void setUp() throws Exception {
-        service = new RealTimeHolidayService(new ObjectMapper());
-
-        // 使用反射存取 private 方法進行測試
-        isTaipeiCityAllAreaMethod = RealTimeHolidayService.class.getDeclaredMethod("isTaipeiCityAllArea",
-                NcdrEntry.class);
-        isTaipeiCityAllAreaMethod.setAccessible(true);
+    void setUp() {
+        service = newService("http://127.0.0.1:9" + NcdrStubServer.PATH);
     }
 
     @Test
-    void testIsTaipeiCityAllArea_Positive() throws Exception {
+    void testIsTaipeiCityAllArea_Positive() {
         // 測試案例 1: 臺北市全區 (標準格式)
         assertTrue(invokeMethod("[停班停課通知]臺北市:今天停止上班、停止上課。"));
 
@@ -40,7 +42,7 @@ class RealTimeHolidayServiceTest {
     }
 
     @Test
-    void testIsTaipeiCityAllArea_Negative() throws Exception {
+    void testIsTaipeiCityAllArea_Negative() {
         // 測試案例 1: 其他縣市
         assertFalse(invokeMethod("[停班停課通知]新北市:今天停止上班、停止上課。"));
 
@@ -56,21 +58,115 @@ class RealTimeHolidayServiceTest {
     }
 
     @Test
-    void testIsTaipeiCityAllArea_EdgeCases() throws Exception {
+    void testIsTaipeiCityAllArea_EdgeCases() {
         // Null Check
-        assertFalse((boolean) isTaipeiCityAllAreaMethod.invoke(service, new NcdrEntry()));
+        assertFalse(isTaipeiCityAllArea(new NcdrEntry()));
 
         NcdrEntry entry = new NcdrEntry();
         entry.setSummary(new NcdrSummary());
-        assertFalse((boolean) isTaipeiCityAllAreaMethod.invoke(service, entry));
+        assertFalse(isTaipeiCityAllArea(entry));
     }
 
-    private boolean invokeMethod(String text) throws Exception {
+    private boolean invokeMethod(String text) {
         NcdrEntry entry = new NcdrEntry();
         NcdrSummary summary = new NcdrSummary();
         summary.setText(text);
         entry.setSummary(summary);
 
-        return (boolean) isTaipeiCityAllAreaMethod.invoke(service, entry);
+        return isTaipeiCityAllArea(entry);
+    }
+
+    private boolean isTaipeiCityAllArea(NcdrEntry entry) {
+        NcdrSnapshot snapshot = NcdrSnapshot.of(List.of(entry), Instant.now());
+        return service.getRealTimeHolidays(snapshot).contains(entry);
+    }
+
+    @Test
+    void testRefresh_ServesLastGoodSnapshotWhenUpstreamFails() throws Exception {
+        try (NcdrStubServer stub = new NcdrStubServer()) {
+            RealTimeHolidayService realTime = newService(stub.url());
+            assertEquals(NcdrSnapshot.STATUS_UNAVAILABLE, realTime.getSnapshot().status());
+            assertTrue(realTime.getRealTimeHolidays().isEmpty());
+
+            stub.respond(200, NcdrStubServer.feed("[停班停課通知]臺北市:今天停止上班、停止上課。",
+                    "[停班停課通知]新北市:今天停止上班、停止上課。"));
+            assertTrue(realTime.refresh());
+            NcdrSnapshot fresh = realTime.getSnapshot();
+            assertEquals(NcdrSnapshot.STATUS_FRESH, fresh.status());
+            assertEquals(2, fresh.entries().size());
+            assertEquals(1, realTime.getRealTimeHolidays().size());
+
+            // 上游失敗：保留原內容並標記為過期
+            stub.respond(503, "unavailable");
+            assertFalse(realTime.refresh());
+            NcdrSnapshot stale = realTime.getSnapshot();
+            assertEquals(NcdrSnapshot.STATUS_STALE, stale.status());
+            assertEquals(fresh.fetchedAt(), stale.fetchedAt());
+            assertEquals(1, realTime.getRealTimeHolidays().size());
+
+            // 恢復後重新取得
+            stub.respond(200, NcdrStubServer.feed());
+            assertTrue(realTime.refresh());
+            assertEquals(NcdrSnapshot.STATUS_FRESH, realTime.getSnapshot().status());
+            assertTrue(realTime.getRealTimeHolidays().isEmpty());
+        }
+    }
+
+    @Test
+    void testRefresh_ReadTimeout() throws Exception {
+        try (NcdrStubServer stub = new NcdrStubServer()) {
+            RealTimeHolidayService realTime = newService(stub.url());
+            stub.delay(Duration.ofSeconds(3));
+
+            long start = System.nanoTime();
+            assertFalse(realTime.refresh());
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertTrue(elapsedMs < 2000, "應於讀取逾時後放棄，實際耗時 " + elapsedMs + " ms");
+            assertNull(realTime.getSnapshot().fetchedAt());
+        }
+    }
+
+    @Test
+    void testNextPollDelay_CircuitBreakerWithBackoff() throws Exception {
+        try (NcdrStubServer stub = new NcdrStubServer()) {
+            RealTimeHolidayService realTime = newService(stub.url());
+            stub.respond(500, "error");
+
+            // 未達門檻 (2 次)：維持固定間隔
+            assertFalse(realTime.refresh());
+            assertFalse(realTime.isCircuitOpen());
+            assertEquals(Duration.ofSeconds(1), realTime.nextPollDelay());
+
+            // 達門檻後斷路：間隔 × 2^n (含最多 10% 抖動)，不超過上限
+            assertFalse(realTime.refresh());
+            assertTrue(realTime.isCircuitOpen());
+            assertBetween(Duration.ofSeconds(2), realTime.nextPollDelay());
+            assertFalse(realTime.refresh());
+            assertBetween(Duration.ofSeconds(4), realTime.nextPollDelay());
+            assertFalse(realTime.refresh());
+            assertBetween(Duration.ofSeconds(5), realTime.nextPollDelay());
+
+            // 成功一次即解除斷路
+            stub.respond(200, NcdrStubServer.feed());
+            assertTrue(realTime.refresh());
+            assertFalse(realTime.isCircuitOpen());
+            assertEquals(Duration.ofSeconds(1), realTime.nextPollDelay());
+            assertEquals(5, stub.requestCount());
+        }
+    }
+
+    private static RealTimeHolidayService newService(String url) {
+        NcdrProperties properties = new NcdrProperties(url, new NcdrProperties.Poll(true, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMillis(500), 2, Duration.ofSeconds(5)),
+                new NcdrProperties.Push(Duration.ofMinutes(30), Duration.ofSeconds(30), Duration.ofSeconds(25), 256),
+                new NcdrProperties.Bulkhead(true, 32, Duration.ZERO));
+        return new RealTimeHolidayService(new ObjectMapper(), properties, new SimpleMeterRegistry(), event -> {
+        });
+    }
+
+    private static void assertBetween(Duration expected, Duration actual) {
+        assertTrue(actual.compareTo(expected) >= 0 && actual.compareTo(expected.multipliedBy(11).dividedBy(10)) <= 0,
+                "預期 " + expected + " (含 10% 抖動)，實際 " + actual);
     }
 }
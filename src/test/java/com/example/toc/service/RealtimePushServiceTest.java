@@ -0,0 +1,140 @@
+package com.example.toc.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.example.toc.config.NcdrProperties;
+import com.example.toc.model.ncdr.AreaSuspension;
+import com.example.toc.model.ncdr.NcdrEntry;
+import com.example.toc.model.ncdr.NcdrSnapshot;
+import com.example.toc.model.ncdr.NcdrSummary;
+import com.example.toc.model.ncdr.RealtimeDelta;
+import com.example.toc.model.ncdr.Suspension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RealtimePushServiceTest {
+
+    private static final String TAIPEI = "[停班停課通知]臺北市:今天停止上班、停止上課。";
+    private static final String KEELUNG = "[停班停課通知]基隆市:明天停止上課。";
+
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    private RealtimePushService service;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler.initialize();
+        service = new RealtimePushService(new ObjectMapper(), properties(3), new SimpleMeterRegistry(),
+                taskScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void testPoll_DeltaOnlyWhenParsedStateChanges() {
+        RealtimeDelta initial = result(service.poll(null));
+        assertTrue(initial.reset());
+        assertTrue(initial.changes().isEmpty());
+
+        // 等待中的 long-poll 於狀態變更時收到增量
+        DeferredResult<RealtimeDelta> waiting = service.poll(initial.version());
+        assertFalse(waiting.hasResult());
+        refresh(TAIPEI);
+        RealtimeDelta first = result(waiting);
+        assertEquals(initial.version() + 1, first.version());
+        assertFalse(first.reset());
+        assertEquals(List.of("臺北市"), first.changes().stream().map(AreaSuspension::city).toList());
+
+        // 內容未變更時不產生新版本
+        waiting = service.poll(first.version());
+        refresh(TAIPEI);
+        assertFalse(waiting.hasResult());
+
+        // 解除的地區以照常上班上課推播
+        refresh(KEELUNG);
+        RealtimeDelta second = result(waiting);
+        assertEquals(first.version() + 1, second.version());
+        assertEquals(2, second.changes().size());
+        AreaSuspension taipei = second.changes().stream()
+                .filter(area -> area.city().equals("臺北市")).findFirst().orElseThrow();
+        assertEquals(Suspension.NONE, taipei.today());
+    }
+
+    @Test
+    void testSince_ResumeMergesMissedChangesOrResets() {
+        long base = result(service.poll(null)).version();
+        refresh(TAIPEI);
+        refresh(TAIPEI, KEELUNG);
+        refresh(KEELUNG);
+
+        // 重新連線：合併遺漏的變更，同一地區取最新狀態
+        RealtimeDelta resumed = service.since(base + 1);
+        assertEquals(base + 3, resumed.version());
+        assertFalse(resumed.reset());
+        assertEquals(2, resumed.changes().size());
+        assertNull(service.since(base + 3));
+
+        // 超出保留的歷史 (3 個版本) 或版本無法辨識時改送完整狀態
+        refresh(TAIPEI);
+        RealtimeDelta tooOld = service.since(base);
+        assertTrue(tooOld.reset());
+        assertEquals(List.of("臺北市"), tooOld.changes().stream().map(AreaSuspension::city).toList());
+        assertTrue(service.since(base + 100).reset());
+    }
+
+    @Test
+    void testSubscribe_StartsHeartbeatOnce() {
+        // 沒有 SSE 訂閱者 (例如 Task Mode) 時不排程心跳
+        assertTrue(taskScheduler.getScheduledThreadPoolExecutor().getQueue().isEmpty());
+
+        service.subscribe(null);
+        service.subscribe(null);
+        assertEquals(1, taskScheduler.getScheduledThreadPoolExecutor().getQueue().size());
+    }
+
+    private void refresh(String... summaries) {
+        List<NcdrEntry> entries = Arrays.stream(summaries).map(RealtimePushServiceTest::entry).toList();
+        service.onRefreshed(new NcdrRefreshedEvent(NcdrSnapshot.of(entries, Instant.now())));
+    }
+
+    private static RealtimeDelta result(DeferredResult<RealtimeDelta> result) {
+        assertTrue(result.hasResult());
+        return (RealtimeDelta) result.getResult();
+    }
+
+    private static NcdrEntry entry(String text) {
+        NcdrSummary summary = new NcdrSummary();
+        summary.setText(text);
+        NcdrEntry entry = new NcdrEntry();
+        entry.setSummary(summary);
+        return entry;
+    }
+
+    private static NcdrProperties properties(int history) {
+        return new NcdrProperties("http://127.0.0.1:9" + NcdrStubServer.PATH,
+                new NcdrProperties.Poll(true, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMillis(500), 2,
+                        Duration.ofSeconds(5)),
+                new NcdrProperties.Push(Duration.ofMinutes(30), Duration.ofSeconds(30), Duration.ofSeconds(25),
+                        history),
+                new NcdrProperties.Bulkhead(true, 32, Duration.ZERO));
+    }
+}